@@ -0,0 +1,112 @@
+package com.ll.rideon.domain.riding.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 세션 하나의 위치 포인트를 담는 고정 크기 링 버퍼.
+ * 생산자(요청 스레드)는 CAS로 슬롯을 예약하므로 락을 잡지 않고,
+ * 소비 쪽(플러시)만 drainTo 에서 직렬화된다.
+ * 닫힌 버퍼는 tail 의 최상위 비트로 표시해서, 닫기 전에 예약된 슬롯과 닫힌 뒤의 offer 를 CAS 하나로 가른다.
+ */
+class PointRingBuffer<T> {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    /** 마지막 offer 시각. 오래 쓰이지 않은 버퍼를 정리할 때 본다 */
+    private volatile long lastOfferNanos = System.nanoTime();
+
+    PointRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 처음부터 닫혀 있는 버퍼. 종료된 세션 자리에 남겨 늦게 온 포인트를 거절하는 데 쓴다.
+     */
+    static <T> PointRingBuffer<T> closed() {
+        PointRingBuffer<T> buffer = new PointRingBuffer<>(1);
+        buffer.tail.set(CLOSED);
+        return buffer;
+    }
+
+    /**
+     * 가득 찼거나 닫힌 경우 false 를 반환한다. (isClosed 로 구분)
+     */
+    boolean offer(T item) {
+        while (true) {
+            long t = tail.get();
+            if ((t & CLOSED) != 0 || t - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), item);
+                lastOfferNanos = System.nanoTime();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 발행이 끝난 항목을 순서대로 꺼내 target 에 담고 꺼낸 개수를 반환한다.
+     * 슬롯을 예약했지만 아직 쓰지 않은 항목은 다음 drain 에서 처리된다.
+     */
+    synchronized int drainTo(List<T> target) {
+        return drain(target, false);
+    }
+
+    /**
+     * 버퍼를 닫고 남은 항목을 모두 꺼낸다. 닫기 전에 예약된 슬롯은 발행될 때까지 기다려서 함께 꺼내므로
+     * 닫힌 뒤에는 버퍼에 남는 항목이 없다.
+     */
+    synchronized int closeAndDrain(List<T> target) {
+        long t;
+        do {
+            t = tail.get();
+        } while ((t & CLOSED) == 0 && !tail.compareAndSet(t, t | CLOSED));
+        return drain(target, true);
+    }
+
+    private int drain(List<T> target, boolean awaitReserved) {
+        long h = head.get();
+        long end = tail.get() & ~CLOSED;
+        int drained = 0;
+        while (h < end) {
+            int index = (int) (h & mask);
+            T item = slots.get(index);
+            if (item == null) {
+                if (!awaitReserved) {
+                    break;
+                }
+                // 예약과 발행 사이의 짧은 구간
+                Thread.onSpinWait();
+                continue;
+            }
+            slots.lazySet(index, null);
+            target.add(item);
+            head.lazySet(++h);
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return head.get() == (tail.get() & ~CLOSED);
+    }
+
+    boolean isClosed() {
+        return (tail.get() & CLOSED) != 0;
+    }
+
+    long getLastOfferNanos() {
+        return lastOfferNanos;
+    }
+}
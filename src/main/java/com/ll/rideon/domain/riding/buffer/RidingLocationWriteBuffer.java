@@ -0,0 +1,391 @@
+package com.ll.rideon.domain.riding.buffer;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.repository.RidingLocationRepository;
+import com.ll.rideon.global.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ride_point INSERT 를 모아서 처리하는 write-behind 버퍼.
+ * 위치 업데이트 요청은 세션별 링 버퍼에 넣고 바로 반환하며,
+ * 전용 플러시 스레드가 크기(batch-size) 또는 시간(flush-interval-ms) 조건으로 배치 INSERT 한다.
+ * 저장에 실패한 배치는 간격을 늘려 가며 다시 시도하고(retry-max-attempts), 그래도 실패하면 유실 메트릭을 남긴다.
+ * 대기 건수(pending)는 저장되거나 포기한 뒤에만 줄어들므로 DB 장애 중에는 대기열이 차서 429 로 응답한다.
+ * 세션별 대기 건수도 따로 세어서, 세션 종료 시 플러시 스레드가 저장 중이거나 재시도 대기 중인 포인트까지 저장된 뒤에 반환한다.
+ */
+@Slf4j
+@Component
+public class RidingLocationWriteBuffer {
+
+    /** 재시도 간격 상한 */
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    /** 쓰이지 않는 버퍼를 정리하는 주기 */
+    private static final long EVICT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    /** 세션 종료 시 저장 중인 배치를 기다리는 확인 주기 */
+    private static final long CLOSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RidingLocationRepository ridingLocationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int sessionCapacity;
+    private final int maxPending;
+    private final int retryMaxAttempts;
+    private final long retryBackoffNanos;
+    private final long idleEvictNanos;
+    private final long closeTimeoutNanos;
+
+    private final Map<Long, PointRingBuffer<RidingLocation>> buffers = new ConcurrentHashMap<>();
+    /** 세션별로 버퍼에 넣었지만 아직 저장하지도 포기하지도 않은 포인트 수 (0이 되면 항목을 지운다) */
+    private final Map<Long, Integer> sessionPending = new ConcurrentHashMap<>();
+    private final Queue<FailedBatch> retries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Timer flushTimer;
+    private Counter droppedCounter;
+    private long lastEvictNanos = System.nanoTime();
+    private Thread flusher;
+    private volatile boolean running;
+
+    public RidingLocationWriteBuffer(RidingLocationRepository ridingLocationRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${riding.location-buffer.batch-size:500}") int batchSize,
+                                     @Value("${riding.location-buffer.flush-interval-ms:250}") long flushIntervalMs,
+                                     @Value("${riding.location-buffer.session-capacity:4096}") int sessionCapacity,
+                                     @Value("${riding.location-buffer.max-pending:200000}") int maxPending,
+                                     @Value("${riding.location-buffer.retry-max-attempts:8}") int retryMaxAttempts,
+                                     @Value("${riding.location-buffer.retry-backoff-ms:1000}") long retryBackoffMs,
+                                     @Value("${riding.location-buffer.idle-evict-ms:600000}") long idleEvictMs,
+                                     @Value("${riding.location-buffer.close-timeout-ms:5000}") long closeTimeoutMs) {
+        this.ridingLocationRepository = ridingLocationRepository;
+        // 세션 종료 트랜잭션 안에서 호출되어도 저장 실패가 그 트랜잭션을 rollback-only 로 만들지 않도록 분리한다
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.sessionCapacity = sessionCapacity;
+        this.maxPending = maxPending;
+        this.retryMaxAttempts = retryMaxAttempts;
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoffMs);
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMs);
+        this.closeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(closeTimeoutMs);
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("rideon.riding.location.buffer.depth", pending, AtomicInteger::get)
+                .description("저장 대기 중인 위치 포인트 수")
+                .register(meterRegistry);
+
+        flushTimer = Timer.builder("rideon.riding.location.buffer.flush.time")
+                .description("위치 포인트 배치 저장 소요 시간")
+                .register(meterRegistry);
+
+        droppedCounter = Counter.builder("rideon.riding.location.buffer.dropped")
+                .description("재시도 후에도 저장하지 못해 버린 위치 포인트 수")
+                .register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "ride-point-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 위치 포인트를 버퍼에 넣는다. 버퍼가 가득 차면 429 로 응답하도록 예외를 던진다.
+     */
+    public void enqueue(RidingLocation location) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new TooManyRequestsException("위치 정보 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        Long sessionId = location.getRideSessionId();
+        // 플러시 스레드가 저장 후 줄이기 전에 먼저 센다
+        sessionPending.merge(sessionId, 1, Integer::sum);
+        while (true) {
+            PointRingBuffer<RidingLocation> buffer = buffers.computeIfAbsent(
+                    sessionId, id -> new PointRingBuffer<>(sessionCapacity));
+            if (buffer.offer(location)) {
+                break;
+            }
+            if (buffer.isClosed() && buffers.get(sessionId) != buffer) {
+                // 오래 쓰이지 않아 정리된 버퍼를 잡은 경우, 새 버퍼로 다시 넣는다
+                continue;
+            }
+            pending.decrementAndGet();
+            releaseSession(sessionId, 1);
+            if (buffer.isClosed()) {
+                throw new IllegalStateException("종료된 라이딩 세션입니다.");
+            }
+            throw new TooManyRequestsException("세션의 위치 정보 저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        if (pending.get() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * 특정 세션에 쌓인 포인트를 즉시 저장한다. (오프라인 동기화 시 호출, 버퍼는 계속 쓴다)
+     */
+    public void flushSession(Long sessionId) {
+        PointRingBuffer<RidingLocation> buffer = buffers.get(sessionId);
+        if (buffer == null) {
+            return;
+        }
+
+        List<RidingLocation> batch = new ArrayList<>();
+        buffer.drainTo(batch);
+        write(batch);
+    }
+
+    /**
+     * 세션 버퍼를 닫고 이 세션의 포인트가 모두 저장될 때까지 기다린다. (세션 종료 시 호출)
+     * 닫기 전에 슬롯을 예약한 요청의 포인트까지 모두 꺼내 바로 저장하고, 재시도 대기 중인 이 세션의 배치도 기다리지 않고 다시 저장하며,
+     * 플러시 스레드가 저장 중인 배치는 끝날 때까지(close-timeout-ms) 기다린다.
+     * 자리에는 닫힌 버퍼를 남겨 늦게 온 포인트를 거절한다. 닫힌 버퍼는 idle-evict-ms 가 지나면 정리된다.
+     * 저장하지 못하면 닫은 버퍼를 치우고(종료가 롤백되어 세션이 계속되므로) 예외를 던진다. 남은 배치는 평소처럼 재시도된다.
+     */
+    public void closeSession(Long sessionId) {
+        PointRingBuffer<RidingLocation> closed = PointRingBuffer.closed();
+        PointRingBuffer<RidingLocation> buffer = buffers.put(sessionId, closed);
+        List<RidingLocation> batch = new ArrayList<>();
+        if (buffer != null) {
+            buffer.closeAndDrain(batch);
+        }
+
+        if (!write(batch) || !awaitSaved(sessionId)) {
+            buffers.remove(sessionId, closed);
+            throw new IllegalStateException("위치 정보 저장이 끝나지 않아 라이딩을 종료할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * 세션의 대기 포인트가 없어질 때까지 재시도 대기 배치를 바로 저장하고, 저장 중인 배치를 기다린다.
+     * DB 저장이 실패하거나 close-timeout-ms 가 지나면 false 를 반환한다.
+     */
+    private boolean awaitSaved(Long sessionId) {
+        long deadline = System.nanoTime() + closeTimeoutNanos;
+        while (sessionPending.containsKey(sessionId)) {
+            for (FailedBatch failed : retries) {
+                if (failed.contains(sessionId) && retries.remove(failed)
+                        && !insert(failed.locations)) {
+                    onFailure(new FailedBatch(failed.locations, failed.attempts + 1, 0));
+                    return false;
+                }
+            }
+            if (!sessionPending.containsKey(sessionId)) {
+                break;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                log.warn("라이딩 세션 {} 위치 포인트 저장 대기 시간 초과 - 남은 {}건", sessionId, sessionPending.get(sessionId));
+                return false;
+            }
+            // 플러시 스레드가 이 세션의 포인트를 꺼내 저장하는 중
+            LockSupport.parkNanos(this, CLOSE_POLL_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * 전체 세션의 포인트를 저장한다.
+     */
+    public void flushAll() {
+        List<RidingLocation> batch = new ArrayList<>(batchSize);
+        for (PointRingBuffer<RidingLocation> buffer : buffers.values()) {
+            buffer.drainTo(batch);
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        write(batch);
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+        // 종료 중에는 기다리지 않고 재시도 대기 배치를 한 번씩 더 저장해 본다
+        retryFailedBatches(true);
+        log.info("위치 포인트 버퍼 종료 - 남은 대기 건수: {}", pending.get());
+    }
+
+    private void runFlusher() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            try {
+                retryFailedBatches(false);
+                flushAll();
+                evictIdleBuffers();
+            } catch (Exception e) {
+                log.error("위치 포인트 버퍼 플러시 실패: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 배치를 저장하고, 실패하면 재시도 대기열에 넣은 뒤 false 를 반환한다.
+     */
+    private boolean write(List<RidingLocation> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        if (!insert(batch)) {
+            onFailure(new FailedBatch(batch, 1, 0));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 배치를 한 트랜잭션으로 저장한다. 일부만 저장된 채로 재시도되어 중복되지 않도록 한다.
+     * 저장에 성공한 경우에만 대기 건수를 줄인다.
+     */
+    private boolean insert(List<RidingLocation> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            transactionTemplate.executeWithoutResult(status -> ridingLocationRepository.batchInsert(batch));
+            pending.addAndGet(-batch.size());
+            releaseSessions(batch);
+            log.debug("위치 포인트 배치 저장: count={}", batch.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("위치 포인트 배치 저장 실패 - {}건: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void onFailure(FailedBatch failed) {
+        if (failed.attempts >= retryMaxAttempts) {
+            pending.addAndGet(-failed.locations.size());
+            releaseSessions(failed.locations);
+            droppedCounter.increment(failed.locations.size());
+            log.error("위치 포인트 배치 저장 {}회 실패 - {}건 유실", failed.attempts, failed.locations.size());
+            return;
+        }
+        long backoff = Math.min(MAX_RETRY_BACKOFF_NANOS, retryBackoffNanos << (failed.attempts - 1));
+        retries.add(new FailedBatch(failed.locations, failed.attempts, System.nanoTime() + backoff));
+    }
+
+    private void releaseSessions(List<RidingLocation> batch) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (RidingLocation location : batch) {
+            counts.merge(location.getRideSessionId(), 1, Integer::sum);
+        }
+        counts.forEach(this::releaseSession);
+    }
+
+    private void releaseSession(Long sessionId, int count) {
+        sessionPending.computeIfPresent(sessionId, (id, remaining) -> remaining > count ? remaining - count : null);
+    }
+
+    /**
+     * 재시도 시각이 된 실패 배치를 다시 저장한다.
+     */
+    private void retryFailedBatches(boolean ignoreBackoff) {
+        long now = System.nanoTime();
+        for (int i = retries.size(); i > 0; i--) {
+            FailedBatch failed = retries.poll();
+            if (failed == null) {
+                break;
+            }
+            if (!ignoreBackoff && failed.nextAttemptNanos - now > 0) {
+                retries.add(failed);
+                continue;
+            }
+            if (!insert(failed.locations)) {
+                onFailure(new FailedBatch(failed.locations, failed.attempts + 1, 0));
+            }
+        }
+    }
+
+    /**
+     * idle-evict-ms 동안 포인트가 들어오지 않은 빈 버퍼(중단된 세션, 종료된 세션의 닫힌 버퍼)를 정리한다.
+     */
+    private void evictIdleBuffers() {
+        long now = System.nanoTime();
+        if (now - lastEvictNanos < EVICT_INTERVAL_NANOS) {
+            return;
+        }
+        lastEvictNanos = now;
+
+        for (Map.Entry<Long, PointRingBuffer<RidingLocation>> entry : buffers.entrySet()) {
+            PointRingBuffer<RidingLocation> buffer = entry.getValue();
+            if (!buffer.isEmpty() || now - buffer.getLastOfferNanos() < idleEvictNanos) {
+                continue;
+            }
+            if (buffers.remove(entry.getKey(), buffer) && !buffer.isClosed()) {
+                // 제거 직전에 들어온 포인트가 있으면 함께 저장한다. 이후 요청은 새 버퍼를 만든다
+                List<RidingLocation> batch = new ArrayList<>();
+                buffer.closeAndDrain(batch);
+                write(batch);
+            }
+        }
+    }
+
+    private static final class FailedBatch {
+
+        private final List<RidingLocation> locations;
+        private final int attempts;
+        private final long nextAttemptNanos;
+
+        private FailedBatch(List<RidingLocation> locations, int attempts, long nextAttemptNanos) {
+            this.locations = locations;
+            this.attempts = attempts;
+            this.nextAttemptNanos = nextAttemptNanos;
+        }
+
+        private boolean contains(Long sessionId) {
+            for (RidingLocation location : locations) {
+                if (sessionId.equals(location.getRideSessionId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.ll.rideon.domain.riding.controller;
 
+import com.ll.rideon.domain.riding.dto.ObstacleClusterRequestDto;
+import com.ll.rideon.domain.riding.dto.ObstacleClusterResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportPageResponseDto;
 import com.ll.rideon.domain.riding.dto.ObstacleReportRequestDto;
 import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
 import com.ll.rideon.domain.riding.dto.NearbyObstaclesRequestDto;
+import com.ll.rideon.domain.riding.dto.RecentObstaclesRequestDto;
+import com.ll.rideon.domain.riding.dto.RouteCorridorRequestDto;
+import com.ll.rideon.domain.riding.dto.RouteObstacleResponseDto;
 import com.ll.rideon.domain.riding.entity.ObstacleReport;
 import com.ll.rideon.domain.riding.service.ObstacleReportService;
 import com.ll.rideon.global.security.util.SecurityUtil;
@@ -44,6 +51,8 @@ public class ObstacleReportController {
                     - 라이딩 중 발견한 장애물의 위치와 정보를 신고합니다
                     - 장애물의 종류, 위치(위도/경도), 설명, 이미지를 포함합니다
                     - 신고된 장애물은 지도에 마커로 표시됩니다
+                    - 30m 안에 같은 종류의 미해결 신고가 최근 24시간 안에 있으면 새로 만들지 않고 기존 신고의 확인 횟수(confirmationCount)를 올립니다
+                    - 같은 사용자가 같은 장애물을 다시 신고하면 확인 횟수는 바뀌지 않습니다
                     
                     ## 🔐 인증 요구사항
                     - 로그인이 필요합니다 (JWT 토큰 필요)
@@ -112,6 +121,7 @@ public class ObstacleReportController {
                     ## 📋 기능 설명
                     - 지정된 위치 주변의 장애물 신고 목록을 조회합니다
                     - 반경 내의 모든 장애물을 거리순으로 정렬하여 반환합니다
+                    - 해결(RESOLVED)되거나 만료(EXPIRED)된 장애물은 제외됩니다
                     - 로그인 없이도 조회 가능합니다 (공개 API)
                     
                     ## 📍 위치 정보
@@ -125,7 +135,8 @@ public class ObstacleReportController {
                     ```
                     
                     ## 🔍 응답 정보
-                    - 장애물 목록 (위치, 종류, 설명, 상태, 신고일시)
+                    - 장애물 목록 (위치, 종류, 상태, 신고일시, 확인 횟수)
+                    - 설명과 이미지는 포함되지 않으며 상세 조회 API 로 받을 수 있습니다
                     - 거리순으로 정렬된 결과
                     
                     ## ⚠️ 주의사항
@@ -136,9 +147,9 @@ public class ObstacleReportController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "주변 장애물 조회 성공",
-                    content = @Content(schema = @Schema(implementation = ObstacleReportResponseDto.class)))
+                    content = @Content(schema = @Schema(implementation = ObstacleReportSummaryDto.class)))
     })
-    public ResponseEntity<List<ObstacleReportResponseDto>> getNearbyObstacles(
+    public ResponseEntity<List<ObstacleReportSummaryDto>> getNearbyObstacles(
             @Parameter(description = "주변 장애물 조회 조건 (위치, 반경)", required = true)
             @Valid @ModelAttribute NearbyObstaclesRequestDto requestDto) {
         
@@ -146,7 +157,7 @@ public class ObstacleReportController {
                 requestDto.getLatitude(), requestDto.getLongitude(), requestDto.getRadius());
         
         try {
-            List<ObstacleReportResponseDto> obstacles = obstacleReportService.getNearbyObstacles(requestDto);
+            List<ObstacleReportSummaryDto> obstacles = obstacleReportService.getNearbyObstacles(requestDto);
             log.info("주변 장애물 조회 성공 - 위치: ({}, {}), 반경: {}km, 조회된 장애물 수: {}", 
                     requestDto.getLatitude(), requestDto.getLongitude(), requestDto.getRadius(), obstacles.size());
             return ResponseEntity.ok(obstacles);
@@ -166,6 +177,7 @@ public class ObstacleReportController {
                     ## 📋 기능 설명
                     - 시작점과 끝점을 연결하는 경로 상의 장애물을 조회합니다
                     - 경로에서 일정 거리 내의 장애물을 모두 포함합니다
+                    - 해결(RESOLVED)되거나 만료(EXPIRED)된 장애물은 제외됩니다
                     - 로그인 없이도 조회 가능합니다 (공개 API)
                     
                     ## 🛣️ 경로 정보
@@ -180,7 +192,7 @@ public class ObstacleReportController {
                     
                     ## 🔍 응답 정보
                     - 경로 상 장애물 목록
-                    - 장애물의 위치와 상세 정보
+                    - 장애물의 위치, 종류, 상태 (설명/이미지는 상세 조회 API 사용)
                     
                     ## ⚠️ 주의사항
                     - 시작점과 끝점은 유효한 좌표여야 합니다
@@ -190,9 +202,9 @@ public class ObstacleReportController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "경로 상 장애물 조회 성공",
-                    content = @Content(schema = @Schema(implementation = ObstacleReportResponseDto.class)))
+                    content = @Content(schema = @Schema(implementation = ObstacleReportSummaryDto.class)))
     })
-    public ResponseEntity<List<ObstacleReportResponseDto>> getObstaclesInRoute(
+    public ResponseEntity<List<ObstacleReportSummaryDto>> getObstaclesInRoute(
             @Parameter(description = "시작점 위도", required = true, example = "37.5665")
             @RequestParam Double startLat,
             @Parameter(description = "시작점 경도", required = true, example = "126.9780")
@@ -205,7 +217,7 @@ public class ObstacleReportController {
         log.info("경로 상 장애물 조회 시도 - 시작점: ({}, {}), 끝점: ({}, {})", startLat, startLng, endLat, endLng);
         
         try {
-            List<ObstacleReportResponseDto> obstacles = obstacleReportService.getObstaclesInRoute(
+            List<ObstacleReportSummaryDto> obstacles = obstacleReportService.getObstaclesInRoute(
                     startLat, startLng, endLat, endLng);
             log.info("경로 상 장애물 조회 성공 - 시작점: ({}, {}), 끝점: ({}, {}), 조회된 장애물 수: {}", 
                     startLat, startLng, endLat, endLng, obstacles.size());
@@ -217,6 +229,96 @@ public class ObstacleReportController {
         }
     }
 
+    @GetMapping("/route/corridor")
+    @Operation(
+            summary = "🧭 경로 주변 장애물 조회",
+            description = """
+                    전체 경로(polyline)를 따라 일정 폭 안에 있는 장애물을 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 경로의 모든 선분에 대해 선분까지의 거리가 폭(width) 이내인 장애물을 찾습니다
+                    - 결과는 경로 시작점부터 진행 방향 순으로 정렬됩니다
+                    - 해결(RESOLVED)되거나 만료(EXPIRED)된 장애물은 제외됩니다
+                    - 로그인 없이도 조회 가능합니다 (공개 API)
+                    
+                    ## 🛣️ 경로 정보
+                    - polyline: Google Encoded Polyline (정밀도 1e-5), 최대 5000개 좌표
+                    - width: 경로 양옆으로 포함할 거리 (m, 기본 50m, 최대 1000m)
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/v1/obstacles/route/corridor?polyline=sehdFok_fWg@{@g@{@&width=50
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - 장애물 신고 요약 (위치, 종류, 상태)
+                    - 경로를 따라간 거리 (distanceAlongRoute, m)
+                    - 경로에서 떨어진 거리 (distanceFromRoute, m)
+                    
+                    ## ⚠️ 주의사항
+                    - polyline 은 URL 인코딩해서 보내야 합니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "경로 주변 장애물 조회 성공",
+                    content = @Content(schema = @Schema(implementation = RouteObstacleResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 polyline 또는 폭")
+    })
+    public ResponseEntity<List<RouteObstacleResponseDto>> getObstaclesInCorridor(
+            @Parameter(description = "경로 주변 장애물 조회 조건 (polyline, 폭)", required = true)
+            @Valid @ModelAttribute RouteCorridorRequestDto requestDto) {
+
+        List<RouteObstacleResponseDto> obstacles = obstacleReportService.getObstaclesInCorridor(requestDto);
+        return ResponseEntity.ok(obstacles);
+    }
+
+    @GetMapping("/clusters")
+    @Operation(
+            summary = "🗂️ 장애물 클러스터 조회",
+            description = """
+                    지도 화면 범위와 줌 레벨에 맞춰 장애물을 묶은 클러스터를 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 지도 타일 하나를 8x8 칸(약 32px)으로 나눈 격자 단위로 장애물을 묶습니다
+                    - 줌 레벨별 집계를 미리 만들어 두고 신고가 바뀔 때마다 갱신합니다
+                    - 응답 크기는 장애물 수가 아니라 화면에 들어오는 칸 수에 비례합니다
+                    - 해결(RESOLVED)되거나 만료(EXPIRED)된 장애물은 제외됩니다
+                    - 로그인 없이도 조회 가능합니다 (공개 API)
+                    
+                    ## 🗺️ 범위 정보
+                    - minLat, maxLat, minLng, maxLng: 화면 경계 위경도
+                    - zoom: 지도 줌 레벨 (0~22, 18 초과는 18 기준으로 묶음)
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/v1/obstacles/clusters?minLat=37.50&maxLat=37.60&minLng=126.90&maxLng=127.10&zoom=12
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - 클러스터 중심 좌표 (포함된 장애물 좌표의 평균)
+                    - 장애물 수와 신고 타입별 개수
+                    - 장애물이 하나뿐인 클러스터는 신고 ID (reportId)
+                    
+                    ## ⚠️ 주의사항
+                    - 줌 레벨에 비해 범위가 너무 넓으면 (16384칸 초과) 400 에러가 발생합니다
+                    - 상세 정보는 reportId 로 상세 조회 API 를 호출해 받아야 합니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "장애물 클러스터 조회 성공",
+                    content = @Content(schema = @Schema(implementation = ObstacleClusterResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 범위 또는 줌 레벨")
+    })
+    public ResponseEntity<List<ObstacleClusterResponseDto>> getObstacleClusters(
+            @Parameter(description = "장애물 클러스터 조회 조건 (화면 범위, 줌 레벨)", required = true)
+            @Valid @ModelAttribute ObstacleClusterRequestDto requestDto) {
+
+        List<ObstacleClusterResponseDto> clusters = obstacleReportService.getObstacleClusters(requestDto);
+        return ResponseEntity.ok(clusters);
+    }
+
     @GetMapping("/my-reports")
     @Operation(
             summary = "📋 내 장애물 신고 목록",
@@ -240,7 +342,7 @@ public class ObstacleReportController {
                     
                     ## 🔍 응답 정보
                     - 내가 신고한 장애물 목록
-                    - 각 장애물의 상세 정보와 현재 상태
+                    - 각 장애물의 위치, 종류와 현재 상태 (설명/이미지는 상세 조회 API 사용)
                     
                     ## ⚠️ 주의사항
                     - 로그인하지 않은 상태에서는 401 에러가 발생합니다
@@ -250,14 +352,14 @@ public class ObstacleReportController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "내 장애물 신고 목록 조회 성공",
-                    content = @Content(schema = @Schema(implementation = ObstacleReportResponseDto.class))),
+                    content = @Content(schema = @Schema(implementation = ObstacleReportSummaryDto.class))),
             @ApiResponse(responseCode = "401", description = "인증 필요 (로그인이 필요합니다)")
     })
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<ObstacleReportResponseDto>> getMyObstacleReports() {
+    public ResponseEntity<List<ObstacleReportSummaryDto>> getMyObstacleReports() {
         
         Long userId = securityUtil.getCurrentUserId();
-        List<ObstacleReportResponseDto> reports = obstacleReportService.getUserObstacleReports(userId);
+        List<ObstacleReportSummaryDto> reports = obstacleReportService.getUserObstacleReports(userId);
         return ResponseEntity.ok(reports);
     }
 
@@ -321,6 +423,7 @@ public class ObstacleReportController {
                     - UNCONFIRMED: 미확인 (신고 접수됨)
                     - CONFIRMED: 확인됨 (관리자가 확인함)
                     - RESOLVED: 해결됨 (문제가 해결됨)
+                    - EXPIRED: 만료됨 (신고 타입별 유효 시간이 지나 자동으로 내려감)
                     
                     ## 📝 사용 예시
                     ```
@@ -345,7 +448,7 @@ public class ObstacleReportController {
     public ResponseEntity<ObstacleReportResponseDto> updateObstacleReportStatus(
             @Parameter(description = "장애물 신고 ID", required = true, example = "1")
             @PathVariable Long reportId,
-            @Parameter(description = "새로운 상태 (UNCONFIRMED, CONFIRMED, RESOLVED)", required = true)
+            @Parameter(description = "새로운 상태 (UNCONFIRMED, CONFIRMED, RESOLVED, EXPIRED)", required = true)
             @RequestParam ObstacleReport.ReportStatus status) {
         
         ObstacleReportResponseDto updatedReport = obstacleReportService.updateObstacleReportStatus(reportId, status);
@@ -356,35 +459,43 @@ public class ObstacleReportController {
     @Operation(
             summary = "📅 최근 장애물 신고 조회",
             description = """
-                    최근 30일간의 장애물 신고를 조회합니다.
+                    최근 30일간의 장애물 신고를 페이지 단위로 조회합니다.
                     
                     ## 📋 기능 설명
-                    - 최근 30일간 접수된 모든 장애물 신고를 조회합니다
-                    - 신고일시 기준으로 최신순으로 정렬됩니다
+                    - 최근 30일간 접수된 장애물 신고를 신고일시 최신순으로 조회합니다
+                    - (신고일시, ID) 기준 커서 페이지로, 응답의 nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 조회합니다
+                    - 범위(minLat, maxLat, minLng, maxLng)를 주면 그 안의 신고만 조회합니다
                     - 로그인 없이도 조회 가능합니다 (공개 API)
                     
                     ## 📝 사용 예시
                     ```
-                    GET /api/v1/obstacles/recent
+                    GET /api/v1/obstacles/recent?size=50
+                    GET /api/v1/obstacles/recent?size=50&cursor=MjAyNC0wMS0wMVQxMjowMHwx
+                    GET /api/v1/obstacles/recent?minLat=37.50&maxLat=37.60&minLng=126.90&maxLng=127.10
                     ```
                     
                     ## 🔍 응답 정보
-                    - 최근 30일간의 장애물 신고 목록
-                    - 각 신고의 기본 정보 (위치, 종류, 상태, 신고일시)
+                    - items: 장애물 신고 요약 목록 (위치, 종류, 상태, 신고일시)
+                    - nextCursor: 다음 페이지 커서 (마지막 페이지면 null)
+                    - hasNext: 다음 페이지 존재 여부
                     
                     ## ⚠️ 주의사항
-                    - 최대 100개의 신고만 반환됩니다
-                    - 더 오래된 신고는 조회되지 않습니다
+                    - 페이지 크기는 기본 50개, 최대 200개입니다
+                    - 커서는 내용을 해석하지 말고 그대로 넘겨야 합니다
+                    - 범위 조건은 네 값을 모두 보내야 합니다
                     """,
             security = {}
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "최근 장애물 신고 조회 성공",
-                    content = @Content(schema = @Schema(implementation = ObstacleReportResponseDto.class)))
+                    content = @Content(schema = @Schema(implementation = ObstacleReportPageResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서, 페이지 크기 또는 범위")
     })
-    public ResponseEntity<List<ObstacleReportResponseDto>> getRecentObstacles() {
+    public ResponseEntity<ObstacleReportPageResponseDto> getRecentObstacles(
+            @Parameter(description = "최근 장애물 신고 조회 조건 (커서, 페이지 크기, 범위)")
+            @Valid @ModelAttribute RecentObstaclesRequestDto requestDto) {
         
-        List<ObstacleReportResponseDto> recentObstacles = obstacleReportService.getRecentObstacles();
+        ObstacleReportPageResponseDto recentObstacles = obstacleReportService.getRecentObstacles(requestDto);
         return ResponseEntity.ok(recentObstacles);
     }
 
@@ -397,16 +508,20 @@ public class ObstacleReportController {
                     ## 📋 기능 설명
                     - 지정된 위치 주변의 장애물 신고 개수만 반환합니다
                     - 상세 정보 없이 개수만 빠르게 확인할 수 있습니다
+                    - 격자 셀별 미리 집계한 개수로 계산하고, 반경 경계에 걸친 셀만 좌표로 정확히 셉니다
+                    - reportType 을 주면 해당 타입만 셉니다
                     - 로그인 없이도 조회 가능합니다 (공개 API)
                     
                     ## 📍 위치 정보
                     - 위도(latitude): -90 ~ 90 사이의 값
                     - 경도(longitude): -180 ~ 180 사이의 값
                     - 반경(radius): 조회할 반경 (킬로미터 단위)
+                    - 신고 타입(reportType): 선택, 생략하면 전체 타입
                     
                     ## 📝 사용 예시
                     ```
                     GET /api/v1/obstacles/count/nearby?latitude=37.5665&longitude=126.9780&radius=1.0
+                    GET /api/v1/obstacles/count/nearby?latitude=37.5665&longitude=126.9780&radius=10.0&reportType=ROAD_DAMAGE
                     ```
                     
                     ## 🔍 응답 정보
@@ -428,9 +543,58 @@ public class ObstacleReportController {
             @Parameter(description = "경도", required = true, example = "126.9780")
             @RequestParam Double longitude,
             @Parameter(description = "반경 (km)", required = true, example = "1.0")
-            @RequestParam Double radius) {
+            @RequestParam Double radius,
+            @Parameter(description = "신고 타입 (생략하면 전체)", example = "ROAD_DAMAGE")
+            @RequestParam(required = false) ObstacleReport.ReportType reportType) {
         
-        Long count = obstacleReportService.getNearbyObstaclesCount(latitude, longitude, radius);
+        Long count = obstacleReportService.getNearbyObstaclesCount(latitude, longitude, radius, reportType);
+        return ResponseEntity.ok(count);
+    }
+
+    @GetMapping("/count/bounds")
+    @Operation(
+            summary = "🔢 범위 내 장애물 개수 조회",
+            description = """
+                    위경도 사각형 범위 안의 장애물 신고 개수를 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 격자 셀별 미리 집계한 개수로 계산하므로 범위가 넓어도 빠르게 응답합니다
+                    - 범위 경계에 걸친 셀만 좌표로 정확히 세고, 셀 경계에 맞는 범위는 좌표를 읽지 않습니다
+                    - reportType 을 주면 해당 타입만 셉니다
+                    - 해결(RESOLVED)되거나 만료(EXPIRED)된 장애물은 제외됩니다
+                    - 로그인 없이도 조회 가능합니다 (공개 API)
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/v1/obstacles/count/bounds?minLat=37.40&maxLat=37.70&minLng=126.80&maxLng=127.20
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - 범위 안의 장애물 신고 개수 (숫자, 경계 포함)
+                    
+                    ## ⚠️ 주의사항
+                    - 최소 위경도가 최대 위경도보다 크면 400 에러가 발생합니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "범위 내 장애물 개수 조회 성공",
+                    content = @Content(schema = @Schema(type = "integer", example = "42"))),
+            @ApiResponse(responseCode = "400", description = "잘못된 범위")
+    })
+    public ResponseEntity<Long> getObstaclesCountInBounds(
+            @Parameter(description = "남쪽 경계 위도", required = true, example = "37.40")
+            @RequestParam Double minLat,
+            @Parameter(description = "북쪽 경계 위도", required = true, example = "37.70")
+            @RequestParam Double maxLat,
+            @Parameter(description = "서쪽 경계 경도", required = true, example = "126.80")
+            @RequestParam Double minLng,
+            @Parameter(description = "동쪽 경계 경도", required = true, example = "127.20")
+            @RequestParam Double maxLng,
+            @Parameter(description = "신고 타입 (생략하면 전체)", example = "ROAD_DAMAGE")
+            @RequestParam(required = false) ObstacleReport.ReportType reportType) {
+
+        Long count = obstacleReportService.getObstaclesCountInBounds(minLat, maxLat, minLng, maxLng, reportType);
         return ResponseEntity.ok(count);
     }
 
@@ -497,12 +661,13 @@ public class ObstacleReportController {
                     - UNCONFIRMED: 미확인 (신고 접수됨)
                     - CONFIRMED: 확인됨 (관리자가 확인함)
                     - RESOLVED: 해결됨 (문제가 해결됨)
+                    - EXPIRED: 만료됨 (신고 타입별 유효 시간이 지나 자동으로 내려감)
                     """,
             security = {}
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "장애물 신고 상태 조회 성공",
-                    content = @Content(schema = @Schema(type = "array", example = "[\"UNCONFIRMED\", \"CONFIRMED\", \"RESOLVED\"]")))
+                    content = @Content(schema = @Schema(type = "array", example = "[\"UNCONFIRMED\", \"CONFIRMED\", \"RESOLVED\", \"EXPIRED\"]")))
     })
     public ResponseEntity<ObstacleReport.ReportStatus[]> getReportStatuses() {
         
@@ -1,12 +1,16 @@
 package com.ll.rideon.domain.riding.controller;
 
+import com.ll.rideon.domain.riding.dto.EncodedTrackResponseDto;
 import com.ll.rideon.domain.riding.dto.LocationUpdateRequestDto;
+import com.ll.rideon.domain.riding.dto.NetworkHistoryResponseDto;
 import com.ll.rideon.domain.riding.dto.NetworkRecommendation;
 import com.ll.rideon.domain.riding.dto.NetworkStatusRequestDto;
 import com.ll.rideon.domain.riding.dto.RidingSessionCreateRequestDto;
 import com.ll.rideon.domain.riding.dto.RidingSessionResponseDto;
 import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.network.RollupResolution;
 import com.ll.rideon.domain.riding.service.RidingService;
+import com.ll.rideon.domain.riding.track.TrackDetail;
 import com.ll.rideon.global.security.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,11 +25,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -152,7 +161,48 @@ public class RidingController {
             @Parameter(description = "위치 정보 (위도, 경도, 속도, 네트워크 상태 등)", required = true)
             @Validated @RequestBody LocationUpdateRequestDto requestDto) {
         
-        ridingService.updateLocation(sessionId, requestDto);
+        ridingService.updateLocation(sessionId, SecurityUtil.getCurrentUserId(), requestDto);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/sessions/{sessionId}/locations/batch")
+    @Operation(
+            summary = "📍 위치 정보 일괄 업데이트",
+            description = """
+                    여러 개의 위치 정보를 한 번의 요청으로 저장합니다.
+
+                    ## 📋 기능 설명
+                    - 세션을 한 번만 조회하고 모든 위치를 하나의 배치 INSERT로 저장합니다
+                    - 세션의 마지막 위치는 가장 최근 기록 시간의 포인트로만 갱신됩니다
+                    - 요청 본문은 위치 정보 업데이트 API와 같은 객체의 배열입니다
+
+                    ## 📝 사용 예시
+                    ```json
+                    [
+                      { "latitude": 37.5665, "longitude": 126.9780, "speedKmh": 25.5, "recordedAt": "2024-01-01T12:00:00" },
+                      { "latitude": 37.5666, "longitude": 126.9782, "speedKmh": 26.0, "recordedAt": "2024-01-01T12:00:01" }
+                    ]
+                    ```
+
+                    ## ⚠️ 주의사항
+                    - 한 번에 최대 1000개까지 전송할 수 있습니다
+                    - 빈 배열은 허용되지 않습니다
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "위치 정보 일괄 업데이트 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터 (빈 배열, 최대 개수 초과 등)"),
+            @ApiResponse(responseCode = "401", description = "인증 필요 (로그인이 필요합니다)"),
+            @ApiResponse(responseCode = "404", description = "라이딩 세션을 찾을 수 없음")
+    })
+    public ResponseEntity<Void> updateLocations(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId,
+            @Parameter(description = "위치 정보 목록", required = true)
+            @Validated @RequestBody List<LocationUpdateRequestDto> requestDtos) {
+
+        ridingService.updateLocations(sessionId, SecurityUtil.getCurrentUserId(), requestDtos);
         return ResponseEntity.ok().build();
     }
 
@@ -174,7 +224,7 @@ public class RidingController {
             @Parameter(description = "네트워크 상태 정보", required = true)
             @Validated @RequestBody NetworkStatusRequestDto requestDto) {
         
-        ridingService.updateNetworkStatus(sessionId, requestDto);
+        ridingService.updateNetworkStatus(sessionId, SecurityUtil.getCurrentUserId(), requestDto);
         return ResponseEntity.ok().build();
     }
 
@@ -403,6 +453,136 @@ public class RidingController {
         return ResponseEntity.ok(locations);
     }
 
+    @GetMapping(value = "/sessions/{sessionId}/locations", params = "format=polyline")
+    @Operation(
+            summary = "🗜️ 라이딩 경로 압축 조회",
+            description = """
+                    라이딩 경로를 압축 인코딩된 형태로 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 위경도는 Google Encoded Polyline (정밀도 1e-5) 문자열로 내려갑니다
+                    - 시간/속도/고도는 직전 포인트와의 차이를 같은 방식으로 인코딩한 문자열로 내려갑니다
+                    - 전체 JSON 목록 대비 응답 크기가 10배 이상 작아 리플레이 화면에 적합합니다
+                    - detail 을 주면 Douglas–Peucker 알고리즘으로 단순화한 경로를 같은 형식으로 내려줍니다
+                      (low: 50m, medium: 10m, high: 1m 허용 오차, 종료된 세션은 종료 시점에 미리 계산해 둔 경로)
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/riding/sessions/1/locations?format=polyline
+                    GET /api/riding/sessions/1/locations?format=polyline&detail=low
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - polyline: 위경도
+                    - times: startTime 기준 초
+                    - speeds: 0.1km/h 단위 속도
+                    - altitudes: 1m 단위 고도
+                    
+                    ## ⚠️ 주의사항
+                    - 속도/고도 값이 없는 포인트는 직전 값이 유지됩니다
+                    - 진행 중인 세션의 단순화 경로는 요청 시점에 계산하므로 응답이 조금 느릴 수 있습니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "라이딩 경로 압축 조회 성공",
+                    content = @Content(schema = @Schema(implementation = EncodedTrackResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 상세도"),
+            @ApiResponse(responseCode = "404", description = "라이딩 세션을 찾을 수 없음")
+    })
+    public ResponseEntity<EncodedTrackResponseDto> getEncodedRidingLocations(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId,
+            @Parameter(description = "경로 상세도 (low, medium, high), 생략 시 전체 경로", example = "low")
+            @RequestParam(required = false) String detail) {
+        EncodedTrackResponseDto responseDto = detail != null
+                ? ridingService.getSimplifiedRidingLocations(sessionId, TrackDetail.from(detail))
+                : ridingService.getEncodedRidingLocations(sessionId);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    @GetMapping(value = "/sessions/{sessionId}/locations", params = "format=ndjson", produces = "application/x-ndjson")
+    @Operation(
+            summary = "📤 라이딩 경로 내보내기 (NDJSON)",
+            description = """
+                    라이딩 경로를 NDJSON 형식으로 스트리밍합니다.
+                    
+                    ## 📋 기능 설명
+                    - 한 줄에 위치 정보 하나씩 JSON 객체로 내려갑니다
+                    - 조회가 끝나기 전에 첫 포인트부터 바로 전송을 시작합니다
+                    - 긴 라이딩도 서버 메모리 사용량이 일정하므로 전체 경로 백업/분석용 내보내기에 적합합니다
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/riding/sessions/1/locations?format=ndjson
+                    ```
+                    
+                    ## ⚠️ 주의사항
+                    - 존재하지 않는 세션 ID로 요청 시 스트리밍을 시작하지 않고 에러가 반환됩니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "라이딩 경로 내보내기 성공"),
+            @ApiResponse(responseCode = "404", description = "라이딩 세션을 찾을 수 없음")
+    })
+    public ResponseEntity<StreamingResponseBody> exportRidingLocations(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId) {
+        // 스트리밍 시작 전에 세션 존재 여부를 확인해 에러 응답을 정상적으로 내려준다
+        ridingService.getRidingSession(sessionId);
+
+        StreamingResponseBody body = outputStream -> ridingService.exportRidingLocations(sessionId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping(value = "/sessions/{sessionId}/obstacle-alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "🚨 주변 장애물 실시간 알림 (SSE)",
+            description = """
+                    진행 중인 라이딩 세션의 주변 장애물을 Server-Sent Events 로 실시간 전송합니다.
+                    
+                    ## 📋 기능 설명
+                    - 구독 즉시 마지막 위치 주변의 활성 장애물을 전송합니다
+                    - 위치 업데이트로 새 격자 셀에 들어가면 그 주변 장애물을 전송합니다
+                    - 새 장애물이 신고되면 알림 반경(기본 300m) 안의 라이더에게 바로 전송합니다
+                    - 한 번 받은 장애물은 같은 세션에서 다시 보내지 않습니다 (확인 신고가 쌓여도 중복 알림 없음)
+                    - 받은 장애물이 해결/만료되면 obstacle-removed 이벤트가 전송됩니다
+                    
+                    ## 🔐 인증 요구사항
+                    - 로그인이 필요하며 본인 세션만 구독할 수 있습니다
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/riding/sessions/1/obstacle-alerts
+                    Accept: text/event-stream
+                    Authorization: Bearer your-jwt-token
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - event: obstacle - 장애물 요약 정보 (id, 좌표, 신고 타입, 상태, 확인 횟수)
+                    - event: obstacle-removed - 해결/만료된 장애물 요약 정보 (status 가 RESOLVED 또는 EXPIRED)
+                    
+                    ## ⚠️ 주의사항
+                    - 진행 중인 세션에서만 구독할 수 있고, 세션이 종료되면 스트림도 닫힙니다
+                    - 같은 세션으로 다시 구독하면 이전 스트림은 닫힙니다
+                    - 연결은 기본 30분 후 만료되므로 클라이언트에서 재연결해야 합니다
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "알림 스트림 연결 성공"),
+            @ApiResponse(responseCode = "400", description = "진행 중인 세션이 아니거나 본인 세션이 아님"),
+            @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    public SseEmitter subscribeObstacleAlerts(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId) {
+        return ridingService.subscribeObstacleAlerts(sessionId, SecurityUtil.getCurrentUserId());
+    }
+
     @GetMapping("/sessions/active")
     @Operation(
             summary = "🔄 현재 활성 세션 조회",
@@ -445,6 +625,99 @@ public class RidingController {
         return ResponseEntity.ok(responseDto);
     }
 
+    @GetMapping("/sessions/{sessionId}/network-recommendation")
+    @Operation(
+            summary = "📡 네트워크 권장사항 조회",
+            description = """
+                    현재 네트워크 상태에 맞는 권장 동작과 위치 업로드 간격/배치 크기를 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 최근 네트워크 상태 샘플로 판단한 품질에 따라 권장 동작(action)을 알려줍니다
+                    - 업로드 간격(uploadIntervalMs)과 배치 크기(batchSize)는 AIMD 방식으로 조정됩니다
+                      - 회선과 서버가 여유로우면 간격을 1초씩 줄입니다 (최소 1초)
+                      - 손실/지연/끊김이 보이거나 서버 적재 대기열이 차면 간격을 두 배로 늘립니다 (최대 60초)
+                      - 배치 크기는 간격 동안 수집되는 포인트 수(초당 1개 기준)입니다
+                    - 클라이언트는 주기적으로 조회해 업로드 주기를 맞추면 됩니다
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/riding/sessions/1/network-recommendation
+                    Authorization: Bearer your-jwt-token
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - action, message, priority: 품질에 따른 권장 동작
+                    - uploadIntervalMs: 권장 업로드 간격 (ms)
+                    - batchSize: 한 번에 보낼 권장 포인트 수
+                    
+                    ## ⚠️ 주의사항
+                    - 진행 중인 본인 세션에서만 조회할 수 있습니다
+                    - 조정은 5초에 한 번만 일어나므로 그보다 자주 조회해도 값이 바뀌지 않습니다
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "네트워크 권장사항 조회 성공",
+                    content = @Content(schema = @Schema(implementation = NetworkRecommendation.class))),
+            @ApiResponse(responseCode = "400", description = "진행 중인 세션이 아니거나 본인 세션이 아님"),
+            @ApiResponse(responseCode = "401", description = "인증 필요")
+    })
+    public ResponseEntity<NetworkRecommendation> getNetworkRecommendation(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId) {
+        NetworkRecommendation recommendation = ridingService.getNetworkRecommendation(sessionId, SecurityUtil.getCurrentUserId());
+        return ResponseEntity.ok(recommendation);
+    }
+
+    @GetMapping("/sessions/{sessionId}/network-history")
+    @Operation(
+            summary = "📈 네트워크 상태 이력 조회",
+            description = """
+                    라이딩 세션의 네트워크 상태 이력을 1분/10분 구간 요약으로 조회합니다.
+                    
+                    ## 📋 기능 설명
+                    - 구간마다 신호 강도 최소/평균/최대, 지연 시간 평균/p95, 패킷 손실 평균/최대, 끊김 횟수를 제공합니다
+                    - 원본 샘플이 아닌 요약 테이블을 읽으므로 긴 라이딩도 빠르게 조회됩니다
+                    - 기간을 생략하면 세션 전체를 조회합니다
+                    - 구간 크기를 생략하면 기간이 6시간 이상일 때 10분, 아니면 1분 구간을 씁니다
+                    
+                    ## 📝 사용 예시
+                    ```
+                    GET /api/riding/sessions/1/network-history?resolution=1m
+                    GET /api/riding/sessions/1/network-history?startTime=2024-01-01T12:00:00&endTime=2024-01-01T13:00:00
+                    ```
+                    
+                    ## 🔍 응답 정보
+                    - resolution: 구간 크기 (1m, 10m)
+                    - averageSignalStrength, disconnectCount: 세션 전체 평균 신호 강도와 끊김 횟수
+                    - buckets: 구간별 요약 (시작 시각 순)
+                    
+                    ## ⚠️ 주의사항
+                    - 진행 중인 세션은 요약 주기(기본 1분)만큼 최근 구간이 늦게 반영됩니다
+                    - 원본 샘플은 라이딩 종료 후 보관 기간(기본 7일)이 지나면 삭제되고 요약만 남습니다
+                    """,
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "네트워크 상태 이력 조회 성공",
+                    content = @Content(schema = @Schema(implementation = NetworkHistoryResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 구간 크기 또는 잘못된 기간"),
+            @ApiResponse(responseCode = "404", description = "라이딩 세션을 찾을 수 없음")
+    })
+    public ResponseEntity<NetworkHistoryResponseDto> getNetworkHistory(
+            @Parameter(description = "라이딩 세션 ID", required = true, example = "1")
+            @PathVariable Long sessionId,
+            @Parameter(description = "조회 시작 시각", example = "2024-01-01T12:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @Parameter(description = "조회 종료 시각", example = "2024-01-01T13:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @Parameter(description = "구간 크기 (1m, 10m)", example = "1m")
+            @RequestParam(required = false) String resolution) {
+        NetworkHistoryResponseDto responseDto = ridingService.getNetworkHistory(sessionId, startTime, endTime,
+                resolution != null ? RollupResolution.from(resolution) : null);
+        return ResponseEntity.ok(responseDto);
+    }
+
     @PostMapping("/sessions/{sessionId}/sync-offline")
     @Operation(
             summary = "🔄 오프라인 데이터 동기화",
@@ -0,0 +1,52 @@
+package com.ll.rideon.domain.riding.dto;
+
+import com.ll.rideon.domain.riding.entity.RidingTrackSimplified;
+import com.ll.rideon.domain.riding.track.TrackDetail;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "압축 인코딩된 라이딩 경로")
+public class EncodedTrackResponseDto {
+
+    @Schema(description = "라이딩 세션 ID", example = "1")
+    private Long sessionId;
+
+    @Schema(description = "경로 상세도 (전체 경로면 null)", example = "LOW")
+    private TrackDetail detail;
+
+    @Schema(description = "포인트 수", example = "7200")
+    private int pointCount;
+
+    @Schema(description = "첫 포인트 기록 시간")
+    private LocalDateTime startTime;
+
+    @Schema(description = "위경도 (Google Encoded Polyline, 정밀도 1e-5)")
+    private String polyline;
+
+    @Schema(description = "기록 시간 (startTime 기준 초, 델타 polyline 인코딩)")
+    private String times;
+
+    @Schema(description = "속도 (0.1km/h 단위, 델타 polyline 인코딩)")
+    private String speeds;
+
+    @Schema(description = "고도 (1m 단위, 델타 polyline 인코딩)")
+    private String altitudes;
+
+    public static EncodedTrackResponseDto from(RidingTrackSimplified track) {
+        return EncodedTrackResponseDto.builder()
+                .sessionId(track.getRideSessionId())
+                .detail(track.getDetail())
+                .pointCount(track.getPointCount())
+                .startTime(track.getStartTime())
+                .polyline(track.getPolyline())
+                .times(track.getTimes())
+                .speeds(track.getSpeeds())
+                .altitudes(track.getAltitudes())
+                .build();
+    }
+}
@@ -28,6 +28,7 @@ public class NearbyObstaclesRequestDto {
     
     @NotNull(message = "반경은 필수입니다")
     @Min(value = 1, message = "반경은 1km 이상이어야 합니다")
-    @Schema(description = "조회 반경 (km)", example = "5.0", required = true)
+    @DecimalMax(value = "50.0", message = "반경은 50km 이하여야 합니다")
+    @Schema(description = "조회 반경 (km, 최대 50)", example = "5.0", required = true)
     private Double radius;
 }
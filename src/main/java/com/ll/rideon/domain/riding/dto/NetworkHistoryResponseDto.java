@@ -0,0 +1,56 @@
+package com.ll.rideon.domain.riding.dto;
+
+import com.ll.rideon.domain.riding.entity.NetworkStatusRollup;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 세션 네트워크 상태 이력 (구간 요약)
+ */
+@Getter
+@Builder
+public class NetworkHistoryResponseDto {
+    private Long sessionId;
+    /** 구간 크기 (1m, 10m) */
+    private String resolution;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    /** 세션 전체 평균 신호 강도 */
+    private Double averageSignalStrength;
+    /** 세션 전체 연결 끊김 샘플 수 */
+    private Long disconnectCount;
+    private List<Bucket> buckets;
+
+    @Getter
+    @Builder
+    public static class Bucket {
+        private LocalDateTime bucketStart;
+        private Integer sampleCount;
+        private Integer signalMin;
+        private Double signalAvg;
+        private Integer signalMax;
+        private Double latencyAvg;
+        private Double latencyP95;
+        private Double packetLossAvg;
+        private Double packetLossMax;
+        private Integer disconnectCount;
+
+        public static Bucket from(NetworkStatusRollup rollup) {
+            return Bucket.builder()
+                    .bucketStart(rollup.getBucketStart())
+                    .sampleCount(rollup.getSampleCount())
+                    .signalMin(rollup.getSignalMin())
+                    .signalAvg(rollup.getSignalAvg())
+                    .signalMax(rollup.getSignalMax())
+                    .latencyAvg(rollup.getLatencyAvg())
+                    .latencyP95(rollup.getLatencyP95())
+                    .packetLossAvg(rollup.getPacketLossAvg())
+                    .packetLossMax(rollup.getPacketLossMax())
+                    .disconnectCount(rollup.getDisconnectCount())
+                    .build();
+        }
+    }
+}
@@ -10,4 +10,8 @@ public class NetworkRecommendation {
     private String action;
     private String message;
     private NetworkPriority priority;
+    /** 권장 위치 업로드 간격 (ms) */
+    private Long uploadIntervalMs;
+    /** 한 번에 보낼 권장 위치 포인트 수 */
+    private Integer batchSize;
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.ll.rideon.domain.riding.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "장애물 클러스터 조회 요청 DTO")
+public class ObstacleClusterRequestDto {
+
+    @NotNull(message = "최소 위도는 필수입니다")
+    @DecimalMin(value = "-90.0", message = "위도는 -90 이상이어야 합니다")
+    @DecimalMax(value = "90.0", message = "위도는 90 이하여야 합니다")
+    @Schema(description = "화면 남쪽 경계 위도", example = "37.50", required = true)
+    private Double minLat;
+
+    @NotNull(message = "최대 위도는 필수입니다")
+    @DecimalMin(value = "-90.0", message = "위도는 -90 이상이어야 합니다")
+    @DecimalMax(value = "90.0", message = "위도는 90 이하여야 합니다")
+    @Schema(description = "화면 북쪽 경계 위도", example = "37.60", required = true)
+    private Double maxLat;
+
+    @NotNull(message = "최소 경도는 필수입니다")
+    @DecimalMin(value = "-180.0", message = "경도는 -180 이상이어야 합니다")
+    @DecimalMax(value = "180.0", message = "경도는 180 이하여야 합니다")
+    @Schema(description = "화면 서쪽 경계 경도", example = "126.90", required = true)
+    private Double minLng;
+
+    @NotNull(message = "최대 경도는 필수입니다")
+    @DecimalMin(value = "-180.0", message = "경도는 -180 이상이어야 합니다")
+    @DecimalMax(value = "180.0", message = "경도는 180 이하여야 합니다")
+    @Schema(description = "화면 동쪽 경계 경도", example = "127.10", required = true)
+    private Double maxLng;
+
+    @NotNull(message = "줌 레벨은 필수입니다")
+    @Min(value = 0, message = "줌 레벨은 0 이상이어야 합니다")
+    @Max(value = 22, message = "줌 레벨은 22 이하여야 합니다")
+    @Schema(description = "지도 줌 레벨 (18 초과는 18 기준으로 묶음)", example = "12", required = true)
+    private Integer zoom;
+}
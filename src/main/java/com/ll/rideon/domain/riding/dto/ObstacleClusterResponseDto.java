@@ -0,0 +1,29 @@
+package com.ll.rideon.domain.riding.dto;
+
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+@Schema(description = "장애물 클러스터 응답 DTO")
+public class ObstacleClusterResponseDto {
+
+    @Schema(description = "클러스터 중심 위도 (포함된 장애물 좌표의 평균)", example = "37.5665")
+    private double latitude;
+
+    @Schema(description = "클러스터 중심 경도 (포함된 장애물 좌표의 평균)", example = "126.9780")
+    private double longitude;
+
+    @Schema(description = "클러스터에 포함된 장애물 수", example = "12")
+    private int count;
+
+    @Schema(description = "장애물이 하나뿐인 클러스터의 신고 ID (2개 이상이면 null)", example = "1")
+    private Long reportId;
+
+    @Schema(description = "신고 타입별 개수", example = "{\"OBSTACLE\": 8, \"CONSTRUCTION\": 4}")
+    private Map<ObstacleReport.ReportType, Integer> typeCounts;
+}
@@ -0,0 +1,22 @@
+package com.ll.rideon.domain.riding.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "장애물 신고 페이지 응답 DTO")
+public class ObstacleReportPageResponseDto {
+
+    @Schema(description = "장애물 신고 요약 목록 (최신순)")
+    private List<ObstacleReportSummaryDto> items;
+
+    @Schema(description = "다음 페이지 커서, 마지막 페이지면 null", example = "MjAyNC0wMS0wMVQxMjowMHwx")
+    private String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private boolean hasNext;
+}
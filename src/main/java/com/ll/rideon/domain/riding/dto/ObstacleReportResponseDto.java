@@ -44,6 +44,12 @@ public class ObstacleReportResponseDto {
     
     @Schema(description = "생성 시간", example = "2024-01-01T12:00:00")
     private LocalDateTime createdAt;
+
+    @Schema(description = "같은 장애물을 신고한 사용자 수 (중복 신고가 합쳐진 횟수 포함)", example = "3")
+    private Integer confirmationCount;
+
+    @Schema(description = "마지막으로 신고(확인)된 시간", example = "2024-01-01T15:30:00")
+    private LocalDateTime lastReportedAt;
     
     public static ObstacleReportResponseDto from(ObstacleReport obstacleReport) {
         return ObstacleReportResponseDto.builder()
@@ -58,6 +64,8 @@ public class ObstacleReportResponseDto {
                 .statusDescription(obstacleReport.getStatus().getDescription())
                 .image(obstacleReport.getImage())
                 .createdAt(obstacleReport.getCreatedAt())
+                .confirmationCount(obstacleReport.getConfirmationCount())
+                .lastReportedAt(obstacleReport.getLastReportedAt())
                 .build();
     }
 }
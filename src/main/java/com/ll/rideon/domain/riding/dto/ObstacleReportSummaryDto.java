@@ -0,0 +1,57 @@
+package com.ll.rideon.domain.riding.dto;
+
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록/지도 조회용 장애물 신고 요약. 설명과 이미지(TEXT 컬럼)는 담지 않으며, 상세 정보는 상세 조회 API 로 받는다.
+ * JPQL 생성자 표현식으로 필요한 컬럼만 조회하므로 필드 순서를 바꾸면 저장소 쿼리도 함께 바꿔야 한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(description = "장애물 신고 요약 응답 DTO (목록 조회용)")
+public class ObstacleReportSummaryDto {
+
+    @Schema(description = "장애물 신고 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "위도", example = "37.5665")
+    private Double latitude;
+
+    @Schema(description = "경도", example = "126.9780")
+    private Double longitude;
+
+    @Schema(description = "신고 타입", example = "OBSTACLE")
+    private ObstacleReport.ReportType reportType;
+
+    @Schema(description = "신고 상태", example = "UNCONFIRMED")
+    private ObstacleReport.ReportStatus status;
+
+    @Schema(description = "생성 시간", example = "2024-01-01T12:00:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "같은 장애물을 신고한 사용자 수", example = "3")
+    private Integer confirmationCount;
+
+    @Schema(description = "마지막으로 신고(확인)된 시간", example = "2024-01-01T15:30:00")
+    private LocalDateTime lastReportedAt;
+
+    public static ObstacleReportSummaryDto from(ObstacleReportResponseDto report) {
+        return ObstacleReportSummaryDto.builder()
+                .id(report.getId())
+                .latitude(report.getLatitude())
+                .longitude(report.getLongitude())
+                .reportType(report.getReportType())
+                .status(report.getStatus())
+                .createdAt(report.getCreatedAt())
+                .confirmationCount(report.getConfirmationCount())
+                .lastReportedAt(report.getLastReportedAt())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ll.rideon.domain.riding.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "최근 장애물 신고 조회 요청 DTO")
+public class RecentObstaclesRequestDto {
+
+    @Schema(description = "이전 응답의 nextCursor (첫 페이지는 생략)", example = "MjAyNC0wMS0wMVQxMjowMHwx")
+    private String cursor;
+
+    @Min(value = 1, message = "페이지 크기는 1 이상이어야 합니다")
+    @Max(value = 200, message = "페이지 크기는 200 이하여야 합니다")
+    @Schema(description = "페이지 크기", example = "50")
+    private Integer size = 50;
+
+    @DecimalMin(value = "-90.0", message = "위도는 -90 이상이어야 합니다")
+    @DecimalMax(value = "90.0", message = "위도는 90 이하여야 합니다")
+    @Schema(description = "범위 남쪽 경계 위도 (범위 조건은 네 값을 모두 보내야 적용)", example = "37.50")
+    private Double minLat;
+
+    @DecimalMin(value = "-90.0", message = "위도는 -90 이상이어야 합니다")
+    @DecimalMax(value = "90.0", message = "위도는 90 이하여야 합니다")
+    @Schema(description = "범위 북쪽 경계 위도", example = "37.60")
+    private Double maxLat;
+
+    @DecimalMin(value = "-180.0", message = "경도는 -180 이상이어야 합니다")
+    @DecimalMax(value = "180.0", message = "경도는 180 이하여야 합니다")
+    @Schema(description = "범위 서쪽 경계 경도", example = "126.90")
+    private Double minLng;
+
+    @DecimalMin(value = "-180.0", message = "경도는 -180 이상이어야 합니다")
+    @DecimalMax(value = "180.0", message = "경도는 180 이하여야 합니다")
+    @Schema(description = "범위 동쪽 경계 경도", example = "127.10")
+    private Double maxLng;
+}
@@ -1,6 +1,7 @@
 package com.ll.rideon.domain.riding.dto;
 
 import com.ll.rideon.domain.riding.entity.*;
+import com.ll.rideon.domain.riding.registry.ActiveSessionState;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -45,4 +46,24 @@ public class RidingSessionResponseDto {
                 .createdAt(session.getCreatedAt())
                 .build();
     }
+
+    public static RidingSessionResponseDto from(RidingSession session, ActiveSessionState state) {
+        return RidingSessionResponseDto.builder()
+                .id(session.getId())
+                .memberId(session.getMemberId())
+                .startedAt(session.getStartedAt())
+                .endedAt(session.getEndedAt())
+                .totalDistanceKm(session.getTotalDistanceKm())
+                .avgSpeedKmh(session.getAvgSpeedKmh())
+                .maxSpeedKmh(session.getMaxSpeedKmh())
+                .caloriesBurned(session.getCaloriesBurned())
+                .status(state.getStatus())
+                .lastLocationLat(state.getLastLocationLat())
+                .lastLocationLng(state.getLastLocationLng())
+                .lastLocationTime(state.getLastLocationTime())
+                .networkQuality(state.getNetworkQuality())
+                .connectionLostCount(state.getConnectionLostCount())
+                .createdAt(session.getCreatedAt())
+                .build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.ll.rideon.domain.riding.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "경로 주변 장애물 조회 요청 DTO")
+public class RouteCorridorRequestDto {
+
+    @NotBlank(message = "경로 polyline 은 필수입니다")
+    @Schema(description = "경로 (Google Encoded Polyline, 정밀도 1e-5)", example = "sehdFok_fWg@{@g@{@", required = true)
+    private String polyline;
+
+    @DecimalMin(value = "1.0", message = "경로 폭은 1m 이상이어야 합니다")
+    @DecimalMax(value = "1000.0", message = "경로 폭은 1000m 이하여야 합니다")
+    @Schema(description = "경로 양옆으로 포함할 거리 (m)", example = "50.0")
+    private Double width = 50.0;
+}
@@ -0,0 +1,20 @@
+package com.ll.rideon.domain.riding.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@Schema(description = "경로 주변 장애물 응답 DTO")
+public class RouteObstacleResponseDto {
+
+    @Schema(description = "장애물 신고 요약 (상세 정보는 상세 조회 API 사용)")
+    private ObstacleReportSummaryDto obstacle;
+
+    @Schema(description = "경로 시작점부터 장애물 지점까지 경로를 따라간 거리 (m)", example = "1250.5")
+    private double distanceAlongRoute;
+
+    @Schema(description = "경로에서 장애물까지의 거리 (m)", example = "12.3")
+    private double distanceFromRoute;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class NetworkStatus {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "network_status_seq_generator")
+    @SequenceGenerator(name = "network_status_seq_generator", sequenceName = "network_status_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "ride_session_id", nullable = false)
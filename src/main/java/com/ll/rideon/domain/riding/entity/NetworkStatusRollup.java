@@ -0,0 +1,69 @@
+package com.ll.rideon.domain.riding.entity;
+
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세션별 네트워크 상태 구간 요약 (1분/10분).
+ * NetworkStatusRollupRepository 의 집계 SQL 이 원본 샘플에서 만들어 넣으므로 읽기 전용으로 쓴다.
+ */
+@Entity
+@Table(name = "network_status_rollup")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NetworkStatusRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "network_status_rollup_seq_generator")
+    @SequenceGenerator(name = "network_status_rollup_seq_generator", sequenceName = "network_status_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "ride_session_id", nullable = false)
+    private Long rideSessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 16)
+    private RollupResolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    /** 신호 강도가 보고된 샘플 수 */
+    @Column(name = "signal_samples", nullable = false)
+    private Integer signalSamples;
+
+    @Column(name = "signal_min")
+    private Integer signalMin;
+
+    @Column(name = "signal_avg")
+    private Double signalAvg;
+
+    @Column(name = "signal_max")
+    private Integer signalMax;
+
+    @Column(name = "latency_avg")
+    private Double latencyAvg;
+
+    @Column(name = "latency_p95")
+    private Double latencyP95;
+
+    @Column(name = "packet_loss_avg")
+    private Double packetLossAvg;
+
+    @Column(name = "packet_loss_max")
+    private Double packetLossMax;
+
+    @Column(name = "disconnect_count", nullable = false)
+    private Integer disconnectCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.ll.rideon.domain.riding.entity;
 
+import com.ll.rideon.domain.riding.util.GeoHash;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 public class ObstacleReport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "obstacle_report_seq_generator")
+    @SequenceGenerator(name = "obstacle_report_seq_generator", sequenceName = "obstacle_report_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "member_id")
@@ -30,6 +32,9 @@ public class ObstacleReport {
     @Column(name = "longitude", nullable = false, columnDefinition = "DOUBLE PRECISION")
     private Double longitude;
 
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "report_type")
     private ReportType reportType;
@@ -48,6 +53,12 @@ public class ObstacleReport {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "confirmation_count", nullable = false)
+    private Integer confirmationCount;
+
+    @Column(name = "last_reported_at")
+    private LocalDateTime lastReportedAt;
+
     @Builder
     public ObstacleReport(Long memberId, Double latitude, Double longitude, 
                          ReportType reportType, String description, String image) {
@@ -58,12 +69,36 @@ public class ObstacleReport {
         this.description = description;
         this.image = image;
         this.status = ReportStatus.UNCONFIRMED;
+        this.confirmationCount = 1;
+        this.lastReportedAt = LocalDateTime.now();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        if (latitude != null && longitude != null) {
+            this.geohash = GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION);
+        }
     }
 
     public void updateStatus(ReportStatus status) {
         this.status = status;
     }
 
+    /**
+     * 중복 신고를 합친다. 비어 있는 설명/이미지는 새 신고의 값으로 채운다.
+     */
+    public void confirm(String description, String image, LocalDateTime reportedAt) {
+        this.confirmationCount++;
+        this.lastReportedAt = reportedAt;
+        if (this.description == null || this.description.isBlank()) {
+            this.description = description;
+        }
+        if (this.image == null || this.image.isBlank()) {
+            this.image = image;
+        }
+    }
+
     public void updateDescription(String description) {
         this.description = description;
     }
@@ -73,28 +108,36 @@ public class ObstacleReport {
     }
 
     public enum ReportType {
-        OBSTACLE("장애물"),
-        ACCIDENT("사고"),
-        ROAD_DAMAGE("도로 손상"),
-        CONSTRUCTION("공사"),
-        SLIPPERY("미끄러운 도로"),
-        ETC("기타");
+        OBSTACLE("장애물", 72),
+        ACCIDENT("사고", 6),
+        ROAD_DAMAGE("도로 손상", 24 * 30),
+        CONSTRUCTION("공사", 24 * 14),
+        SLIPPERY("미끄러운 도로", 12),
+        ETC("기타", 24 * 7);
 
         private final String description;
+        /** 마지막 신고(확인) 후 자동 만료까지의 기본 시간 */
+        private final long defaultTtlHours;
 
-        ReportType(String description) {
+        ReportType(String description, long defaultTtlHours) {
             this.description = description;
+            this.defaultTtlHours = defaultTtlHours;
         }
 
         public String getDescription() {
             return description;
         }
+
+        public long getDefaultTtlHours() {
+            return defaultTtlHours;
+        }
     }
 
     public enum ReportStatus {
         UNCONFIRMED("미확인"),
         CONFIRMED("확인됨"),
-        RESOLVED("해결됨");
+        RESOLVED("해결됨"),
+        EXPIRED("만료됨");
 
         private final String description;
 
@@ -105,5 +148,12 @@ public class ObstacleReport {
         public String getDescription() {
             return description;
         }
+
+        /**
+         * 지도/주변 조회에 노출되는 상태인지 여부
+         */
+        public boolean isActive() {
+            return this == UNCONFIRMED || this == CONFIRMED;
+        }
     }
 }
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 public class RidePoint {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_point_id_generator")
+    @SequenceGenerator(name = "ride_point_id_generator", sequenceName = "ride_point_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "ride_session_id", nullable = false)
@@ -20,7 +20,8 @@ import com.ll.rideon.domain.riding.entity.*;
 public class RidingLocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_point_seq_generator")
+    @SequenceGenerator(name = "ride_point_seq_generator", sequenceName = "ride_point_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "ride_session_id", nullable = false)
@@ -79,6 +80,25 @@ public class RidingLocation {
         this.isOfflineSync = isOfflineSync != null ? isOfflineSync : false;
     }
 
+    /**
+     * 좌표만 바꾼 새 포인트를 만든다. (위치 보정 필터에서 사용)
+     */
+    public RidingLocation withPosition(Double latitude, Double longitude) {
+        return RidingLocation.builder()
+                .rideSessionId(rideSessionId)
+                .latitude(latitude)
+                .longitude(longitude)
+                .speedKmh(speedKmh)
+                .altitude(altitude)
+                .accuracy(accuracy)
+                .heading(heading)
+                .recordedAt(recordedAt)
+                .networkQuality(networkQuality)
+                .batteryLevel(batteryLevel)
+                .isOfflineSync(isOfflineSync)
+                .build();
+    }
+
     public void markAsSynced() {
         this.isOfflineSync = false;
     }
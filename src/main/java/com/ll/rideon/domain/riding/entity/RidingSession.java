@@ -5,6 +5,7 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
@@ -15,8 +16,11 @@ import java.math.BigDecimal;
 @EntityListeners(AuditingEntityListener.class)
 public class RidingSession {
 
+    public static final Duration TRACK_WINDOW_MARGIN = Duration.ofDays(1);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_session_seq_generator")
+    @SequenceGenerator(name = "ride_session_seq_generator", sequenceName = "ride_session_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "member_id", nullable = false)
@@ -81,6 +85,18 @@ public class RidingSession {
         this.connectionLostCount++;
     }
 
+    public void updateStatistics(BigDecimal totalDistanceKm, BigDecimal avgSpeedKmh,
+                                 BigDecimal maxSpeedKmh, BigDecimal caloriesBurned) {
+        this.totalDistanceKm = totalDistanceKm;
+        this.avgSpeedKmh = avgSpeedKmh;
+        this.maxSpeedKmh = maxSpeedKmh;
+        this.caloriesBurned = caloriesBurned;
+    }
+
+    public void updateConnectionLostCount(int connectionLostCount) {
+        this.connectionLostCount = connectionLostCount;
+    }
+
     @Builder
     public RidingSession(Long memberId) {
         this.memberId = memberId;
@@ -94,6 +110,18 @@ public class RidingSession {
         this.status = RidingStatus.COMPLETED;
     }
 
+    /**
+     * 이 세션의 위치 포인트가 기록될 수 있는 시간 범위의 시작.
+     * ride_point 파티션 프루닝을 위해 조회 조건에 함께 넘긴다. (단말 시계 오차를 고려해 여유를 둔다)
+     */
+    public LocalDateTime getTrackWindowStart() {
+        return startedAt.minus(TRACK_WINDOW_MARGIN);
+    }
+
+    public LocalDateTime getTrackWindowEnd() {
+        return (endedAt != null ? endedAt : LocalDateTime.now()).plus(TRACK_WINDOW_MARGIN);
+    }
+
     public void pauseSession() {
         this.status = RidingStatus.PAUSED;
     }
@@ -0,0 +1,74 @@
+package com.ll.rideon.domain.riding.entity;
+
+import com.ll.rideon.domain.riding.track.TrackDetail;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상세도별 단순화 경로 (polyline 델타 인코딩)
+ */
+@Entity
+@Table(name = "ride_track_simplified")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@EntityListeners(AuditingEntityListener.class)
+public class RidingTrackSimplified {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_track_simplified_seq_generator")
+    @SequenceGenerator(name = "ride_track_simplified_seq_generator", sequenceName = "ride_track_simplified_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "ride_session_id", nullable = false)
+    private Long rideSessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "detail", nullable = false, length = 10)
+    private TrackDetail detail;
+
+    @Column(name = "tolerance_m", nullable = false)
+    private Float toleranceM;
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "polyline", nullable = false, columnDefinition = "TEXT")
+    private String polyline;
+
+    @Column(name = "times", nullable = false, columnDefinition = "TEXT")
+    private String times;
+
+    @Column(name = "speeds", nullable = false, columnDefinition = "TEXT")
+    private String speeds;
+
+    @Column(name = "altitudes", nullable = false, columnDefinition = "TEXT")
+    private String altitudes;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public RidingTrackSimplified(Long rideSessionId, TrackDetail detail, Integer pointCount, LocalDateTime startTime,
+                                 String polyline, String times, String speeds, String altitudes) {
+        this.rideSessionId = rideSessionId;
+        this.detail = detail;
+        this.toleranceM = (float) detail.getToleranceMeters();
+        this.pointCount = pointCount;
+        this.startTime = startTime;
+        this.polyline = polyline;
+        this.times = times;
+        this.speeds = speeds;
+        this.altitudes = altitudes;
+    }
+}
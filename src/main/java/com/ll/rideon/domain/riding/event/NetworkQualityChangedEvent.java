@@ -0,0 +1,18 @@
+package com.ll.rideon.domain.riding.event;
+
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 진행 중인 세션의 네트워크 품질이 실제로 바뀌었을 때 발행하는 이벤트.
+ * 품질 경계 근처의 흔들림은 NetworkQualityStateMachine 이 걸러 내므로 샘플마다 발행되지 않는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class NetworkQualityChangedEvent {
+
+    private final Long sessionId;
+    private final NetworkQuality previousQuality;
+    private final NetworkQuality quality;
+}
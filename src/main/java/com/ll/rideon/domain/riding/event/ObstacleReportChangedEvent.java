@@ -0,0 +1,15 @@
+package com.ll.rideon.domain.riding.event;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 장애물 신고가 생성되거나 변경되었을 때 발행하는 이벤트. 트랜잭션 커밋 후 처리된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ObstacleReportChangedEvent {
+
+    private final ObstacleReportResponseDto report;
+}
@@ -0,0 +1,14 @@
+package com.ll.rideon.domain.riding.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 라이딩 세션 종료가 커밋되면 처리할 후속 작업(단순화 경로 저장, 네트워크 상태 구간 요약 확정)을 알리는 이벤트.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RidingSessionEndedEvent {
+
+    private final Long sessionId;
+}
@@ -0,0 +1,33 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단말이 보고한 정확도(accuracy, 미터)가 기준보다 나쁜 포인트를 버린다.
+ */
+@Component
+@Order(100)
+public class AccuracyLocationFilter implements LocationFilter {
+
+    private final float maxAccuracyMeters;
+
+    public AccuracyLocationFilter(@Value("${riding.location-filter.max-accuracy-m:50}") float maxAccuracyMeters) {
+        this.maxAccuracyMeters = maxAccuracyMeters;
+    }
+
+    @Override
+    public String getName() {
+        return "accuracy";
+    }
+
+    @Override
+    public RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+        if (location.getAccuracy() != null && location.getAccuracy() > maxAccuracyMeters) {
+            return null;
+        }
+        return location;
+    }
+}
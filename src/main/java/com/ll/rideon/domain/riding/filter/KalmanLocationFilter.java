@@ -0,0 +1,65 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 세션별 경량 칼만 필터로 위치를 보정한다. (riding.location-filter.kalman.enabled=true 일 때만 등록)
+ * 등속 가정 없이 위치만 상태로 두고, 시간이 지날수록 불확실성을 키워 측정값(정확도 기반 분산)과 섞는다.
+ */
+@Component
+@Order(400)
+@ConditionalOnProperty(name = "riding.location-filter.kalman.enabled", havingValue = "true")
+public class KalmanLocationFilter implements LocationFilter {
+
+    private static final float DEFAULT_ACCURACY_METERS = 10.0f;
+
+    private final double processNoiseMps;
+
+    public KalmanLocationFilter(@Value("${riding.location-filter.kalman.process-noise-mps:3}") double processNoiseMps) {
+        this.processNoiseMps = processNoiseMps;
+    }
+
+    @Override
+    public String getName() {
+        return "kalman";
+    }
+
+    @Override
+    public RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+        if (context.isOutOfOrder(location)) {
+            return location;
+        }
+
+        double accuracy = location.getAccuracy() != null && location.getAccuracy() > 0
+                ? location.getAccuracy() : DEFAULT_ACCURACY_METERS;
+        double measurementVariance = accuracy * accuracy;
+
+        if (context.getKalmanVariance() < 0) {
+            context.setKalmanLat(location.getLatitude());
+            context.setKalmanLng(location.getLongitude());
+            context.setKalmanVariance(measurementVariance);
+            context.setKalmanTime(location.getRecordedAt());
+            return location;
+        }
+
+        double seconds = Math.max(0, Duration.between(context.getKalmanTime(), location.getRecordedAt()).toMillis()) / 1000.0;
+        double variance = context.getKalmanVariance() + seconds * processNoiseMps * processNoiseMps;
+
+        double gain = variance / (variance + measurementVariance);
+        double lat = context.getKalmanLat() + gain * (location.getLatitude() - context.getKalmanLat());
+        double lng = context.getKalmanLng() + gain * (location.getLongitude() - context.getKalmanLng());
+
+        context.setKalmanLat(lat);
+        context.setKalmanLng(lng);
+        context.setKalmanVariance((1 - gain) * variance);
+        context.setKalmanTime(location.getRecordedAt());
+
+        return location.withPosition(lat, lng);
+    }
+}
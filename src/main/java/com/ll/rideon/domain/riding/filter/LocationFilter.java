@@ -0,0 +1,22 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+
+/**
+ * 위치 포인트 저장 전에 거치는 필터 단계.
+ * 구현체는 스프링 빈으로 등록하고 @Order 로 실행 순서를 정한다.
+ */
+public interface LocationFilter {
+
+    /**
+     * 필터 이름. 버려진 포인트 메트릭의 reason 태그로 쓴다.
+     */
+    String getName();
+
+    /**
+     * @param location 검사할 포인트
+     * @param context  세션별 필터 상태 (직전에 통과한 포인트 등)
+     * @return 통과한 포인트(보정된 새 포인트일 수 있음), 버릴 포인트면 null
+     */
+    RidingLocation apply(RidingLocation location, LocationFilterContext context);
+}
@@ -0,0 +1,85 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 등록된 LocationFilter 를 순서대로 적용해 노이즈 포인트를 걸러낸다.
+ * 통과/제거 건수는 rideon.riding.location.filter 카운터로 남긴다.
+ */
+@Slf4j
+@Component
+public class LocationFilterChain {
+
+    private static final String METRIC_NAME = "rideon.riding.location.filter";
+
+    private final List<LocationFilter> filters;
+    private final MeterRegistry meterRegistry;
+    private final Counter acceptedCounter;
+    private final Map<String, Counter> droppedCounters = new ConcurrentHashMap<>();
+
+    public LocationFilterChain(List<LocationFilter> filters, MeterRegistry meterRegistry) {
+        this.filters = filters;
+        this.meterRegistry = meterRegistry;
+        this.acceptedCounter = Counter.builder(METRIC_NAME)
+                .description("위치 필터 처리 결과")
+                .tag("result", "accepted")
+                .tag("reason", "none")
+                .register(meterRegistry);
+        log.info("위치 필터 구성: {}", filters.stream().map(LocationFilter::getName).toList());
+    }
+
+    /**
+     * 포인트를 기록 시각 순으로 필터에 통과시키고 남은 포인트를 반환한다.
+     */
+    public List<RidingLocation> filter(LocationFilterContext context, List<RidingLocation> locations) {
+        List<RidingLocation> ordered = locations.stream()
+                .sorted(Comparator.comparing(RidingLocation::getRecordedAt))
+                .toList();
+
+        List<RidingLocation> accepted = new ArrayList<>(ordered.size());
+        synchronized (context) {
+            for (RidingLocation location : ordered) {
+                RidingLocation result = apply(location, context);
+                if (result != null) {
+                    accepted.add(result);
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+        RidingLocation current = location;
+        for (LocationFilter filter : filters) {
+            current = filter.apply(current, context);
+            if (current == null) {
+                droppedCounter(filter.getName()).increment();
+                return null;
+            }
+        }
+
+        if (!context.isOutOfOrder(current)) {
+            context.setLastAccepted(current);
+        }
+        acceptedCounter.increment();
+        return current;
+    }
+
+    private Counter droppedCounter(String reason) {
+        return droppedCounters.computeIfAbsent(reason, name -> Counter.builder(METRIC_NAME)
+                .description("위치 필터 처리 결과")
+                .tag("result", "dropped")
+                .tag("reason", name)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세션별 필터 상태. LocationFilterChain 이 이 객체를 잠근 상태에서 필터를 실행한다.
+ */
+@Getter
+@Setter
+public class LocationFilterContext {
+
+    /**
+     * 마지막으로 필터를 통과한 포인트
+     */
+    private RidingLocation lastAccepted;
+
+    // 칼만 필터 상태 (위도/경도, 미터 단위 분산)
+    private double kalmanLat;
+    private double kalmanLng;
+    private double kalmanVariance = -1;
+    private LocalDateTime kalmanTime;
+
+    /**
+     * 직전에 통과한 포인트보다 이른 포인트인지 (오프라인 동기화로 늦게 도착한 포인트)
+     */
+    public boolean isOutOfOrder(RidingLocation location) {
+        return lastAccepted != null && location.getRecordedAt().isBefore(lastAccepted.getRecordedAt());
+    }
+}
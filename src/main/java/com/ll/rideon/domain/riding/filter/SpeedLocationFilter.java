@@ -0,0 +1,47 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 직전 포인트에서 자전거로 갈 수 없는 속도로 이동한 포인트(순간이동 튐)를 버린다.
+ */
+@Component
+@Order(200)
+public class SpeedLocationFilter implements LocationFilter {
+
+    private final double maxSpeedKmh;
+
+    public SpeedLocationFilter(@Value("${riding.location-filter.max-speed-kmh:80}") double maxSpeedKmh) {
+        this.maxSpeedKmh = maxSpeedKmh;
+    }
+
+    @Override
+    public String getName() {
+        return "speed";
+    }
+
+    @Override
+    public RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+        RidingLocation previous = context.getLastAccepted();
+        if (previous == null || context.isOutOfOrder(location)) {
+            return location;
+        }
+
+        double meters = GeoUtils.haversineMeters(
+                previous.getLatitude(), previous.getLongitude(), location.getLatitude(), location.getLongitude());
+        long millis = Duration.between(previous.getRecordedAt(), location.getRecordedAt()).toMillis();
+        // 같은 시각에 다른 위치가 오면 속도를 계산할 수 없으므로 1초 간격으로 본다
+        double seconds = Math.max(millis, 1000) / 1000.0;
+
+        if (meters / seconds * 3.6 > maxSpeedKmh) {
+            return null;
+        }
+        return location;
+    }
+}
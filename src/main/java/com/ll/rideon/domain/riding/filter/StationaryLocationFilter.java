@@ -0,0 +1,57 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 정지 중 GPS 흔들림으로 생기는 포인트를 버린다.
+ * 직전 포인트에서 거의 움직이지 않았으면 제거하되, keepalive 간격마다 하나는 남겨 정지 구간도 기록되게 한다.
+ */
+@Component
+@Order(300)
+public class StationaryLocationFilter implements LocationFilter {
+
+    private static final float STATIONARY_SPEED_KMH = 1.0f;
+
+    private final double minDistanceMeters;
+    private final long keepaliveSeconds;
+
+    public StationaryLocationFilter(@Value("${riding.location-filter.stationary-distance-m:3}") double minDistanceMeters,
+                                    @Value("${riding.location-filter.stationary-keepalive-seconds:30}") long keepaliveSeconds) {
+        this.minDistanceMeters = minDistanceMeters;
+        this.keepaliveSeconds = keepaliveSeconds;
+    }
+
+    @Override
+    public String getName() {
+        return "stationary";
+    }
+
+    @Override
+    public RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+        RidingLocation previous = context.getLastAccepted();
+        if (previous == null || context.isOutOfOrder(location)) {
+            return location;
+        }
+
+        if (location.getSpeedKmh() != null && location.getSpeedKmh() > STATIONARY_SPEED_KMH) {
+            return location;
+        }
+
+        // 정확도가 나쁠수록 흔들림 폭도 크므로 기준 거리를 넓힌다
+        double threshold = Math.max(minDistanceMeters, location.getAccuracy() != null ? location.getAccuracy() : 0);
+        double meters = GeoUtils.haversineMeters(
+                previous.getLatitude(), previous.getLongitude(), location.getLatitude(), location.getLongitude());
+        long elapsed = Duration.between(previous.getRecordedAt(), location.getRecordedAt()).getSeconds();
+
+        if (meters < threshold && elapsed < keepaliveSeconds) {
+            return null;
+        }
+        return location;
+    }
+}
@@ -0,0 +1,475 @@
+package com.ll.rideon.domain.riding.geofence;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import com.ll.rideon.domain.riding.spatial.ObstacleGridIndex;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 주행 중인 라이더에게 주변 장애물을 SSE 로 밀어 주는 지오펜스.
+ * 알림을 구독한 세션의 마지막 위치를 격자 셀에 올려 두고,
+ * - 라이더가 새 셀에 들어오면 그 셀(경계에서 알림 반경만큼 넓힌 범위)의 장애물을 보내고
+ * - 새 장애물이 생기면 그 주변 셀에 있는 라이더 중 알림 반경 안의 라이더에게 보낸다.
+ * 보낼 대상은 별도 스레드 한 개에서 순서대로 계산하고, 실제 전송은 라이더별 대기열에 넣어 전송 스레드 풀이 비운다.
+ * 대기열이 가득 찰 만큼 받지 못하는 라이더는 연결을 끊어, 느린 클라이언트 하나가 다른 라이더의 알림을 막지 않게 한다.
+ */
+@Slf4j
+@Component
+public class ObstacleGeofenceEngine {
+
+    private static final long NO_CELL = Long.MIN_VALUE;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final int DISPATCH_QUEUE_CAPACITY = 10_000;
+
+    private final ObstacleGridIndex obstacleGridIndex;
+    private final MeterRegistry meterRegistry;
+    private final double cellSizeDegrees;
+    private final double alertRadiusMeters;
+    private final long emitterTimeoutMs;
+    private final int maxSentPerRider;
+    private final int maxPendingPerRider;
+
+    private final Map<Long, Rider> riders = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Rider>> cells = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final ExecutorService sender;
+
+    private Counter pushedCounter;
+    private Counter droppedCounter;
+    private Counter slowRiderCounter;
+
+    @Autowired
+    public ObstacleGeofenceEngine(ObstacleGridIndex obstacleGridIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${obstacle.geofence.cell-size-degrees:0.005}") double cellSizeDegrees,
+                                  @Value("${obstacle.geofence.alert-radius-meters:300}") double alertRadiusMeters,
+                                  @Value("${obstacle.geofence.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                  @Value("${obstacle.geofence.max-sent-per-rider:2000}") int maxSentPerRider,
+                                  @Value("${obstacle.geofence.max-pending-per-rider:100}") int maxPendingPerRider,
+                                  @Value("${obstacle.geofence.sender-threads:4}") int senderThreads) {
+        this(obstacleGridIndex, meterRegistry, cellSizeDegrees, alertRadiusMeters, emitterTimeoutMs,
+                maxSentPerRider, maxPendingPerRider, newExecutor(1, "obstacle-geofence"),
+                newExecutor(senderThreads, "obstacle-geofence-sender"));
+    }
+
+    ObstacleGeofenceEngine(ObstacleGridIndex obstacleGridIndex,
+                           MeterRegistry meterRegistry,
+                           double cellSizeDegrees,
+                           double alertRadiusMeters,
+                           long emitterTimeoutMs,
+                           int maxSentPerRider,
+                           int maxPendingPerRider,
+                           ExecutorService dispatcher,
+                           ExecutorService sender) {
+        this.obstacleGridIndex = obstacleGridIndex;
+        this.meterRegistry = meterRegistry;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.alertRadiusMeters = alertRadiusMeters;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSentPerRider = maxSentPerRider;
+        this.maxPendingPerRider = maxPendingPerRider;
+        this.dispatcher = dispatcher;
+        this.sender = sender;
+    }
+
+    private static ExecutorService newExecutor(int threads, String name) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(DISPATCH_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("rideon.obstacle.geofence.riders", riders, Map::size)
+                .description("장애물 알림을 구독 중인 라이더 수")
+                .register(meterRegistry);
+        pushedCounter = Counter.builder("rideon.obstacle.geofence.pushed")
+                .description("라이더에게 보낸 장애물 알림 수")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("rideon.obstacle.geofence.dropped")
+                .description("전송 대기열이 가득 차 버린 알림 작업 수")
+                .register(meterRegistry);
+        slowRiderCounter = Counter.builder("rideon.obstacle.geofence.slow-riders")
+                .description("알림을 제때 받지 못해 연결을 끊은 라이더 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션의 장애물 알림 스트림을 연다. 같은 세션의 이전 스트림은 닫는다.
+     * 마지막 위치를 알고 있으면 그 셀의 장애물을 바로 보낸다.
+     */
+    public SseEmitter subscribe(Long sessionId, Long memberId, Double latitude, Double longitude) {
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Rider rider = new Rider(sessionId, emitter, maxSentPerRider);
+
+        Rider previous = riders.put(sessionId, rider);
+        if (previous != null) {
+            detach(previous);
+            previous.emitter.complete();
+        }
+
+        emitter.onCompletion(() -> unsubscribe(rider));
+        emitter.onTimeout(() -> unsubscribe(rider));
+        emitter.onError(error -> unsubscribe(rider));
+
+        log.info("장애물 알림 구독 - sessionId={}, memberId={}", sessionId, memberId);
+        if (latitude != null && longitude != null) {
+            onLocation(sessionId, latitude, longitude);
+        }
+        return emitter;
+    }
+
+    /**
+     * 세션 종료 시 알림 스트림을 닫는다.
+     */
+    public void unsubscribe(Long sessionId) {
+        Rider rider = riders.get(sessionId);
+        if (rider != null) {
+            unsubscribe(rider);
+            rider.emitter.complete();
+        }
+    }
+
+    /**
+     * 라이더의 마지막 위치를 갱신한다. 구독하지 않은 세션이면 아무것도 하지 않는다.
+     */
+    public void onLocation(Long sessionId, double latitude, double longitude) {
+        Rider rider = riders.get(sessionId);
+        if (rider == null) {
+            return;
+        }
+
+        long cellKey = cellKey(latitude, longitude);
+        long previousKey;
+        synchronized (rider) {
+            rider.latitude = latitude;
+            rider.longitude = longitude;
+            previousKey = rider.cellKey;
+            if (previousKey == cellKey) {
+                return;
+            }
+            rider.cellKey = cellKey;
+        }
+
+        if (previousKey != NO_CELL) {
+            removeFromCell(previousKey, rider);
+        }
+        cells.computeIfAbsent(cellKey, key -> ConcurrentHashMap.newKeySet()).add(rider);
+        if (riders.get(sessionId) != rider) {
+            // 그 사이 구독이 해제되었으면 되돌림
+            removeFromCell(cellKey, rider);
+            return;
+        }
+
+        dispatch(() -> sendCellObstacles(rider, cellKey));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObstacleReportChanged(ObstacleReportChangedEvent event) {
+        if (riders.isEmpty()) {
+            return;
+        }
+        ObstacleReportResponseDto report = event.getReport();
+        if (report.getLatitude() == null || report.getLongitude() == null) {
+            return;
+        }
+        ObstacleReportSummaryDto summary = ObstacleReportSummaryDto.from(report);
+        dispatch(() -> {
+            if (summary.getStatus().isActive()) {
+                pushToNearbyRiders(summary);
+            } else {
+                pushRemoval(summary);
+            }
+        });
+    }
+
+    private void sendCellObstacles(Rider rider, long cellKey) {
+        double[] bounds = cellBounds(cellKey);
+        double latMargin = alertRadiusMeters / METERS_PER_DEGREE;
+        double lngMargin = latMargin / Math.max(Math.cos(Math.toRadians(bounds[0])), 0.01);
+
+        obstacleGridIndex.forEachInBounds(bounds[0] - latMargin, bounds[1] + latMargin,
+                bounds[2] - lngMargin, bounds[3] + lngMargin,
+                (cell, index, ignored) -> send(rider, "obstacle", cell.getReport(index)));
+    }
+
+    private void pushToNearbyRiders(ObstacleReportSummaryDto obstacle) {
+        long obstacleCell = cellKey(obstacle.getLatitude(), obstacle.getLongitude());
+        forEachRiderAround(obstacle.getLatitude(), obstacle.getLongitude(), rider -> {
+            boolean inRange = rider.cellKey == obstacleCell || GeoUtils.haversineMeters(
+                    rider.latitude, rider.longitude, obstacle.getLatitude(), obstacle.getLongitude()) <= alertRadiusMeters;
+            if (inRange) {
+                send(rider, "obstacle", obstacle);
+            }
+        });
+    }
+
+    private void pushRemoval(ObstacleReportSummaryDto obstacle) {
+        forEachRiderAround(obstacle.getLatitude(), obstacle.getLongitude(), rider -> {
+            if (rider.forget(obstacle.getId())) {
+                enqueue(rider, new Outgoing("obstacle-removed", obstacle));
+            }
+        });
+    }
+
+    /**
+     * 좌표 주변(알림 반경 + 한 셀)에 걸친 셀들의 라이더를 넘긴다.
+     */
+    private void forEachRiderAround(double latitude, double longitude, Consumer<Rider> consumer) {
+        double latDelta = alertRadiusMeters / METERS_PER_DEGREE + cellSizeDegrees;
+        double lngDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        for (long row = index(latitude - latDelta); row <= index(latitude + latDelta); row++) {
+            for (long col = index(longitude - lngDelta); col <= index(longitude + lngDelta); col++) {
+                Set<Rider> cellRiders = cells.get(key(row, col));
+                if (cellRiders != null) {
+                    cellRiders.forEach(consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * 아직 보내지 않은 장애물만 보낸다.
+     */
+    private void send(Rider rider, String eventName, ObstacleReportSummaryDto obstacle) {
+        if (rider.remember(obstacle.getId())) {
+            enqueue(rider, new Outgoing(eventName, obstacle));
+        }
+    }
+
+    /**
+     * 라이더의 전송 대기열에 넣고, 비우는 작업이 없으면 전송 스레드에 맡긴다.
+     * 대기열이 가득 차면 그 라이더는 받지 못하고 있는 것으로 보고 구독을 해제한다.
+     */
+    private void enqueue(Rider rider, Outgoing outgoing) {
+        boolean schedule = false;
+        boolean overflow = false;
+        synchronized (rider.outbox) {
+            if (rider.closed) {
+                return;
+            }
+            if (rider.outbox.size() >= maxPendingPerRider) {
+                // 전송 중인 작업이 끝나면 연결을 닫는다 (전송 중인 emitter 를 이 스레드에서 건드리지 않음)
+                rider.closed = true;
+                rider.outbox.clear();
+                rider.outbox.add(Outgoing.CLOSE);
+                overflow = true;
+            } else {
+                rider.outbox.add(outgoing);
+                schedule = !rider.draining;
+                rider.draining = true;
+            }
+        }
+
+        if (overflow) {
+            slowRiderCounter.increment();
+            log.info("장애물 알림을 받지 못하는 라이더 구독 해제 - sessionId={}", rider.sessionId);
+            unsubscribe(rider);
+            return;
+        }
+        if (schedule) {
+            try {
+                sender.execute(() -> drain(rider));
+            } catch (RejectedExecutionException e) {
+                synchronized (rider.outbox) {
+                    droppedCounter.increment(rider.outbox.size());
+                    rider.outbox.clear();
+                    rider.draining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * 라이더의 대기열이 빌 때까지 순서대로 보낸다. 라이더마다 한 번에 하나의 작업만 돈다.
+     */
+    private void drain(Rider rider) {
+        while (true) {
+            Outgoing next;
+            synchronized (rider.outbox) {
+                next = rider.outbox.poll();
+                if (next == null) {
+                    rider.draining = false;
+                    return;
+                }
+            }
+            if (next == Outgoing.CLOSE) {
+                rider.emitter.complete();
+                continue;
+            }
+            deliver(rider, next.eventName, next.obstacle);
+        }
+    }
+
+    private void deliver(Rider rider, String eventName, ObstacleReportSummaryDto obstacle) {
+        try {
+            rider.emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .id(String.valueOf(obstacle.getId()))
+                    .data(obstacle, MediaType.APPLICATION_JSON));
+            pushedCounter.increment();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("장애물 알림 전송 실패 - sessionId={}: {}", rider.sessionId, e.getMessage());
+            synchronized (rider.outbox) {
+                rider.closed = true;
+                rider.outbox.clear();
+            }
+            unsubscribe(rider);
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("장애물 알림 처리 실패: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void unsubscribe(Rider rider) {
+        if (riders.remove(rider.sessionId, rider)) {
+            detach(rider);
+            log.info("장애물 알림 구독 해제 - sessionId={}", rider.sessionId);
+        }
+    }
+
+    private void detach(Rider rider) {
+        long cellKey;
+        synchronized (rider) {
+            cellKey = rider.cellKey;
+            rider.cellKey = NO_CELL;
+        }
+        if (cellKey != NO_CELL) {
+            removeFromCell(cellKey, rider);
+        }
+    }
+
+    private void removeFromCell(long cellKey, Rider rider) {
+        cells.computeIfPresent(cellKey, (key, set) -> {
+            set.remove(rider);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        riders.values().forEach(rider -> rider.emitter.complete());
+        riders.clear();
+        cells.clear();
+    }
+
+    private double[] cellBounds(long cellKey) {
+        long row = cellKey >> 32;
+        long col = (int) cellKey;
+        return new double[]{row * cellSizeDegrees, (row + 1) * cellSizeDegrees,
+                col * cellSizeDegrees, (col + 1) * cellSizeDegrees};
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(index(latitude), index(longitude));
+    }
+
+    private long index(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Outgoing {
+
+        /** 대기열 끝에 넣어 전송 스레드가 연결을 닫게 하는 표시 */
+        private static final Outgoing CLOSE = new Outgoing(null, null);
+
+        private final String eventName;
+        private final ObstacleReportSummaryDto obstacle;
+
+        private Outgoing(String eventName, ObstacleReportSummaryDto obstacle) {
+            this.eventName = eventName;
+            this.obstacle = obstacle;
+        }
+    }
+
+    private static final class Rider {
+
+        private final Long sessionId;
+        private final SseEmitter emitter;
+        /** 이미 보낸 장애물 ID (오래된 것부터 밀려남) */
+        private final Set<Long> sentIds;
+        /** 보낼 알림. 아래 두 필드와 함께 outbox 로 동기화한다 */
+        private final Deque<Outgoing> outbox = new ArrayDeque<>();
+        /** 전송 스레드에 대기열을 비우는 작업이 걸려 있는지 */
+        private boolean draining;
+        /** 더 이상 알림을 받지 않는지 (전송 실패 또는 대기열 초과) */
+        private boolean closed;
+
+        private volatile double latitude;
+        private volatile double longitude;
+        private volatile long cellKey = NO_CELL;
+
+        private Rider(Long sessionId, SseEmitter emitter, int maxSent) {
+            this.sessionId = sessionId;
+            this.emitter = emitter;
+            this.sentIds = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > maxSent;
+                }
+            });
+        }
+
+        /** 처음 보는 장애물이면 기록하고 true */
+        synchronized boolean remember(Long obstacleId) {
+            return sentIds.add(obstacleId);
+        }
+
+        synchronized boolean forget(Long obstacleId) {
+            return sentIds.remove(obstacleId);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ll.rideon.domain.riding.network;
+
+/**
+ * 세션별 위치 업로드 간격/배치 크기를 정하는 AIMD(가산 증가, 곱셈 감소) 제어기.
+ * 회선이 건강하고 서버 여유가 있으면 업로드 빈도를 조금씩 올리고(간격을 일정량씩 줄이고),
+ * 손실/지연/끊김이 보이거나 서버 적재 대기열이 차면 간격을 배로 늘린다.
+ * 간격이 길어진 만큼 한 번에 보내는 포인트 수도 늘려서, 나쁜 회선에서는 적은 횟수의 큰 배치로 보내게 한다.
+ */
+public class AdaptiveUploadRate {
+
+    public static final long MIN_INTERVAL_MS = 1_000;
+    public static final long MAX_INTERVAL_MS = 60_000;
+    public static final long INITIAL_INTERVAL_MS = 5_000;
+    /** 단말이 위치를 수집하는 빈도 (초당 포인트 수) */
+    private static final double POINTS_PER_SECOND = 1.0;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final long ADDITIVE_STEP_MS = 1_000;
+    private static final int DECREASE_FACTOR = 2;
+    /** 같은 상황을 여러 샘플이 연달아 보고해도 한 번만 조정하도록 두는 최소 간격 */
+    private static final long ADJUST_PERIOD_NANOS = 5_000_000_000L;
+
+    // 혼잡 판단 기준
+    private static final double MAX_DISCONNECTED_RATIO = 0.1;
+    private static final int MAX_LOSS_P95 = 5;
+    private static final int MAX_LATENCY_P95_MS = 1_000;
+    /** 서버 적재 대기열 사용률이 이 이상이면 간격을 줄이지 않는다 */
+    private static final double SERVER_HOLD_LOAD = 0.5;
+    /** 서버 적재 대기열 사용률이 이 이상이면 간격을 늘린다 */
+    private static final double SERVER_SHED_LOAD = 0.8;
+
+    private long intervalMs = INITIAL_INTERVAL_MS;
+    private long adjustedAtNanos = Long.MIN_VALUE;
+    private Decision lastDecision = Decision.HOLD;
+
+    /**
+     * 최근 네트워크 요약과 서버 적재 대기열 사용률(0~1)로 업로드 간격을 조정한다.
+     * 직전 조정 후 조정 주기가 지나지 않았으면 아무것도 바꾸지 않는다.
+     */
+    public synchronized Decision update(NetworkStats stats, double serverLoad, long nowNanos) {
+        if (adjustedAtNanos != Long.MIN_VALUE && nowNanos - adjustedAtNanos < ADJUST_PERIOD_NANOS) {
+            return lastDecision;
+        }
+
+        Decision decision = decide(stats, serverLoad);
+        switch (decision) {
+            case NETWORK_CONGESTED, SERVER_BUSY -> intervalMs = Math.min(MAX_INTERVAL_MS, intervalMs * DECREASE_FACTOR);
+            case PROBE -> intervalMs = Math.max(MIN_INTERVAL_MS, intervalMs - ADDITIVE_STEP_MS);
+            case HOLD -> {
+            }
+        }
+        adjustedAtNanos = nowNanos;
+        lastDecision = decision;
+        return decision;
+    }
+
+    private static Decision decide(NetworkStats stats, double serverLoad) {
+        if (serverLoad >= SERVER_SHED_LOAD) {
+            return Decision.SERVER_BUSY;
+        }
+        if (!stats.isEmpty() && isCongested(stats)) {
+            return Decision.NETWORK_CONGESTED;
+        }
+        if (serverLoad >= SERVER_HOLD_LOAD || stats.isEmpty()) {
+            return Decision.HOLD;
+        }
+        return Decision.PROBE;
+    }
+
+    private static boolean isCongested(NetworkStats stats) {
+        return !stats.isConnected()
+                || stats.getDisconnectedRatio() > MAX_DISCONNECTED_RATIO
+                || (stats.getPacketLossP95() != null && stats.getPacketLossP95() > MAX_LOSS_P95)
+                || (stats.getLatencyP95() != null && stats.getLatencyP95() > MAX_LATENCY_P95_MS);
+    }
+
+    public synchronized long getIntervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * 한 번에 보낼 포인트 수. 업로드 간격 동안 수집되는 포인트를 한 번에 보낸다.
+     */
+    public synchronized int getBatchSize() {
+        long points = (long) Math.ceil(intervalMs / 1000.0 * POINTS_PER_SECOND);
+        return (int) Math.max(1, Math.min(MAX_BATCH_SIZE, points));
+    }
+
+    public synchronized Decision getLastDecision() {
+        return lastDecision;
+    }
+
+    public enum Decision {
+        /** 회선과 서버 모두 여유가 있어 간격을 줄여 봄 */
+        PROBE,
+        /** 현재 간격 유지 */
+        HOLD,
+        /** 손실/지연/끊김으로 간격을 늘림 */
+        NETWORK_CONGESTED,
+        /** 서버 적재 대기열이 차서 간격을 늘림 */
+        SERVER_BUSY
+    }
+}
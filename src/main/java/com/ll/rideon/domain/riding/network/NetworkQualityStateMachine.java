@@ -0,0 +1,105 @@
+package com.ll.rideon.domain.riding.network;
+
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+
+import java.util.Optional;
+
+/**
+ * 세션별 네트워크 품질 상태 기계.
+ * 품질 경계 근처에서 샘플마다 FAIR/GOOD 을 오가지 않도록
+ * - 한 단계 올라가려면 경계보다 여유값만큼 더 좋아야 하고, 내려가려면 여유값만큼 더 나빠야 하며(히스테리시스)
+ * - 한 품질에 최소 유지 시간만큼 머문 뒤에만 다른 품질로 바뀐다.
+ * 연결이 끊긴 경우는 기다리지 않고 바로 POOR 로 바꾼다.
+ */
+public class NetworkQualityStateMachine {
+
+    /** 품질이 바뀐 뒤 다음 변경까지 최소 유지 시간 */
+    static final long MIN_DWELL_NANOS = 15_000_000_000L;
+    /** 신호 강도 경계 여유값 (%p) */
+    private static final double SIGNAL_MARGIN = 5.0;
+    /** 패킷 손실 경계 여유값 (%p) */
+    private static final double LOSS_MARGIN = 1.0;
+
+    private NetworkQuality current;
+    private long enteredAtNanos;
+
+    public NetworkQualityStateMachine(NetworkQuality initial) {
+        this.current = initial != null ? initial : NetworkQuality.UNKNOWN;
+        this.enteredAtNanos = Long.MIN_VALUE;
+    }
+
+    public synchronized NetworkQuality current() {
+        return current;
+    }
+
+    /**
+     * 새 샘플 요약을 반영한다. 품질이 실제로 바뀐 경우에만 바뀐 품질을 반환한다.
+     */
+    public synchronized Optional<NetworkQuality> evaluate(NetworkStats stats, long nowNanos) {
+        if (stats.isEmpty()) {
+            return Optional.empty();
+        }
+
+        NetworkQuality next;
+        if (!stats.isConnected()) {
+            next = NetworkQuality.POOR;
+        } else if (current == NetworkQuality.UNKNOWN) {
+            next = assess(stats, 0);
+        } else {
+            NetworkQuality raw = assess(stats, 0);
+            if (raw == current) {
+                return Optional.empty();
+            }
+            if (enteredAtNanos != Long.MIN_VALUE && nowNanos - enteredAtNanos < MIN_DWELL_NANOS) {
+                return Optional.empty();
+            }
+            // 올라갈 때는 경계를 높여서, 내려갈 때는 경계를 낮춰서 다시 평가
+            next = assess(stats, raw.ordinal() > current.ordinal() ? 1 : -1);
+        }
+
+        if (next == current) {
+            return Optional.empty();
+        }
+        current = next;
+        enteredAtNanos = nowNanos;
+        return Optional.of(next);
+    }
+
+    /**
+     * 요약값으로 품질을 평가한다.
+     *
+     * @param bias 1 이면 경계를 여유값만큼 엄격하게(좋은 품질로 판정하기 어렵게), -1 이면 느슨하게 적용한다
+     */
+    static NetworkQuality assess(NetworkStats stats, int bias) {
+        // 연결이 끊어진 경우
+        if (!stats.isConnected()) {
+            return NetworkQuality.POOR;
+        }
+
+        // 신호 강도 기반 평가
+        if (stats.getSignalEwma() != null) {
+            double signal = stats.getSignalEwma() - bias * SIGNAL_MARGIN;
+            if (signal < 20) {
+                return NetworkQuality.POOR;
+            } else if (signal < 50) {
+                return NetworkQuality.FAIR;
+            } else if (signal < 80) {
+                return NetworkQuality.GOOD;
+            } else {
+                return NetworkQuality.EXCELLENT;
+            }
+        }
+
+        // 패킷 손실 기반 평가
+        if (stats.getPacketLossEwma() != null) {
+            double loss = stats.getPacketLossEwma() + bias * LOSS_MARGIN;
+            if (loss > 10.0) {
+                return NetworkQuality.POOR;
+            } else if (loss > 5.0) {
+                return NetworkQuality.FAIR;
+            }
+        }
+
+        return NetworkQuality.GOOD;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ll.rideon.domain.riding.network;
+
+/**
+ * 세션별 최근 네트워크 상태 샘플을 담는 고정 크기 링 버퍼.
+ * 샘플은 primitive 배열에 담고, 지수 이동 평균(EWMA)과 구간별 히스토그램을 샘플이 들어오고 밀려날 때마다 갱신하므로
+ * 샘플 추가는 O(1), 요약(백분위수 포함)은 버킷 수만큼의 상수 시간이다.
+ */
+public class NetworkSampleWindow {
+
+    public static final int DEFAULT_CAPACITY = 60;
+    private static final double EWMA_ALPHA = 0.3;
+
+    /** 지연 시간 히스토그램 버킷 상한(ms). 마지막 버킷은 그 이상 전부 */
+    private static final int[] LATENCY_BOUNDS = {
+            10, 20, 30, 50, 75, 100, 150, 200, 300, 500, 750, 1000, 1500, 2000, 3000, 5000, 10000, Integer.MAX_VALUE
+    };
+    /** 마지막 버킷에 든 백분위수는 마지막 유한 상한으로 보고한다 */
+    private static final int MAX_REPORTED_LATENCY_MS = LATENCY_BOUNDS[LATENCY_BOUNDS.length - 2];
+    private static final int MISSING = -1;
+
+    private final int capacity;
+    private final byte[] signals;
+    private final int[] latencies;
+    private final byte[] losses;
+    private final boolean[] connected;
+
+    private final int[] signalHistogram = new int[101];
+    private final int[] latencyHistogram = new int[LATENCY_BOUNDS.length];
+    private final int[] lossHistogram = new int[101];
+
+    private int head;
+    private int size;
+    private int signalSamples;
+    private int latencySamples;
+    private int lossSamples;
+    private int disconnectedSamples;
+    private long totalSamples;
+
+    private double signalEwma = Double.NaN;
+    private double latencyEwma = Double.NaN;
+    private double lossEwma = Double.NaN;
+    private boolean lastConnected = true;
+
+    public NetworkSampleWindow() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public NetworkSampleWindow(int capacity) {
+        this.capacity = capacity;
+        this.signals = new byte[capacity];
+        this.latencies = new int[capacity];
+        this.losses = new byte[capacity];
+        this.connected = new boolean[capacity];
+    }
+
+    /**
+     * 샘플을 추가한다. 버퍼가 가득 차 있으면 가장 오래된 샘플을 밀어낸다.
+     *
+     * @param signalStrength 신호 강도(0~100), 없으면 null
+     * @param latencyMs      지연 시간(ms), 없으면 null
+     * @param packetLoss     패킷 손실률(%), 없으면 null
+     */
+    public synchronized void add(Integer signalStrength, Integer latencyMs, Float packetLoss, boolean isConnected) {
+        if (size == capacity) {
+            evict(head);
+        } else {
+            size++;
+        }
+
+        int signal = signalStrength != null ? clamp(signalStrength, 0, 100) : MISSING;
+        int latency = latencyMs != null ? Math.max(0, latencyMs) : MISSING;
+        int loss = packetLoss != null ? clamp(Math.round(packetLoss), 0, 100) : MISSING;
+
+        signals[head] = (byte) signal;
+        latencies[head] = latency;
+        losses[head] = (byte) loss;
+        connected[head] = isConnected;
+        head = (head + 1) % capacity;
+
+        if (signal != MISSING) {
+            signalHistogram[signal]++;
+            signalSamples++;
+            signalEwma = ewma(signalEwma, signal);
+        }
+        if (latency != MISSING) {
+            latencyHistogram[latencyBucket(latency)]++;
+            latencySamples++;
+            latencyEwma = ewma(latencyEwma, latency);
+        }
+        if (loss != MISSING) {
+            lossHistogram[loss]++;
+            lossSamples++;
+            lossEwma = ewma(lossEwma, loss);
+        }
+        if (!isConnected) {
+            disconnectedSamples++;
+        }
+        lastConnected = isConnected;
+        totalSamples++;
+    }
+
+    private void evict(int index) {
+        int signal = signals[index];
+        if (signal != MISSING) {
+            signalHistogram[signal]--;
+            signalSamples--;
+        }
+        int latency = latencies[index];
+        if (latency != MISSING) {
+            latencyHistogram[latencyBucket(latency)]--;
+            latencySamples--;
+        }
+        int loss = losses[index];
+        if (loss != MISSING) {
+            lossHistogram[loss]--;
+            lossSamples--;
+        }
+        if (!connected[index]) {
+            disconnectedSamples--;
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 현재 버퍼의 요약. 신호 강도는 약한 쪽(하위 10%), 지연/손실은 나쁜 쪽(상위 95%) 백분위수를 함께 담는다.
+     */
+    public synchronized NetworkStats snapshot() {
+        return NetworkStats.builder()
+                .sampleCount(size)
+                .totalSamples(totalSamples)
+                .connected(lastConnected)
+                .disconnectedRatio(size > 0 ? (double) disconnectedSamples / size : 0)
+                .signalEwma(signalSamples > 0 ? signalEwma : null)
+                .signalP10(signalSamples > 0 ? percentile(signalHistogram, signalSamples, 0.10) : null)
+                .latencyEwma(latencySamples > 0 ? latencyEwma : null)
+                .latencyP50(latencySamples > 0 ? latencyPercentile(0.50) : null)
+                .latencyP95(latencySamples > 0 ? latencyPercentile(0.95) : null)
+                .packetLossEwma(lossSamples > 0 ? lossEwma : null)
+                .packetLossP95(lossSamples > 0 ? percentile(lossHistogram, lossSamples, 0.95) : null)
+                .build();
+    }
+
+    /**
+     * 히스토그램에서 p 백분위수에 해당하는 버킷 번호
+     */
+    private static int percentile(int[] histogram, int samples, double p) {
+        int rank = Math.max(1, (int) Math.ceil(p * samples));
+        int cumulative = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            cumulative += histogram[bucket];
+            if (cumulative >= rank) {
+                return bucket;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    private int latencyPercentile(double p) {
+        return Math.min(LATENCY_BOUNDS[percentile(latencyHistogram, latencySamples, p)], MAX_REPORTED_LATENCY_MS);
+    }
+
+    private static int latencyBucket(int latencyMs) {
+        for (int bucket = 0; bucket < LATENCY_BOUNDS.length; bucket++) {
+            if (latencyMs <= LATENCY_BOUNDS[bucket]) {
+                return bucket;
+            }
+        }
+        return LATENCY_BOUNDS.length - 1;
+    }
+
+    private static double ewma(double current, double sample) {
+        return Double.isNaN(current) ? sample : current + EWMA_ALPHA * (sample - current);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ll.rideon.domain.riding.network;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * NetworkSampleWindow 의 특정 시점 요약. 값이 한 번도 보고되지 않은 항목은 null 이다.
+ */
+@Getter
+@Builder
+public class NetworkStats {
+
+    /** 버퍼에 들어 있는 샘플 수 */
+    private final int sampleCount;
+    /** 세션 시작(또는 서버 재시작) 후 받은 전체 샘플 수 */
+    private final long totalSamples;
+    /** 가장 최근 샘플의 연결 여부 */
+    private final boolean connected;
+    /** 버퍼 안에서 연결이 끊겨 있던 샘플 비율 (0~1) */
+    private final double disconnectedRatio;
+
+    private final Double signalEwma;
+    private final Integer signalP10;
+    private final Double latencyEwma;
+    /** 지연 시간 백분위수 (히스토그램 버킷 상한, ms, 10000 이상은 10000) */
+    private final Integer latencyP50;
+    private final Integer latencyP95;
+    private final Double packetLossEwma;
+    private final Integer packetLossP95;
+
+    public boolean isEmpty() {
+        return sampleCount == 0;
+    }
+}
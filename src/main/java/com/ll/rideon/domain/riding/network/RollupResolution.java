@@ -0,0 +1,62 @@
+package com.ll.rideon.domain.riding.network;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 네트워크 상태 요약 구간 크기
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RollupResolution {
+    ONE_MINUTE("1m", 60),
+    TEN_MINUTES("10m", 600);
+
+    private final String code;
+    private final int seconds;
+
+    /**
+     * 쿼리 파라미터 값(1m, 10m)을 변환한다.
+     */
+    public static RollupResolution from(String value) {
+        for (RollupResolution resolution : values()) {
+            if (resolution.code.equalsIgnoreCase(value.trim())) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 요약 구간입니다: " + value + " (1m, 10m)");
+    }
+
+    /**
+     * 조회 기간이 길면 10분, 아니면 1분 구간을 쓴다.
+     */
+    public static RollupResolution forRange(LocalDateTime startTime, LocalDateTime endTime) {
+        return Duration.between(startTime, endTime).toHours() >= 6 ? TEN_MINUTES : ONE_MINUTE;
+    }
+
+    /**
+     * 시각이 속한 구간의 시작 시각
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        long offset = ChronoUnit.SECONDS.between(hour, time);
+        return hour.plusSeconds(offset - offset % seconds);
+    }
+
+    /**
+     * 가장 큰 구간. 요약을 다시 계산할 시작 시각을 이 구간에 맞춰야 모든 구간을 통째로 다시 계산한다.
+     */
+    public static RollupResolution coarsest() {
+        RollupResolution coarsest = values()[0];
+        for (RollupResolution resolution : values()) {
+            if (resolution.seconds > coarsest.seconds) {
+                coarsest = resolution;
+            }
+        }
+        return coarsest;
+    }
+}
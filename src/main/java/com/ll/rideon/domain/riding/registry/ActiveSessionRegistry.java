@@ -0,0 +1,265 @@
+package com.ll.rideon.domain.riding.registry;
+
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import com.ll.rideon.domain.riding.entity.RidingStatus;
+import com.ll.rideon.domain.riding.repository.RidingSessionRepository;
+import com.ll.rideon.domain.riding.stats.RideStatsAccumulator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 진행 중인 라이딩 세션을 메모리에 들고 있는 레지스트리.
+ * 위치 업데이트마다 ride_session 을 조회/갱신하지 않도록 소유자·상태 검증과 마지막 위치 기록을 여기서 처리하고,
+ * 변경된 세션 행은 주기적으로 모아서 한 번의 배치 UPDATE 로 저장한다.
+ * 종료되지 않고 버려진 세션은 idle-evict-ms 동안 쓰이지 않으면 변경분을 저장한 뒤 메모리에서 내린다. (다음 요청 시 DB 에서 다시 올린다)
+ */
+@Slf4j
+@Component
+public class ActiveSessionRegistry {
+
+    private static final String UPDATE_SESSION_SQL = """
+            UPDATE ride_session
+            SET last_location_lat = ?,
+                last_location_lng = ?,
+                last_location_time = ?,
+                network_quality = CAST(? AS network_quality),
+                connection_lost_count = ?
+            WHERE id = ?
+            """;
+
+    private final RidingSessionRepository ridingSessionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long idleEvictNanos;
+
+    private final Map<Long, ActiveSessionState> sessions = new ConcurrentHashMap<>();
+
+    public ActiveSessionRegistry(RidingSessionRepository ridingSessionRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${riding.session-registry.idle-evict-ms:1800000}") long idleEvictMs) {
+        this.ridingSessionRepository = ridingSessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.idleEvictNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictMs);
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("rideon.riding.sessions.active", sessions, Map::size)
+                .description("메모리에 올라와 있는 진행 중인 라이딩 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서버 재시작 시 진행 중이던 세션을 다시 올린다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<RidingSession> activeSessions = new ArrayList<>(ridingSessionRepository.findByStatus(RidingStatus.ACTIVE));
+        activeSessions.addAll(ridingSessionRepository.findByStatus(RidingStatus.PAUSED));
+        activeSessions.forEach(session -> sessions.put(session.getId(), new ActiveSessionState(session, null)));
+        log.info("활성 라이딩 세션 레지스트리 초기화: count={}", activeSessions.size());
+    }
+
+    /**
+     * 새로 시작한 세션을 등록한다.
+     *
+     * @param weightKg 칼로리 계산에 쓸 회원 체중, 없으면 기본값을 쓴다
+     */
+    public ActiveSessionState register(RidingSession session, Double weightKg) {
+        ActiveSessionState state = new ActiveSessionState(session, new RideStatsAccumulator(weightKg));
+        sessions.put(session.getId(), state);
+        return state;
+    }
+
+    /**
+     * 진행 중인 세션 상태를 반환한다. 메모리에 없으면 DB 에서 한 번 읽어 올린다.
+     */
+    public ActiveSessionState require(Long sessionId) {
+        ActiveSessionState state = sessions.get(sessionId);
+        if (state != null) {
+            if (state.isEnding()) {
+                throw new IllegalStateException("진행 중인 라이딩 세션이 아닙니다.");
+            }
+            state.touch();
+            return state;
+        }
+
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+        if (session.getStatus() != RidingStatus.ACTIVE && session.getStatus() != RidingStatus.PAUSED) {
+            throw new IllegalStateException("진행 중인 라이딩 세션이 아닙니다.");
+        }
+
+        ActiveSessionState loaded = new ActiveSessionState(session, null);
+        ActiveSessionState existing = sessions.putIfAbsent(sessionId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * 진행 중인 세션 상태를 반환한다. 메모리에 없거나 종료 처리 중이면 비어 있다.
+     */
+    public Optional<ActiveSessionState> find(Long sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId)).filter(state -> !state.isEnding());
+    }
+
+    /**
+     * 세션을 종료 처리 중으로 표시하고 상태를 반환한다. 반환된 상태는 호출 측에서 엔티티에 반영한다.
+     * 종료 트랜잭션이 커밋되기 전에 레지스트리에서 빼면 다른 요청이 아직 ACTIVE 인 행을 다시 올릴 수 있으므로,
+     * 커밋될 때까지는 종료 중 표시로 남겨 require 가 거절하게 하고 커밋 후에 제거한다. 롤백되면 이전 상태로 되돌린다.
+     */
+    public ActiveSessionState beginEnd(RidingSession session) {
+        Long sessionId = session.getId();
+        ActiveSessionState state = sessions.computeIfAbsent(sessionId, id -> new ActiveSessionState(session, null));
+        RidingStatus previous = state.markEnding();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessions.remove(sessionId, state);
+            return state;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    sessions.remove(sessionId, state);
+                } else {
+                    state.restoreStatus(RidingStatus.COMPLETED, previous);
+                }
+            }
+        });
+        return state;
+    }
+
+    /**
+     * 세션을 일시정지 상태로 바꾼다. 트랜잭션이 롤백되면 진행 중으로 되돌린다.
+     */
+    public ActiveSessionState pause(Long sessionId) {
+        ActiveSessionState state = require(sessionId);
+        state.pause();
+        restoreOnRollback(state, RidingStatus.PAUSED, RidingStatus.ACTIVE);
+        return state;
+    }
+
+    /**
+     * 일시정지된 세션을 진행 중으로 바꾼다. 트랜잭션이 롤백되면 일시정지로 되돌린다.
+     */
+    public ActiveSessionState resume(Long sessionId) {
+        ActiveSessionState state = require(sessionId);
+        state.resume();
+        restoreOnRollback(state, RidingStatus.ACTIVE, RidingStatus.PAUSED);
+        return state;
+    }
+
+    private void restoreOnRollback(ActiveSessionState state, RidingStatus changed, RidingStatus previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    state.restoreStatus(changed, previous);
+                }
+            }
+        });
+    }
+
+    /**
+     * 마지막 위치/네트워크 품질이 바뀐 세션 행을 배치 UPDATE 로 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${riding.session-registry.flush-interval-ms:5000}")
+    public void flushDirtySessions() {
+        List<ActiveSessionState> flushed = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (ActiveSessionState state : sessions.values()) {
+            collectDirtyRow(state, flushed, rows);
+        }
+
+        if (!writeRows(rows)) {
+            // 다음 주기에 다시 저장되도록 변경 표시를 되돌린다
+            flushed.forEach(ActiveSessionState::markDirty);
+        }
+    }
+
+    /**
+     * idle-evict-ms 동안 쓰이지 않은 세션(종료 요청 없이 버려진 세션 등)을 변경분을 저장한 뒤 메모리에서 내린다.
+     * 내린 세션에 요청이 다시 오면 require 가 DB 에서 다시 올리고, 누적 통계는 종료 시 저장된 포인트로 다시 계산한다.
+     */
+    @Scheduled(fixedDelayString = "${riding.session-registry.evict-interval-ms:60000}")
+    public void evictIdleSessions() {
+        long now = System.nanoTime();
+        List<ActiveSessionState> evicted = new ArrayList<>();
+        List<ActiveSessionState> flushed = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, ActiveSessionState> entry : sessions.entrySet()) {
+            ActiveSessionState state = entry.getValue();
+            if (state.isEnding() || now - state.getLastAccessNanos() < idleEvictNanos) {
+                continue;
+            }
+            if (sessions.remove(entry.getKey(), state)) {
+                evicted.add(state);
+                collectDirtyRow(state, flushed, rows);
+            }
+        }
+
+        if (!writeRows(rows)) {
+            // 저장하지 못한 세션은 다시 올려 두고 다음 주기에 저장한다
+            flushed.forEach(state -> {
+                state.markDirty();
+                sessions.putIfAbsent(state.getSessionId(), state);
+            });
+        }
+        if (!evicted.isEmpty()) {
+            log.info("오래 쓰이지 않은 라이딩 세션 메모리에서 제거: count={}", evicted.size());
+        }
+    }
+
+    private static void collectDirtyRow(ActiveSessionState state, List<ActiveSessionState> flushed, List<Object[]> rows) {
+        Object[] row = state.takeDirtyRow();
+        if (row != null) {
+            row[2] = row[2] != null ? Timestamp.valueOf((LocalDateTime) row[2]) : null;
+            rows.add(row);
+            flushed.add(state);
+        }
+    }
+
+    private boolean writeRows(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return true;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SESSION_SQL, rows);
+            log.debug("라이딩 세션 상태 저장: count={}", rows.size());
+            return true;
+        } catch (Exception e) {
+            log.error("라이딩 세션 상태 저장 실패 - {}건: {}", rows.size(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushDirtySessions();
+    }
+}
@@ -0,0 +1,215 @@
+package com.ll.rideon.domain.riding.registry;
+
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import com.ll.rideon.domain.riding.entity.RidingStatus;
+import com.ll.rideon.domain.riding.filter.LocationFilterContext;
+import com.ll.rideon.domain.riding.network.AdaptiveUploadRate;
+import com.ll.rideon.domain.riding.network.NetworkQualityStateMachine;
+import com.ll.rideon.domain.riding.network.NetworkSampleWindow;
+import com.ll.rideon.domain.riding.stats.RideStatsAccumulator;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 진행 중인 라이딩 세션의 경량 상태.
+ * 위치/네트워크 업데이트는 DB 대신 이 객체를 갱신하고, 변경분은 ActiveSessionRegistry 가 주기적으로 모아서 저장한다.
+ */
+@Getter
+public class ActiveSessionState {
+
+    private final Long sessionId;
+    private final Long memberId;
+    private final LocalDateTime startedAt;
+
+    /**
+     * 세션 시작부터 누적한 주행 통계. 서버 재시작 후 다시 올라온 세션은 앞부분이 빠져 있으므로 null 이다.
+     */
+    private final RideStatsAccumulator stats;
+
+    private final LocationFilterContext filterContext = new LocationFilterContext();
+
+    /**
+     * 최근 네트워크 상태 샘플. 품질 판단과 권장사항은 network_status 를 다시 읽지 않고 이 버퍼로 계산한다.
+     */
+    private final NetworkSampleWindow networkWindow = new NetworkSampleWindow();
+
+    /**
+     * 샘플 요약으로 품질 변경 여부를 정하는 상태 기계. 실제로 바뀔 때만 networkQuality 를 갱신한다.
+     */
+    private final NetworkQualityStateMachine qualityStateMachine;
+
+    /**
+     * 회선 상태와 서버 부하로 조정하는 권장 업로드 간격/배치 크기
+     */
+    private final AdaptiveUploadRate uploadRate = new AdaptiveUploadRate();
+
+    private RidingStatus status;
+    private Double lastLocationLat;
+    private Double lastLocationLng;
+    private LocalDateTime lastLocationTime;
+    private NetworkQuality networkQuality;
+    private int connectionLostCount;
+    private long locationCount;
+
+    private boolean dirty;
+    /** 마지막으로 레지스트리에서 꺼내 쓴 시각. 오래 쓰이지 않은 세션을 메모리에서 내릴 때 본다 */
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    ActiveSessionState(RidingSession session, RideStatsAccumulator stats) {
+        this.sessionId = session.getId();
+        this.memberId = session.getMemberId();
+        this.startedAt = session.getStartedAt();
+        this.stats = stats;
+        this.status = session.getStatus();
+        this.lastLocationLat = session.getLastLocationLat();
+        this.lastLocationLng = session.getLastLocationLng();
+        this.lastLocationTime = session.getLastLocationTime();
+        this.networkQuality = session.getNetworkQuality();
+        this.qualityStateMachine = new NetworkQualityStateMachine(session.getNetworkQuality());
+        this.connectionLostCount = session.getConnectionLostCount() != null ? session.getConnectionLostCount() : 0;
+    }
+
+    public void validateOwner(Long userId) {
+        if (!memberId.equals(userId)) {
+            throw new IllegalStateException("본인의 라이딩 세션만 업데이트할 수 있습니다.");
+        }
+    }
+
+    public synchronized void validateTrackable(Long userId) {
+        validateOwner(userId);
+        if (status != RidingStatus.ACTIVE) {
+            throw new IllegalStateException("진행 중인 라이딩 세션이 아닙니다.");
+        }
+    }
+
+    public void recordLocation(RidingLocation location) {
+        recordLocations(List.of(location));
+    }
+
+    /**
+     * 위치 포인트를 기록 시각 순으로 통계에 누적하고, 가장 최근 포인트로 마지막 위치를 갱신한다.
+     */
+    public synchronized void recordLocations(List<RidingLocation> locations) {
+        List<RidingLocation> ordered = locations.stream()
+                .sorted(Comparator.comparing(RidingLocation::getRecordedAt))
+                .toList();
+
+        for (RidingLocation location : ordered) {
+            if (stats != null) {
+                stats.add(location.getLatitude(), location.getLongitude(), location.getSpeedKmh(), location.getRecordedAt());
+            }
+        }
+        this.locationCount += ordered.size();
+
+        RidingLocation latest = ordered.get(ordered.size() - 1);
+        // 오프라인 동기화로 늦게 도착한 과거 포인트가 마지막 위치를 덮어쓰지 않도록 한다
+        if (lastLocationTime == null || !latest.getRecordedAt().isBefore(lastLocationTime)) {
+            this.lastLocationLat = latest.getLatitude();
+            this.lastLocationLng = latest.getLongitude();
+            this.lastLocationTime = latest.getRecordedAt();
+            // 네트워크 상태 샘플이 들어오기 시작하면 품질은 상태 기계가 정한다
+            if (latest.getNetworkQuality() != null && networkWindow.isEmpty()) {
+                this.networkQuality = latest.getNetworkQuality();
+            }
+            this.dirty = true;
+        }
+    }
+
+    public synchronized void updateNetworkQuality(NetworkQuality quality) {
+        if (this.networkQuality != quality) {
+            this.networkQuality = quality;
+            this.dirty = true;
+        }
+    }
+
+    public synchronized void incrementConnectionLostCount() {
+        this.connectionLostCount++;
+        this.dirty = true;
+    }
+
+    public synchronized void pause() {
+        if (status != RidingStatus.ACTIVE) {
+            throw new IllegalStateException("진행 중인 라이딩 세션만 일시정지할 수 있습니다.");
+        }
+        this.status = RidingStatus.PAUSED;
+    }
+
+    public synchronized void resume() {
+        if (status != RidingStatus.PAUSED) {
+            throw new IllegalStateException("일시정지된 라이딩 세션만 재개할 수 있습니다.");
+        }
+        this.status = RidingStatus.ACTIVE;
+    }
+
+    /**
+     * 종료 처리 중으로 표시한다. 이후의 위치 업데이트와 일시정지/재개는 거절된다.
+     *
+     * @return 종료 처리가 롤백되면 되돌릴 이전 상태
+     */
+    synchronized RidingStatus markEnding() {
+        if (status != RidingStatus.ACTIVE && status != RidingStatus.PAUSED) {
+            throw new IllegalStateException("진행 중인 라이딩 세션이 아닙니다.");
+        }
+        RidingStatus previous = status;
+        this.status = RidingStatus.COMPLETED;
+        return previous;
+    }
+
+    synchronized boolean isEnding() {
+        return status == RidingStatus.COMPLETED;
+    }
+
+    /**
+     * 상태를 바꾼 트랜잭션이 롤백되면 이전 상태로 되돌린다. 그 사이 다른 요청이 상태를 바꿨으면 그대로 둔다.
+     */
+    synchronized void restoreStatus(RidingStatus changed, RidingStatus previous) {
+        if (this.status == changed) {
+            this.status = previous;
+        }
+    }
+
+    /**
+     * 세션 엔티티에 최신 상태를 반영한다. (세션 종료 시)
+     */
+    public synchronized void applyTo(RidingSession session) {
+        if (lastLocationTime != null) {
+            session.updateLocation(lastLocationLat, lastLocationLng, lastLocationTime);
+        }
+        if (networkQuality != null) {
+            session.updateNetworkQuality(networkQuality);
+        }
+        session.updateConnectionLostCount(connectionLostCount);
+        this.dirty = false;
+    }
+
+    /**
+     * 저장할 변경분이 있으면 현재 값을 담은 배열을 반환하고 dirty 플래그를 내린다.
+     */
+    synchronized Object[] takeDirtyRow() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return new Object[]{
+                lastLocationLat,
+                lastLocationLng,
+                lastLocationTime,
+                networkQuality != null ? networkQuality.name() : null,
+                connectionLostCount,
+                sessionId
+        };
+    }
+
+    synchronized void markDirty() {
+        this.dirty = true;
+    }
+
+    void touch() {
+        this.lastAccessNanos = System.nanoTime();
+    }
+}
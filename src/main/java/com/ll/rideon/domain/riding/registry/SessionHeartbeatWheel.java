@@ -0,0 +1,225 @@
+package com.ll.rideon.domain.riding.registry;
+
+import com.ll.rideon.domain.riding.network.AdaptiveUploadRate;
+import com.ll.rideon.domain.riding.service.NetworkMonitoringService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 진행 중인 세션의 마지막 수신 시각을 보고, 일정 시간 아무 요청도 없으면 연결 끊김으로 처리하는 해시 타이밍 휠.
+ * 세션마다 타이머를 따로 만들지 않고 고정 개수의 슬롯을 한 스레드가 틱마다 한 칸씩 돈다.
+ * 하트비트는 마지막 수신 시각만 바꾸고(O(1)), 슬롯이 돌아왔을 때 아직 기한이 남았으면 새 기한의 슬롯으로 옮긴다.
+ */
+@Slf4j
+@Component
+public class SessionHeartbeatWheel {
+
+    private final NetworkMonitoringService networkMonitoringService;
+    private final LongSupplier nanoClock;
+    private final long timeoutNanos;
+    private final long tickNanos;
+    private final int wheelSize;
+
+    private final Queue<Entry>[] slots;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-heartbeat-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long startNanos;
+    /** 다음에 처리할 틱 번호 (틱 스레드만 쓰고, schedule 은 요청 스레드에서도 읽는다) */
+    private volatile long currentTick;
+    private final Counter timeoutCounter;
+
+    @Autowired
+    public SessionHeartbeatWheel(NetworkMonitoringService networkMonitoringService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${riding.heartbeat.timeout-ms:90000}") long timeoutMs,
+                                 @Value("${riding.heartbeat.tick-ms:1000}") long tickMs,
+                                 @Value("${riding.heartbeat.wheel-size:512}") int wheelSize) {
+        this(networkMonitoringService, meterRegistry, timeoutMs, tickMs, wheelSize, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    SessionHeartbeatWheel(NetworkMonitoringService networkMonitoringService,
+                          MeterRegistry meterRegistry,
+                          long timeoutMs,
+                          long tickMs,
+                          int wheelSize,
+                          LongSupplier nanoClock) {
+        // 권장 업로드 간격이 최대로 늘어난 세션이 정상적으로 보내는 중에 끊김으로 처리되지 않도록 한다
+        if (timeoutMs <= AdaptiveUploadRate.MAX_INTERVAL_MS) {
+            throw new IllegalArgumentException("riding.heartbeat.timeout-ms 는 최대 업로드 간격("
+                    + AdaptiveUploadRate.MAX_INTERVAL_MS + "ms)보다 길어야 합니다.");
+        }
+        this.networkMonitoringService = networkMonitoringService;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheelSize = wheelSize;
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        Gauge.builder("rideon.riding.heartbeat.sessions", entries, Map::size)
+                .description("연결 끊김을 감시 중인 세션 수")
+                .register(meterRegistry);
+        timeoutCounter = Counter.builder("rideon.riding.heartbeat.timeouts")
+                .description("일정 시간 요청이 없어 연결 끊김으로 처리한 횟수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long tickMs = TimeUnit.NANOSECONDS.toMillis(tickNanos);
+        ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 세션에서 요청(위치/네트워크 상태)이 왔음을 기록한다. 처음 보는 세션이면 감시를 시작한다.
+     */
+    public void touch(Long sessionId) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            Entry entry = entries.get(sessionId);
+            if (entry == null) {
+                entry = entries.computeIfAbsent(sessionId, Entry::new);
+            }
+            entry.lastContactNanos = now;
+            if (entry.scheduled.compareAndSet(false, true)) {
+                schedule(entry, now + timeoutNanos);
+            }
+            if (!entry.cancelled) {
+                return;
+            }
+            // 끊김 처리나 cancel 로 목록에서 빠진 항목을 잡았으면 새 항목으로 다시 시작한다
+            entries.remove(sessionId, entry);
+        }
+    }
+
+    /**
+     * 세션 감시를 멈춘다. (종료, 일시정지)
+     */
+    public void cancel(Long sessionId) {
+        Entry entry = entries.remove(sessionId);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    private void schedule(Entry entry, long deadlineNanos) {
+        long tick = currentTick;
+        long deadlineTick = Math.max(tick, (deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+        entry.remainingRounds = (deadlineTick - tick) / wheelSize;
+        slots[(int) (deadlineTick % wheelSize)].add(entry);
+    }
+
+    /**
+     * 지나간 틱을 모두 처리한다. 틱 스레드가 밀려도 건너뛴 슬롯 없이 따라잡는다.
+     */
+    void advance() {
+        try {
+            long targetTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+            while (currentTick <= targetTick) {
+                expire(slots[(int) (currentTick % wheelSize)]);
+                currentTick++;
+            }
+        } catch (Exception e) {
+            log.error("세션 하트비트 휠 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expire(Queue<Entry> slot) {
+        int size = slot.size();
+        for (int i = 0; i < size; i++) {
+            Entry entry = slot.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.remainingRounds > 0) {
+                entry.remainingRounds--;
+                slot.add(entry);
+                continue;
+            }
+
+            long deadline = entry.lastContactNanos + timeoutNanos;
+            long now = nanoClock.getAsLong();
+            if (deadline > now) {
+                // 그 사이 하트비트가 왔으면 새 기한의 슬롯으로 옮긴다
+                schedule(entry, deadline);
+                continue;
+            }
+
+            // 끊김 처리한 세션은 감시 목록에서 뺀다. 다음 하트비트가 새 항목으로 다시 감시를 시작한다
+            entry.cancelled = true;
+            entries.remove(entry.sessionId, entry);
+            // 빼는 사이에 온 하트비트는 끊김이 아니다. 그 touch 는 cancelled 를 보고 새 항목을 넣는다
+            // (lastContactNanos 와 cancelled 가 모두 volatile 이라 둘 중 한쪽은 반드시 상대의 쓰기를 본다)
+            if (entry.lastContactNanos + timeoutNanos > now) {
+                continue;
+            }
+            onTimeout(entry.sessionId);
+        }
+    }
+
+    private void onTimeout(Long sessionId) {
+        try {
+            if (!networkMonitoringService.recordConnectionTimeout(sessionId)) {
+                // 이미 종료되어 레지스트리에서 빠진 세션
+                return;
+            }
+            timeoutCounter.increment();
+            log.warn("라이딩 세션 {} {}ms 동안 요청 없음 - 연결 끊김으로 처리", sessionId, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+        } catch (Exception e) {
+            log.error("라이딩 세션 {} 연결 끊김 처리 실패: {}", sessionId, e.getMessage(), e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long sessionId;
+        private volatile long lastContactNanos;
+        private volatile boolean cancelled;
+        /**
+         * 휠 한 바퀴보다 먼 기한이면 남은 바퀴 수.
+         * 슬롯에 넣는 스레드(touch 의 요청 스레드 또는 틱 스레드)가 넣기 직전에 쓰고, 그 뒤로는 틱 스레드만 읽고 쓴다.
+         * scheduled 로 처음 한 번만 넣으며, 슬롯 큐의 add/poll 이 쓰기를 틱 스레드에 보이게 한다
+         */
+        private long remainingRounds;
+        /** 휠 슬롯에 넣었는지 여부. 끊김 처리 후에는 항목이 목록에서 빠지고 다음 하트비트가 새 항목을 넣는다 */
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private Entry(Long sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ll.rideon.domain.riding.repository;
 
 import com.ll.rideon.domain.riding.entity.NetworkStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,14 +19,21 @@ public interface NetworkStatusRepository extends JpaRepository<NetworkStatus, Lo
     @Query("SELECT ns FROM NetworkStatus ns WHERE ns.rideSessionId = :sessionId AND ns.isConnected = false ORDER BY ns.recordedAt DESC")
     List<NetworkStatus> findDisconnectionEventsBySessionId(@Param("sessionId") Long sessionId);
 
-    @Query("SELECT ns FROM NetworkStatus ns WHERE ns.rideSessionId = :sessionId AND ns.recordedAt BETWEEN :startTime AND :endTime ORDER BY ns.recordedAt ASC")
-    List<NetworkStatus> findBySessionIdAndTimeRange(@Param("sessionId") Long sessionId, 
-                                                   @Param("startTime") LocalDateTime startTime, 
-                                                   @Param("endTime") LocalDateTime endTime);
-
-    @Query("SELECT AVG(ns.signalStrength) FROM NetworkStatus ns WHERE ns.rideSessionId = :sessionId")
-    Double getAverageSignalStrengthBySessionId(@Param("sessionId") Long sessionId);
-
-    @Query("SELECT COUNT(ns) FROM NetworkStatus ns WHERE ns.rideSessionId = :sessionId AND ns.isConnected = false")
-    Long countDisconnectionEventsBySessionId(@Param("sessionId") Long sessionId);
-} 
\ No newline at end of file
+    // 시간 범위 조회와 세션 평균/끊김 횟수는 구간 요약(NetworkStatusRollupRepository)을 읽는다
+
+    /**
+     * 라이딩이 끝난 지 보관 기간이 지났는데 원본 샘플이 남아 있는 세션 (afterSessionId 다음부터 세션 ID 순)
+     */
+    @Query(value = "SELECT DISTINCT ns.ride_session_id FROM network_status ns " +
+                   "JOIN ride_session rs ON rs.id = ns.ride_session_id " +
+                   "WHERE rs.status IN ('COMPLETED', 'CANCELLED') AND rs.ended_at < :endedBefore " +
+                   "AND ns.ride_session_id > :afterSessionId " +
+                   "ORDER BY ns.ride_session_id LIMIT :limit", nativeQuery = true)
+    List<Long> findPurgeableSessionIds(@Param("endedBefore") LocalDateTime endedBefore,
+                                       @Param("afterSessionId") long afterSessionId,
+                                       @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM NetworkStatus ns WHERE ns.rideSessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
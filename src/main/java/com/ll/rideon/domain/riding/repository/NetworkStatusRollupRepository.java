@@ -0,0 +1,32 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.NetworkStatusRollup;
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NetworkStatusRollupRepository extends JpaRepository<NetworkStatusRollup, Long>, NetworkStatusRollupRepositoryCustom {
+
+    @Query("SELECT r FROM NetworkStatusRollup r WHERE r.rideSessionId = :sessionId AND r.resolution = :resolution " +
+            "AND r.bucketStart BETWEEN :startTime AND :endTime ORDER BY r.bucketStart ASC")
+    List<NetworkStatusRollup> findBySessionIdAndTimeRange(@Param("sessionId") Long sessionId,
+                                                          @Param("resolution") RollupResolution resolution,
+                                                          @Param("startTime") LocalDateTime startTime,
+                                                          @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT SUM(r.signalAvg * r.signalSamples) / NULLIF(SUM(r.signalSamples), 0) FROM NetworkStatusRollup r " +
+            "WHERE r.rideSessionId = :sessionId AND r.resolution = :resolution")
+    Double getAverageSignalStrengthBySessionId(@Param("sessionId") Long sessionId,
+                                               @Param("resolution") RollupResolution resolution);
+
+    @Query("SELECT COALESCE(SUM(r.disconnectCount), 0) FROM NetworkStatusRollup r " +
+            "WHERE r.rideSessionId = :sessionId AND r.resolution = :resolution")
+    Long countDisconnectionEventsBySessionId(@Param("sessionId") Long sessionId,
+                                             @Param("resolution") RollupResolution resolution);
+}
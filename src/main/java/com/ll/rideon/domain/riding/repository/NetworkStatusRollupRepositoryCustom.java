@@ -0,0 +1,21 @@
+package com.ll.rideon.domain.riding.repository;
+
+import java.time.LocalDateTime;
+
+public interface NetworkStatusRollupRepositoryCustom {
+
+    /**
+     * recordedFrom 이후에 기록된 원본 샘플로 모든 세션의 구간 요약을 다시 계산해 덮어쓴다.
+     * recordedFrom 은 가장 큰 구간 경계에 맞춰야 걸쳐 있는 구간을 일부 샘플로만 계산하지 않는다.
+     *
+     * @return 갱신한 요약 행 수
+     */
+    int rollupRecordedSince(LocalDateTime recordedFrom);
+
+    /**
+     * 한 세션의 원본 샘플 전체로 구간 요약을 다시 계산해 덮어쓴다.
+     *
+     * @return 갱신한 요약 행 수
+     */
+    int rollupSession(Long sessionId);
+}
@@ -0,0 +1,67 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class NetworkStatusRollupRepositoryImpl implements NetworkStatusRollupRepositoryCustom {
+
+    // 구간 시작 = epoch 기준 구간 크기(초) 단위 내림. %s 에 원본 샘플 조건이 들어간다
+    private static final String ROLLUP_SQL = """
+            INSERT INTO network_status_rollup (ride_session_id, resolution, bucket_start, sample_count, signal_samples,
+                                               signal_min, signal_avg, signal_max, latency_avg, latency_p95,
+                                               packet_loss_avg, packet_loss_max, disconnect_count, updated_at)
+            SELECT ride_session_id, ?, bucket_start, COUNT(*), COUNT(signal_strength),
+                   MIN(signal_strength), AVG(signal_strength), MAX(signal_strength),
+                   AVG(latency_ms), PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY latency_ms),
+                   AVG(packet_loss_percentage), MAX(packet_loss_percentage),
+                   COUNT(*) FILTER (WHERE is_connected = false), NOW()
+            FROM (
+                SELECT ns.*, TIMESTAMP 'epoch' + FLOOR(EXTRACT(EPOCH FROM ns.recorded_at) / CAST(? AS INT)) * CAST(? AS INT) * INTERVAL '1 second' AS bucket_start
+                FROM network_status ns
+                WHERE ns.recorded_at IS NOT NULL AND %s
+            ) samples
+            GROUP BY ride_session_id, bucket_start
+            ON CONFLICT (ride_session_id, resolution, bucket_start) DO UPDATE SET
+                sample_count = EXCLUDED.sample_count,
+                signal_samples = EXCLUDED.signal_samples,
+                signal_min = EXCLUDED.signal_min,
+                signal_avg = EXCLUDED.signal_avg,
+                signal_max = EXCLUDED.signal_max,
+                latency_avg = EXCLUDED.latency_avg,
+                latency_p95 = EXCLUDED.latency_p95,
+                packet_loss_avg = EXCLUDED.packet_loss_avg,
+                packet_loss_max = EXCLUDED.packet_loss_max,
+                disconnect_count = EXCLUDED.disconnect_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String ROLLUP_RECORDED_SINCE_SQL = ROLLUP_SQL.formatted("ns.recorded_at >= ?");
+    private static final String ROLLUP_SESSION_SQL = ROLLUP_SQL.formatted("ns.ride_session_id = ?");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int rollupRecordedSince(LocalDateTime recordedFrom) {
+        int rows = 0;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            rows += jdbcTemplate.update(ROLLUP_RECORDED_SINCE_SQL, resolution.name(),
+                    resolution.getSeconds(), resolution.getSeconds(), Timestamp.valueOf(recordedFrom));
+        }
+        return rows;
+    }
+
+    @Override
+    public int rollupSession(Long sessionId) {
+        int rows = 0;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            rows += jdbcTemplate.update(ROLLUP_SESSION_SQL, resolution.name(),
+                    resolution.getSeconds(), resolution.getSeconds(), sessionId);
+        }
+        return rows;
+    }
+}
@@ -1,55 +1,58 @@
 package com.ll.rideon.domain.riding.repository;
 
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
 import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ObstacleReportRepository extends JpaRepository<ObstacleReport, Long> {
+public interface ObstacleReportRepository extends JpaRepository<ObstacleReport, Long>, ObstacleReportRepositoryCustom {
 
-    // 사용자별 장애물 신고 목록 조회
-    @Query("SELECT o FROM ObstacleReport o WHERE o.memberId = :userId ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+    // 활성 상태(ReportStatus.isActive) 조건. 부분 인덱스를 타도록 바인딩 파라미터가 아닌 리터럴로 넣는다
+    String ACTIVE_CONDITION = "o.status IN (" +
+                              "com.ll.rideon.domain.riding.entity.ObstacleReport.ReportStatus.UNCONFIRMED, " +
+                              "com.ll.rideon.domain.riding.entity.ObstacleReport.ReportStatus.CONFIRMED)";
 
-    // 특정 위치 주변의 장애물 신고 조회 (반경 기반)
-    @Query("SELECT o FROM ObstacleReport o WHERE " +
-           "SQRT(POWER(o.latitude - :latitude, 2) + POWER(o.longitude - :longitude, 2)) <= :radius " +
-           "ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findNearbyObstacles(@Param("latitude") Double latitude, 
-                                           @Param("longitude") Double longitude, 
-                                           @Param("radius") Double radius);
+    // 목록 조회용 요약 (설명/이미지 TEXT 컬럼 제외)
+    String SUMMARY_SELECT = "SELECT new com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto(" +
+                            "o.id, o.latitude, o.longitude, o.reportType, o.status, o.createdAt, " +
+                            "o.confirmationCount, o.lastReportedAt) FROM ObstacleReport o ";
+
+    @Query(SUMMARY_SELECT + "WHERE o.memberId = :userId ORDER BY o.createdAt DESC")
+    List<ObstacleReportSummaryDto> findSummariesByUserId(@Param("userId") Long userId);
 
-    // 특정 경로 상의 장애물 신고 조회 (경로의 시작점과 끝점 사이)
-    @Query("SELECT o FROM ObstacleReport o WHERE " +
+    @Query(SUMMARY_SELECT + "WHERE " + ACTIVE_CONDITION + " AND " +
            "o.latitude BETWEEN :minLat AND :maxLat AND " +
            "o.longitude BETWEEN :minLng AND :maxLng " +
            "ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findObstaclesInRoute(@Param("minLat") Double minLat, 
-                                            @Param("maxLat") Double maxLat,
-                                            @Param("minLng") Double minLng, 
-                                            @Param("maxLng") Double maxLng);
-
-    // 상태별 장애물 신고 조회
-    @Query("SELECT o FROM ObstacleReport o WHERE o.status = :status ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findByStatusOrderByCreatedAtDesc(@Param("status") ObstacleReport.ReportStatus status);
-
-    // 타입별 장애물 신고 조회
-    @Query("SELECT o FROM ObstacleReport o WHERE o.reportType = :reportType ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findByReportTypeOrderByCreatedAtDesc(@Param("reportType") ObstacleReport.ReportType reportType);
-
-    // 최근 장애물 신고 조회 (최근 30일) - H2 호환성
-    @Query("SELECT o FROM ObstacleReport o WHERE o.createdAt >= :thirtyDaysAgo ORDER BY o.createdAt DESC")
-    List<ObstacleReport> findRecentObstacles(@Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
-
-    // 특정 지역의 장애물 신고 개수 조회
-    @Query("SELECT COUNT(o) FROM ObstacleReport o WHERE " +
-           "SQRT(POWER(o.latitude - :latitude, 2) + POWER(o.longitude - :longitude, 2)) <= :radius")
-    Long countNearbyObstacles(@Param("latitude") Double latitude, 
-                             @Param("longitude") Double longitude, 
-                             @Param("radius") Double radius);
+    List<ObstacleReportSummaryDto> findSummariesInRoute(@Param("minLat") Double minLat,
+                                                        @Param("maxLat") Double maxLat,
+                                                        @Param("minLng") Double minLng,
+                                                        @Param("maxLng") Double maxLng);
+
+    // 활성 장애물 신고 조회 (메모리 인덱스 로드용)
+    @Query(SUMMARY_SELECT + "WHERE " + ACTIVE_CONDITION)
+    List<ObstacleReportSummaryDto> findActiveSummaries();
+
+    // 중복 신고 확인용 - 커밋까지 행을 잠가 만료 처리(SKIP LOCKED)와 겹치지 않게 하고, 이미 만료/해결된 신고는 돌려주지 않음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ObstacleReport o WHERE o.id = :id AND " + ACTIVE_CONDITION)
+    Optional<ObstacleReport> findActiveByIdForUpdate(@Param("id") Long id);
+
+    // 신고자 추가, 이미 신고한 사용자면 0 반환
+    @Modifying
+    @Query(value = "INSERT INTO obstacle_report_reporter (obstacle_report_id, member_id, reported_at) " +
+                   "VALUES (:reportId, :memberId, :reportedAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addReporter(@Param("reportId") Long reportId,
+                    @Param("memberId") Long memberId,
+                    @Param("reportedAt") LocalDateTime reportedAt);
 }
@@ -0,0 +1,32 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ObstacleReportRepositoryCustom {
+
+    /**
+     * 반경(km) 안의 활성 장애물 신고 요약을 가까운 순으로 조회 (설명/이미지 제외)
+     */
+    List<ObstacleReportSummaryDto> findNearbySummaries(double latitude, double longitude, double radiusKm);
+
+    /**
+     * since 이후 신고를 (createdAt, id) 내림차순으로 limit 개 조회 (keyset 페이지).
+     * before 값이 있으면 그 위치 다음부터, bounds({minLat, maxLat, minLng, maxLng})가 있으면 범위 안에서만 조회한다.
+     */
+    List<ObstacleReportSummaryDto> findRecentSummaries(LocalDateTime since, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                       double[] bounds, int limit);
+
+    /**
+     * 반경(km) 안의 활성 장애물 신고 개수. reportType 이 null 이면 전체 타입
+     */
+    long countNearbyObstacles(double latitude, double longitude, double radiusKm, ObstacleReport.ReportType reportType);
+
+    /**
+     * 위경도 사각형 안의 활성 장애물 신고 개수. reportType 이 null 이면 전체 타입
+     */
+    long countInBounds(double minLat, double maxLat, double minLng, double maxLng, ObstacleReport.ReportType reportType);
+}
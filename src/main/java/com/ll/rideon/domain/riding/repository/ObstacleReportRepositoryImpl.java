@@ -0,0 +1,124 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.util.GeoHash;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * geohash 셀 prefix 범위 스캔으로 후보를 찾고 haversine 거리로 정확히 거르는 반경 조회와
+ * (created_at, id) keyset 페이지 조회
+ */
+public class ObstacleReportRepositoryImpl implements ObstacleReportRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ObstacleReportSummaryDto> findNearbySummaries(double latitude, double longitude, double radiusKm) {
+        List<String> prefixes = GeoHash.coveringPrefixes(latitude, longitude, radiusKm);
+        TypedQuery<ObstacleReportSummaryDto> query = entityManager.createQuery(
+                ObstacleReportRepository.SUMMARY_SELECT + "WHERE " + ObstacleReportRepository.ACTIVE_CONDITION
+                        + " AND " + prefixCondition(prefixes), ObstacleReportSummaryDto.class);
+        bindPrefixes(query, prefixes);
+
+        double radiusMeters = radiusKm * 1000;
+        return query.getResultList().stream()
+                .filter(o -> distanceMeters(o.getLatitude(), o.getLongitude(), latitude, longitude) <= radiusMeters)
+                .sorted(Comparator.comparingDouble(o -> distanceMeters(o.getLatitude(), o.getLongitude(), latitude, longitude)))
+                .toList();
+    }
+
+    @Override
+    public List<ObstacleReportSummaryDto> findRecentSummaries(LocalDateTime since, LocalDateTime beforeCreatedAt, Long beforeId,
+                                                              double[] bounds, int limit) {
+        StringBuilder jpql = new StringBuilder(ObstacleReportRepository.SUMMARY_SELECT)
+                .append("WHERE o.createdAt >= :since");
+        if (beforeCreatedAt != null) {
+            // (created_at, id) 행 값 비교로 idx_obstacle_report_created_at_id 를 그대로 탄다
+            jpql.append(" AND (o.createdAt, o.id) < (:beforeCreatedAt, :beforeId)");
+        }
+        if (bounds != null) {
+            jpql.append(" AND o.latitude BETWEEN :minLat AND :maxLat AND o.longitude BETWEEN :minLng AND :maxLng");
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.id DESC");
+
+        TypedQuery<ObstacleReportSummaryDto> query = entityManager.createQuery(jpql.toString(), ObstacleReportSummaryDto.class)
+                .setParameter("since", since)
+                .setMaxResults(limit);
+        if (beforeCreatedAt != null) {
+            query.setParameter("beforeCreatedAt", beforeCreatedAt);
+            query.setParameter("beforeId", beforeId);
+        }
+        if (bounds != null) {
+            query.setParameter("minLat", bounds[0]);
+            query.setParameter("maxLat", bounds[1]);
+            query.setParameter("minLng", bounds[2]);
+            query.setParameter("maxLng", bounds[3]);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long countNearbyObstacles(double latitude, double longitude, double radiusKm, ObstacleReport.ReportType reportType) {
+        List<String> prefixes = GeoHash.coveringPrefixes(latitude, longitude, radiusKm);
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT o.latitude, o.longitude FROM ObstacleReport o WHERE " + ObstacleReportRepository.ACTIVE_CONDITION
+                        + " AND " + prefixCondition(prefixes)
+                        + (reportType != null ? " AND o.reportType = :reportType" : ""), Object[].class);
+        bindPrefixes(query, prefixes);
+        if (reportType != null) {
+            query.setParameter("reportType", reportType);
+        }
+
+        double radiusMeters = radiusKm * 1000;
+        return query.getResultList().stream()
+                .filter(row -> distanceMeters((Double) row[0], (Double) row[1], latitude, longitude) <= radiusMeters)
+                .count();
+    }
+
+    @Override
+    public long countInBounds(double minLat, double maxLat, double minLng, double maxLng, ObstacleReport.ReportType reportType) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(o) FROM ObstacleReport o WHERE " + ObstacleReportRepository.ACTIVE_CONDITION
+                        + " AND o.latitude BETWEEN :minLat AND :maxLat AND o.longitude BETWEEN :minLng AND :maxLng"
+                        + (reportType != null ? " AND o.reportType = :reportType" : ""), Long.class)
+                .setParameter("minLat", minLat)
+                .setParameter("maxLat", maxLat)
+                .setParameter("minLng", minLng)
+                .setParameter("maxLng", maxLng);
+        if (reportType != null) {
+            query.setParameter("reportType", reportType);
+        }
+        return query.getSingleResult();
+    }
+
+    private String prefixCondition(List<String> prefixes) {
+        StringBuilder condition = new StringBuilder("(");
+        for (int i = 0; i < prefixes.size(); i++) {
+            if (i > 0) {
+                condition.append(" OR ");
+            }
+            condition.append("(o.geohash >= :from").append(i).append(" AND o.geohash < :to").append(i).append(")");
+        }
+        return condition.append(")").toString();
+    }
+
+    private void bindPrefixes(TypedQuery<?> query, List<String> prefixes) {
+        for (int i = 0; i < prefixes.size(); i++) {
+            query.setParameter("from" + i, prefixes.get(i));
+            query.setParameter("to" + i, GeoHash.upperBound(prefixes.get(i)));
+        }
+    }
+
+    private double distanceMeters(double lat, double lng, double centerLat, double centerLng) {
+        return GeoUtils.haversineMeters(centerLat, centerLng, lat, lng);
+    }
+}
@@ -1,33 +1,52 @@
 package com.ll.rideon.domain.riding.repository;
 
 import com.ll.rideon.domain.riding.entity.RidingLocation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface RidingLocationRepository extends JpaRepository<RidingLocation, Long> {
+public interface RidingLocationRepository extends JpaRepository<RidingLocation, Long>, RidingLocationRepositoryCustom {
 
-    @Query("SELECT rl FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId ORDER BY rl.recordedAt ASC")
-    List<RidingLocation> findByRideSessionIdOrderByRecordedAtAsc(@Param("sessionId") Long sessionId);
-
-    @Query("SELECT rl FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId AND rl.isOfflineSync = true ORDER BY rl.recordedAt ASC")
-    List<RidingLocation> findOfflineSyncLocationsBySessionId(@Param("sessionId") Long sessionId);
+    @Query("SELECT rl FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId AND rl.recordedAt BETWEEN :startTime AND :endTime AND rl.isOfflineSync = true ORDER BY rl.recordedAt ASC")
+    List<RidingLocation> findOfflineSyncLocationsBySessionId(@Param("sessionId") Long sessionId,
+                                                             @Param("startTime") LocalDateTime startTime,
+                                                             @Param("endTime") LocalDateTime endTime);
 
     @Query("SELECT rl FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId AND rl.recordedAt BETWEEN :startTime AND :endTime ORDER BY rl.recordedAt ASC")
     List<RidingLocation> findBySessionIdAndTimeRange(@Param("sessionId") Long sessionId, 
                                                     @Param("startTime") LocalDateTime startTime, 
                                                     @Param("endTime") LocalDateTime endTime);
 
-    @Modifying
-    @Query("UPDATE RidingLocation rl SET rl.isOfflineSync = false WHERE rl.rideSessionId = :sessionId AND rl.isOfflineSync = true")
-    void markAllAsSynced(@Param("sessionId") Long sessionId);
+    /**
+     * 경로를 커서로 한 행씩 읽는다. 반드시 트랜잭션 안에서 사용하고 스트림을 닫아야 한다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT rl FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId AND rl.recordedAt BETWEEN :startTime AND :endTime ORDER BY rl.recordedAt ASC")
+    Stream<RidingLocation> streamBySessionIdAndTimeRange(@Param("sessionId") Long sessionId,
+                                                        @Param("startTime") LocalDateTime startTime,
+                                                        @Param("endTime") LocalDateTime endTime);
 
-    @Query("SELECT COUNT(rl) FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId")
-    Long countByRideSessionId(@Param("sessionId") Long sessionId);
+    @Modifying
+    @Query("UPDATE RidingLocation rl SET rl.isOfflineSync = false WHERE rl.rideSessionId = :sessionId AND rl.recordedAt BETWEEN :startTime AND :endTime AND rl.isOfflineSync = true")
+    void markAllAsSynced(@Param("sessionId") Long sessionId,
+                         @Param("startTime") LocalDateTime startTime,
+                         @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT COUNT(rl) FROM RidingLocation rl WHERE rl.rideSessionId = :sessionId AND rl.recordedAt BETWEEN :startTime AND :endTime")
+    Long countByRideSessionId(@Param("sessionId") Long sessionId,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("endTime") LocalDateTime endTime);
 } 
\ No newline at end of file
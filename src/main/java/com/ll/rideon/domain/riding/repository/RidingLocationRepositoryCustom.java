@@ -0,0 +1,23 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.track.TrackPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface RidingLocationRepositoryCustom {
+
+    /**
+     * 위치 포인트 목록을 하나의 JDBC 배치로 저장
+     */
+    int batchInsert(List<RidingLocation> locations);
+
+    /**
+     * 세션 경로를 기록 시간 순으로 커서로 읽어 한 포인트씩 넘긴다. (엔티티를 만들지 않음)
+     * PostgreSQL 커서 조회를 위해 트랜잭션 안에서 호출해야 한다.
+     */
+    void forEachTrackPoint(Long sessionId, LocalDateTime startTime, LocalDateTime endTime,
+                           Consumer<TrackPoint> consumer);
+}
@@ -0,0 +1,92 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import com.ll.rideon.domain.riding.track.TrackPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class RidingLocationRepositoryImpl implements RidingLocationRepositoryCustom {
+
+    // reWriteBatchedInserts=true 설정 시 드라이버가 다중 행 INSERT 하나로 재작성한다
+    private static final String INSERT_SQL = """
+            INSERT INTO ride_point (ride_session_id, latitude, longitude, speed_kmh, altitude, accuracy, heading,
+                                    recorded_at, network_quality, battery_level, is_offline_sync)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS network_quality), ?, ?)
+            """;
+
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.REAL, Types.REAL, Types.REAL, Types.REAL,
+            Types.TIMESTAMP, Types.VARCHAR, Types.INTEGER, Types.BOOLEAN
+    };
+
+    private static final String TRACK_SQL = """
+            SELECT latitude, longitude, recorded_at, speed_kmh, altitude
+            FROM ride_point
+            WHERE ride_session_id = ? AND recorded_at BETWEEN ? AND ?
+            ORDER BY recorded_at
+            """;
+
+    private static final int TRACK_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<RidingLocation> locations) {
+        if (locations.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(locations.size());
+        for (RidingLocation location : locations) {
+            batchArgs.add(new Object[]{
+                    location.getRideSessionId(),
+                    location.getLatitude(),
+                    location.getLongitude(),
+                    location.getSpeedKmh(),
+                    location.getAltitude(),
+                    location.getAccuracy(),
+                    location.getHeading(),
+                    Timestamp.valueOf(location.getRecordedAt()),
+                    location.getNetworkQuality() != null ? location.getNetworkQuality().name() : null,
+                    location.getBatteryLevel(),
+                    location.getIsOfflineSync()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, INSERT_TYPES);
+        return locations.size();
+    }
+
+    @Override
+    public void forEachTrackPoint(Long sessionId, LocalDateTime startTime, LocalDateTime endTime,
+                                  Consumer<TrackPoint> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(TRACK_SQL);
+            ps.setFetchSize(TRACK_FETCH_SIZE);
+            ps.setLong(1, sessionId);
+            ps.setTimestamp(2, Timestamp.valueOf(startTime));
+            ps.setTimestamp(3, Timestamp.valueOf(endTime));
+            return ps;
+        }, rs -> {
+            float speed = rs.getFloat("speed_kmh");
+            Float speedKmh = rs.wasNull() ? null : speed;
+            float altitude = rs.getFloat("altitude");
+            Float altitudeValue = rs.wasNull() ? null : altitude;
+            consumer.accept(new TrackPoint(
+                    rs.getDouble("latitude"),
+                    rs.getDouble("longitude"),
+                    rs.getTimestamp("recorded_at").toLocalDateTime(),
+                    speedKmh,
+                    altitudeValue));
+        });
+    }
+}
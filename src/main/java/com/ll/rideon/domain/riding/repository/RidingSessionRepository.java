@@ -5,6 +5,7 @@ import com.ll.rideon.domain.riding.entity.RidingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +23,13 @@ public interface RidingSessionRepository extends JpaRepository<RidingSession, Lo
     @Query("SELECT rs FROM RidingSession rs WHERE rs.memberId = :userId AND rs.status = :status ORDER BY rs.startedAt DESC")
     List<RidingSession> findByUserIdAndStatusOrderByStartedAtDesc(@Param("userId") Long userId, @Param("status") String status);
 
+    @Query("SELECT rs FROM RidingSession rs WHERE rs.status = :status")
+    List<RidingSession> findByStatus(@Param("status") RidingStatus status);
+
+    @Modifying
+    @Query("UPDATE RidingSession rs SET rs.status = :status WHERE rs.id = :sessionId")
+    int updateStatus(@Param("sessionId") Long sessionId, @Param("status") RidingStatus status);
+
     @Query("SELECT rs FROM RidingSession rs WHERE rs.memberId = :userId AND rs.status = 'ACTIVE'")
     Optional<RidingSession> findActiveSessionByUserId(@Param("userId") Long userId);
 
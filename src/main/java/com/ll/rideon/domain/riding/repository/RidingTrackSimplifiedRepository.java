@@ -0,0 +1,23 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.RidingTrackSimplified;
+import com.ll.rideon.domain.riding.track.TrackDetail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RidingTrackSimplifiedRepository extends JpaRepository<RidingTrackSimplified, Long> {
+
+    @Query("SELECT ts FROM RidingTrackSimplified ts WHERE ts.rideSessionId = :sessionId AND ts.detail = :detail")
+    Optional<RidingTrackSimplified> findBySessionIdAndDetail(@Param("sessionId") Long sessionId,
+                                                             @Param("detail") TrackDetail detail);
+
+    @Modifying
+    @Query("DELETE FROM RidingTrackSimplified ts WHERE ts.rideSessionId = :sessionId")
+    void deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -1,13 +1,23 @@
 package com.ll.rideon.domain.riding.service;
 
+import com.ll.rideon.domain.riding.buffer.RidingLocationWriteBuffer;
+import com.ll.rideon.domain.riding.dto.NetworkHistoryResponseDto;
 import com.ll.rideon.domain.riding.dto.NetworkRecommendation;
 import com.ll.rideon.domain.riding.entity.*;
+import com.ll.rideon.domain.riding.event.NetworkQualityChangedEvent;
+import com.ll.rideon.domain.riding.network.AdaptiveUploadRate;
+import com.ll.rideon.domain.riding.network.NetworkStats;
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import com.ll.rideon.domain.riding.registry.ActiveSessionRegistry;
+import com.ll.rideon.domain.riding.registry.ActiveSessionState;
 import com.ll.rideon.domain.riding.repository.NetworkStatusRepository;
-import com.ll.rideon.domain.riding.repository.RidingSessionRepository;
+import com.ll.rideon.domain.riding.repository.NetworkStatusRollupRepository;
 import com.ll.rideon.global.monitoring.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -20,21 +30,25 @@ import java.util.List;
 public class NetworkMonitoringService {
 
     private final NetworkStatusRepository networkStatusRepository;
-    private final RidingSessionRepository ridingSessionRepository;
+    private final NetworkStatusRollupRepository networkStatusRollupRepository;
+    private final ActiveSessionRegistry activeSessionRegistry;
     private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RidingLocationWriteBuffer ridingLocationWriteBuffer;
 
     @Transactional
     public void recordNetworkStatus(Long sessionId, NetworkStatus networkStatus) {
-        // 네트워크 상태 저장
+        // 네트워크 상태 저장 (이력 보관용, 품질 판단은 메모리 버퍼로 한다)
         networkStatusRepository.save(networkStatus);
 
-        // 연결 상태가 끊어진 경우 세션에 기록
-        if (!networkStatus.getIsConnected()) {
-            RidingSession session = ridingSessionRepository.findById(sessionId)
-                    .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
-            
-            session.incrementConnectionLostCount();
-            session.updateNetworkQuality(NetworkQuality.POOR);
+        ActiveSessionState state = activeSessionRegistry.require(sessionId);
+        boolean connected = !Boolean.FALSE.equals(networkStatus.getIsConnected());
+        state.getNetworkWindow().add(networkStatus.getSignalStrength(), networkStatus.getLatencyMs(),
+                networkStatus.getPacketLossPercentage(), connected);
+
+        // 연결 상태가 끊어진 경우 세션에 기록 (품질은 아래 상태 기계가 바로 POOR 로 바꾼다)
+        if (!connected) {
+            state.incrementConnectionLostCount();
             
             // 메트릭 기록
             metricsService.incrementNetworkDisconnection();
@@ -52,88 +66,146 @@ public class NetworkMonitoringService {
             log.warn("라이딩 세션 {} 패킷 손실 높음: {}%", sessionId, networkStatus.getPacketLossPercentage());
         }
 
-        // 네트워크 품질 변경 감지 및 메트릭 기록
-        NetworkQuality currentQuality = assessNetworkQuality(sessionId);
-        if (currentQuality != NetworkQuality.UNKNOWN) {
-            metricsService.incrementNetworkQualityChange();
+        reassess(sessionId, state);
+    }
+
+    /**
+     * 세션에서 하트비트 제한 시간 동안 아무 요청도 오지 않은 경우 (SessionHeartbeatWheel 이 호출).
+     * 단말이 끊김을 보고할 수 없는 상황이므로 끊김 샘플을 대신 넣어 품질을 바로 POOR 로 바꾸고 업로드 간격을 늘린다.
+     * 메모리 상태만 바꾸므로 트랜잭션 없이 실행한다.
+     *
+     * @return 진행 중인 세션이 아니어서 처리하지 않았으면 false
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean recordConnectionTimeout(Long sessionId) {
+        ActiveSessionState state = activeSessionRegistry.find(sessionId).orElse(null);
+        if (state == null) {
+            return false;
         }
+
+        state.getNetworkWindow().add(null, null, null, false);
+        state.incrementConnectionLostCount();
+        metricsService.incrementNetworkDisconnection();
+
+        reassess(sessionId, state);
+        return true;
+    }
+
+    private void reassess(Long sessionId, ActiveSessionState state) {
+        NetworkStats stats = state.getNetworkWindow().snapshot();
+        long now = System.nanoTime();
+
+        // 업로드 간격/배치 크기 조정 (AIMD)
+        state.getUploadRate().update(stats, serverLoad(), now);
+
+        // 품질이 실제로 바뀐 경우에만 세션에 반영(다음 flush 때 저장)하고 이벤트를 발행한다 (메트릭/로그는 NetworkQualityChangeListener)
+        NetworkQuality previousQuality = state.getNetworkQuality();
+        state.getQualityStateMachine()
+                .evaluate(stats, now)
+                .ifPresent(quality -> {
+                    state.updateNetworkQuality(quality);
+                    eventPublisher.publishEvent(new NetworkQualityChangedEvent(sessionId, previousQuality, quality));
+                });
     }
 
+    /**
+     * 진행 중인 세션의 현재 네트워크 품질 (상태 기계가 확정한 값). DB 는 읽지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public NetworkQuality assessNetworkQuality(Long sessionId) {
-        List<NetworkStatus> recentStatuses = networkStatusRepository
-                .findByRideSessionIdOrderByRecordedAtDesc(sessionId);
+        return activeSessionRegistry.find(sessionId)
+                .map(this::assessNetworkQuality)
+                .orElse(NetworkQuality.UNKNOWN);
+    }
 
-        if (recentStatuses.isEmpty()) {
-            return NetworkQuality.UNKNOWN;
+    private NetworkQuality assessNetworkQuality(ActiveSessionState state) {
+        if (state.getNetworkWindow().isEmpty()) {
+            // 서버 재시작 직후처럼 샘플이 아직 없으면 세션에 저장된 마지막 품질을 쓴다
+            return state.getNetworkQuality() != null ? state.getNetworkQuality() : NetworkQuality.UNKNOWN;
         }
+        return state.getQualityStateMachine().current();
+    }
 
-        NetworkStatus latest = recentStatuses.get(0);
-        
-        // 연결이 끊어진 경우
-        if (!latest.getIsConnected()) {
-            return NetworkQuality.POOR;
-        }
+    /**
+     * 품질에 따른 권장 동작과 함께, AIMD 제어기가 정한 업로드 간격/배치 크기를 돌려준다.
+     * 클라이언트가 주기적으로 조회하므로 조회할 때도 서버 부하를 반영해 한 번 조정한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NetworkRecommendation getNetworkRecommendation(Long sessionId) {
+        ActiveSessionState state = activeSessionRegistry.find(sessionId).orElse(null);
+        NetworkQuality quality = state != null ? assessNetworkQuality(state) : NetworkQuality.UNKNOWN;
 
-        // 신호 강도 기반 평가
-        if (latest.getSignalStrength() != null) {
-            if (latest.getSignalStrength() < 20) {
-                return NetworkQuality.POOR;
-            } else if (latest.getSignalStrength() < 50) {
-                return NetworkQuality.FAIR;
-            } else if (latest.getSignalStrength() < 80) {
-                return NetworkQuality.GOOD;
-            } else {
-                return NetworkQuality.EXCELLENT;
-            }
+        // 진행 중인 세션이 아니면 초기값을 안내한다
+        AdaptiveUploadRate uploadRate = state != null ? state.getUploadRate() : new AdaptiveUploadRate();
+        if (state != null) {
+            uploadRate.update(state.getNetworkWindow().snapshot(), serverLoad(), System.nanoTime());
         }
 
-        // 패킷 손실 기반 평가
-        if (latest.getPacketLossPercentage() != null) {
-            if (latest.getPacketLossPercentage() > 10.0f) {
-                return NetworkQuality.POOR;
-            } else if (latest.getPacketLossPercentage() > 5.0f) {
-                return NetworkQuality.FAIR;
-            }
-        }
+        return recommendationFor(quality)
+                .uploadIntervalMs(uploadRate.getIntervalMs())
+                .batchSize(uploadRate.getBatchSize())
+                .build();
+    }
 
-        return NetworkQuality.GOOD;
+    /**
+     * 기간 내 네트워크 상태 이력. 원본 샘플이 아닌 구간 요약을 읽는다.
+     * 진행 중인 세션은 요약 주기만큼 최근 구간이 늦게 반영된다.
+     */
+    public NetworkHistoryResponseDto getNetworkHistory(Long sessionId, LocalDateTime startTime, LocalDateTime endTime,
+                                                       RollupResolution resolution) {
+        // 시작 시각이 걸쳐 있는 구간도 포함
+        List<NetworkHistoryResponseDto.Bucket> buckets = networkStatusRollupRepository
+                .findBySessionIdAndTimeRange(sessionId, resolution, resolution.bucketStart(startTime), endTime)
+                .stream()
+                .map(NetworkHistoryResponseDto.Bucket::from)
+                .toList();
+
+        return NetworkHistoryResponseDto.builder()
+                .sessionId(sessionId)
+                .resolution(resolution.getCode())
+                .startTime(startTime)
+                .endTime(endTime)
+                .averageSignalStrength(networkStatusRollupRepository.getAverageSignalStrengthBySessionId(sessionId, resolution))
+                .disconnectCount(networkStatusRollupRepository.countDisconnectionEventsBySessionId(sessionId, resolution))
+                .buckets(buckets)
+                .build();
     }
 
-    public NetworkRecommendation getNetworkRecommendation(Long sessionId) {
-        NetworkQuality quality = assessNetworkQuality(sessionId);
-        
+    private static NetworkRecommendation.NetworkRecommendationBuilder recommendationFor(NetworkQuality quality) {
         switch (quality) {
             case UNKNOWN:
                 return NetworkRecommendation.builder()
                         .action("OFFLINE_MODE")
                         .message("네트워크 상태를 알 수 없습니다. 오프라인 모드로 전환합니다.")
-                        .priority(NetworkPriority.HIGH)
-                        .build();
+                        .priority(NetworkPriority.HIGH);
             case POOR:
                 return NetworkRecommendation.builder()
                         .action("REDUCE_FREQUENCY")
                         .message("네트워크 상태가 불안정합니다. 데이터 전송 빈도를 줄입니다.")
-                        .priority(NetworkPriority.MEDIUM)
-                        .build();
+                        .priority(NetworkPriority.MEDIUM);
             case FAIR:
                 return NetworkRecommendation.builder()
                         .action("MONITOR")
                         .message("네트워크 상태를 모니터링합니다.")
-                        .priority(NetworkPriority.LOW)
-                        .build();
+                        .priority(NetworkPriority.LOW);
             case GOOD:
             case EXCELLENT:
                 return NetworkRecommendation.builder()
                         .action("NORMAL")
                         .message("네트워크 상태가 양호합니다.")
-                        .priority(NetworkPriority.LOW)
-                        .build();
+                        .priority(NetworkPriority.LOW);
             default:
                 return NetworkRecommendation.builder()
                         .action("UNKNOWN")
                         .message("네트워크 상태를 확인할 수 없습니다.")
-                        .priority(NetworkPriority.MEDIUM)
-                        .build();
+                        .priority(NetworkPriority.MEDIUM);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 위치 포인트 쓰기 버퍼 사용률 (0~1)
+     */
+    private double serverLoad() {
+        return (double) ridingLocationWriteBuffer.getPendingCount() / Math.max(1, ridingLocationWriteBuffer.getMaxPending());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.event.NetworkQualityChangedEvent;
+import com.ll.rideon.global.monitoring.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 세션 네트워크 품질이 바뀌면 품질 변경 메트릭과 로그를 남긴다.
+ * 상태 기계가 실제로 바뀐 경우에만 이벤트를 발행하므로 샘플마다 메트릭이 쌓이지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NetworkQualityChangeListener {
+
+    private final MetricsService metricsService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNetworkQualityChanged(NetworkQualityChangedEvent event) {
+        metricsService.incrementNetworkQualityChange();
+        log.info("라이딩 세션 {} 네트워크 품질 변경: {} -> {}",
+                event.getSessionId(), event.getPreviousQuality(), event.getQuality());
+    }
+}
@@ -0,0 +1,112 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import com.ll.rideon.domain.riding.repository.NetworkStatusRepository;
+import com.ll.rideon.domain.riding.repository.NetworkStatusRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * network_status 원본 샘플을 세션별 1분/10분 구간 요약(network_status_rollup)으로 만든다.
+ * - 주기적으로 최근 lookback 구간에 기록된 샘플로 요약을 다시 계산한다 (진행 중인 세션 조회용)
+ * - 라이딩 종료가 커밋되면 세션 전체를 한 번 더 계산한다 (늦게 올라온 오프라인 샘플 반영, RidingSessionEndProcessor)
+ * - 종료 후 보관 기간이 지난 세션은 마지막으로 요약을 맞춘 뒤 원본 샘플을 삭제한다
+ */
+@Slf4j
+@Service
+public class NetworkStatusRollupService {
+
+    private final NetworkStatusRollupRepository networkStatusRollupRepository;
+    private final NetworkStatusRepository networkStatusRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int lookbackMinutes;
+    private final int rawRetentionDays;
+    private final int purgeBatchSize;
+    private final int purgeMaxBatchesPerRun;
+
+    public NetworkStatusRollupService(NetworkStatusRollupRepository networkStatusRollupRepository,
+                                      NetworkStatusRepository networkStatusRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${riding.network-rollup.enabled:true}") boolean enabled,
+                                      @Value("${riding.network-rollup.lookback-minutes:20}") int lookbackMinutes,
+                                      @Value("${riding.network-rollup.raw-retention-days:7}") int rawRetentionDays,
+                                      @Value("${riding.network-rollup.purge-batch-size:100}") int purgeBatchSize,
+                                      @Value("${riding.network-rollup.purge-max-batches-per-run:100}") int purgeMaxBatchesPerRun) {
+        this.networkStatusRollupRepository = networkStatusRollupRepository;
+        this.networkStatusRepository = networkStatusRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.lookbackMinutes = lookbackMinutes;
+        this.rawRetentionDays = rawRetentionDays;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeMaxBatchesPerRun = purgeMaxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${riding.network-rollup.interval-ms:60000}", initialDelayString = "${riding.network-rollup.interval-ms:60000}")
+    public void rollupRecent() {
+        if (!enabled) {
+            return;
+        }
+        // 가장 큰 구간 경계에 맞춰, 걸쳐 있는 구간도 샘플 전체로 다시 계산되게 한다
+        LocalDateTime recordedFrom = RollupResolution.coarsest().bucketStart(LocalDateTime.now().minusMinutes(lookbackMinutes));
+        try {
+            Integer rows = transactionTemplate.execute(status -> networkStatusRollupRepository.rollupRecordedSince(recordedFrom));
+            log.debug("네트워크 상태 구간 요약: {}행 (기준 {})", rows, recordedFrom);
+        } catch (Exception e) {
+            log.error("네트워크 상태 구간 요약 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 한 세션의 구간 요약을 원본 샘플 전체로 다시 계산한다. (라이딩 종료 커밋 후)
+     */
+    @Transactional
+    public void rollupSession(Long sessionId) {
+        networkStatusRollupRepository.rollupSession(sessionId);
+    }
+
+    @Scheduled(cron = "${riding.network-rollup.purge-cron:0 15 4 * * *}")
+    public void purgeRawSamples() {
+        if (!enabled || rawRetentionDays <= 0) {
+            return;
+        }
+        LocalDateTime endedBefore = LocalDateTime.now().minusDays(rawRetentionDays);
+        int sessions = 0;
+        int failed = 0;
+        long deleted = 0;
+        // 세션 ID 순으로 넘겨 가므로 삭제에 실패한 세션이 다음 배치에 다시 나와 실행을 막지 않는다 (다음 실행에서 재시도)
+        long afterSessionId = 0;
+        for (int batch = 0; batch < purgeMaxBatchesPerRun; batch++) {
+            List<Long> sessionIds = networkStatusRepository.findPurgeableSessionIds(endedBefore, afterSessionId, purgeBatchSize);
+            for (Long sessionId : sessionIds) {
+                afterSessionId = sessionId;
+                try {
+                    // 요약을 원본과 맞춘 뒤 같은 트랜잭션에서 원본을 지운다
+                    Integer rows = transactionTemplate.execute(status -> {
+                        networkStatusRollupRepository.rollupSession(sessionId);
+                        return networkStatusRepository.deleteBySessionId(sessionId);
+                    });
+                    deleted += rows != null ? rows : 0;
+                    sessions++;
+                } catch (Exception e) {
+                    failed++;
+                    log.error("네트워크 상태 원본 삭제 실패 - 세션: {}: {}", sessionId, e.getMessage(), e);
+                }
+            }
+            if (sessionIds.size() < purgeBatchSize) {
+                break;
+            }
+        }
+        if (sessions > 0 || failed > 0) {
+            log.info("네트워크 상태 원본 삭제: 세션 {}개, {}행, 실패 {}개", sessions, deleted, failed);
+        }
+    }
+}
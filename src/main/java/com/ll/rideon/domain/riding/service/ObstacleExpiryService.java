@@ -0,0 +1,139 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 신고 타입별 유효 시간(TTL)이 지난 활성 장애물 신고를 EXPIRED 로 바꾼다.
+ * 마지막 신고(확인) 시각 기준이므로 다른 사용자가 다시 신고하면 만료가 미뤄진다.
+ * 한 번에 batch-size 행씩 짧은 트랜잭션으로 처리하고, 다른 트랜잭션이 잡고 있는 행은 건너뛴다(SKIP LOCKED).
+ * 만료된 신고는 커밋 후 ObstacleReportChangedEvent 로 알려 메모리 인덱스와 지오펜스 알림(obstacle-removed)에 반영한다.
+ */
+@Slf4j
+@Service
+public class ObstacleExpiryService {
+
+    private static final String EXPIRE_SQL = """
+            WITH expired AS (
+                SELECT id FROM obstacle_report
+                WHERE status IN ('UNCONFIRMED', 'CONFIRMED')
+                  AND report_type = CAST(? AS report_type)
+                  AND last_reported_at < ?
+                ORDER BY last_reported_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE obstacle_report o
+            SET status = 'EXPIRED', updated_at = NOW()
+            FROM expired
+            WHERE o.id = expired.id
+            RETURNING o.id, o.member_id, o.latitude, o.longitude, o.confirmation_count,
+                      o.created_at, o.last_reported_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Environment environment;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public ObstacleExpiryService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 Environment environment,
+                                 @Value("${obstacle.expiry.enabled:true}") boolean enabled,
+                                 @Value("${obstacle.expiry.batch-size:500}") int batchSize,
+                                 @Value("${obstacle.expiry.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${obstacle.expiry.interval-ms:600000}", initialDelayString = "${obstacle.expiry.interval-ms:600000}")
+    public void expireObstacleReports() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (ObstacleReport.ReportType type : ObstacleReport.ReportType.values()) {
+            long ttlHours = ttlHours(type);
+            if (ttlHours <= 0) {
+                continue;
+            }
+            try {
+                total += expire(type, now.minusHours(ttlHours));
+            } catch (Exception e) {
+                log.error("장애물 신고 만료 처리 실패 - 타입: {}: {}", type, e.getMessage(), e);
+            }
+        }
+        if (total > 0) {
+            log.info("장애물 신고 만료 처리: {}건", total);
+        }
+    }
+
+    /**
+     * 타입별 유효 시간. obstacle.expiry.ttl-hours.{타입} 으로 바꿀 수 있고 0 이하면 만료시키지 않는다.
+     */
+    public long ttlHours(ObstacleReport.ReportType type) {
+        return environment.getProperty("obstacle.expiry.ttl-hours." + type.name(), Long.class, type.getDefaultTtlHours());
+    }
+
+    private int expire(ObstacleReport.ReportType type, LocalDateTime reportedBefore) {
+        int expired = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<ObstacleReportResponseDto> reports = transactionTemplate.execute(status -> jdbcTemplate.query(
+                    EXPIRE_SQL, (rs, rowNum) -> toExpiredReport(rs, type),
+                    type.name(), Timestamp.valueOf(reportedBefore), batchSize));
+            if (reports == null || reports.isEmpty()) {
+                break;
+            }
+            // 커밋된 뒤이므로 바로 처리된다 (인덱스 제거, 구독 중인 라이더에게 obstacle-removed 전송)
+            reports.forEach(report -> eventPublisher.publishEvent(new ObstacleReportChangedEvent(report)));
+            expired += reports.size();
+            if (reports.size() < batchSize) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    private static ObstacleReportResponseDto toExpiredReport(ResultSet rs, ObstacleReport.ReportType type) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp lastReportedAt = rs.getTimestamp("last_reported_at");
+        return ObstacleReportResponseDto.builder()
+                .id(rs.getLong("id"))
+                .memberId(rs.getObject("member_id", Long.class))
+                .latitude(rs.getObject("latitude", Double.class))
+                .longitude(rs.getObject("longitude", Double.class))
+                .reportType(type)
+                .reportTypeDescription(type.getDescription())
+                .status(ObstacleReport.ReportStatus.EXPIRED)
+                .statusDescription(ObstacleReport.ReportStatus.EXPIRED.getDescription())
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .confirmationCount(rs.getObject("confirmation_count", Integer.class))
+                .lastReportedAt(lastReportedAt != null ? lastReportedAt.toLocalDateTime() : null)
+                .build();
+    }
+}
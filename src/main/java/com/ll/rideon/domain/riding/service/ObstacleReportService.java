@@ -1,19 +1,36 @@
 package com.ll.rideon.domain.riding.service;
 
+import com.ll.rideon.domain.riding.dto.ObstacleClusterRequestDto;
+import com.ll.rideon.domain.riding.dto.ObstacleClusterResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportPageResponseDto;
 import com.ll.rideon.domain.riding.dto.ObstacleReportRequestDto;
 import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
 import com.ll.rideon.domain.riding.dto.NearbyObstaclesRequestDto;
+import com.ll.rideon.domain.riding.dto.RecentObstaclesRequestDto;
+import com.ll.rideon.domain.riding.dto.RouteCorridorRequestDto;
+import com.ll.rideon.domain.riding.dto.RouteObstacleResponseDto;
 import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
 import com.ll.rideon.domain.riding.repository.ObstacleReportRepository;
+import com.ll.rideon.domain.riding.spatial.ObstacleCellLocks;
+import com.ll.rideon.domain.riding.spatial.ObstacleClusterIndex;
+import com.ll.rideon.domain.riding.spatial.ObstacleCountIndex;
+import com.ll.rideon.domain.riding.spatial.ObstacleGridIndex;
+import com.ll.rideon.domain.riding.spatial.RouteCorridorMatcher;
+import com.ll.rideon.domain.riding.track.PolylineCodec;
+import com.ll.rideon.domain.riding.util.ObstacleCursor;
 import com.ll.rideon.global.monitoring.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,17 +38,45 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ObstacleReportService {
 
+    private static final int MAX_ROUTE_POINTS = 5000;
+    private static final double DEFAULT_CORRIDOR_WIDTH_METERS = 50.0;
+    private static final int DEFAULT_RECENT_PAGE_SIZE = 50;
+
     private final ObstacleReportRepository obstacleReportRepository;
     private final MetricsService metricsService;
+    private final ObstacleGridIndex obstacleGridIndex;
+    private final ObstacleClusterIndex obstacleClusterIndex;
+    private final ObstacleCountIndex obstacleCountIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObstacleCellLocks obstacleCellLocks;
+
+    @Value("${obstacle.dedup.radius-meters:30}")
+    private double dedupRadiusMeters;
+
+    @Value("${obstacle.dedup.window-hours:24}")
+    private long dedupWindowHours;
 
     /**
-     * 장애물 신고 생성
+     * 장애물 신고 생성. 가까운 곳에 같은 종류의 열린 신고가 있으면 새로 만들지 않고 그 신고의 확인으로 합친다.
      */
     @Transactional
     public ObstacleReportResponseDto createObstacleReport(Long userId, ObstacleReportRequestDto requestDto) {
         log.info("장애물 신고 생성 요청 - 사용자 ID: {}, 위치: ({}, {})", 
                 userId, requestDto.getLatitude(), requestDto.getLongitude());
 
+        // 같은 위치의 동시 신고가 둘 다 새 행을 만들지 않도록 커밋까지 주변 셀을 잠금
+        obstacleCellLocks.lockUntilCompletion(requestDto.getLatitude(), requestDto.getLongitude(), dedupRadiusMeters);
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Long> duplicateId = findDuplicateReportId(requestDto, now.minusHours(dedupWindowHours));
+        if (duplicateId.isPresent()) {
+            // 행을 잠그고 아직 활성인지 다시 본다. 그 사이 만료/해결되었으면 새 신고로 만든다
+            Optional<ObstacleReport> duplicate = obstacleReportRepository.findActiveByIdForUpdate(duplicateId.get());
+            if (duplicate.isPresent()) {
+                return confirmObstacleReport(duplicate.get(), userId, requestDto, now);
+            }
+        }
+
         ObstacleReport obstacleReport = ObstacleReport.builder()
                 .memberId(userId)
                 .latitude(requestDto.getLatitude())
@@ -42,37 +87,88 @@ public class ObstacleReportService {
                 .build();
 
         ObstacleReport savedReport = obstacleReportRepository.save(obstacleReport);
+        if (userId != null) {
+            obstacleReportRepository.addReporter(savedReport.getId(), userId, now);
+        }
+        ObstacleReportResponseDto responseDto = ObstacleReportResponseDto.from(savedReport);
+
+        // 커밋 후 메모리 인덱스에 반영
+        eventPublisher.publishEvent(new ObstacleReportChangedEvent(responseDto));
         
         // 메트릭 업데이트
         metricsService.incrementObstacleReportCount(requestDto.getReportType().name());
         
         log.info("장애물 신고 생성 완료 - ID: {}", savedReport.getId());
-        return ObstacleReportResponseDto.from(savedReport);
+        return responseDto;
+    }
+
+    /**
+     * 반경 안에서 최근에 신고(확인)된 같은 종류의 미해결 신고 중 가장 가까운 것을 찾는다.
+     */
+    private Optional<Long> findDuplicateReportId(ObstacleReportRequestDto requestDto, LocalDateTime since) {
+        double radiusKm = dedupRadiusMeters / 1000.0;
+        if (obstacleGridIndex.isLoaded()) {
+            return obstacleGridIndex.findNearby(requestDto.getLatitude(), requestDto.getLongitude(), radiusKm).stream()
+                    .filter(report -> report.getReportType() == requestDto.getReportType())
+                    .filter(report -> isReportedSince(report.getLastReportedAt(), report.getCreatedAt(), since))
+                    .map(ObstacleReportSummaryDto::getId)
+                    .findFirst();
+        }
+        return obstacleReportRepository.findNearbySummaries(requestDto.getLatitude(), requestDto.getLongitude(), radiusKm)
+                .stream()
+                .filter(report -> report.getReportType() == requestDto.getReportType())
+                .filter(report -> isReportedSince(report.getLastReportedAt(), report.getCreatedAt(), since))
+                .map(ObstacleReportSummaryDto::getId)
+                .findFirst();
+    }
+
+    private static boolean isReportedSince(LocalDateTime lastReportedAt, LocalDateTime createdAt, LocalDateTime since) {
+        LocalDateTime reportedAt = lastReportedAt != null ? lastReportedAt : createdAt;
+        return reportedAt != null && !reportedAt.isBefore(since);
+    }
+
+    private ObstacleReportResponseDto confirmObstacleReport(ObstacleReport obstacleReport, Long userId,
+                                                            ObstacleReportRequestDto requestDto, LocalDateTime now) {
+        Long reportId = obstacleReport.getId();
+
+        // 이미 신고한 사용자는 확인 횟수를 다시 올리지 않음
+        boolean newReporter = userId == null || obstacleReportRepository.addReporter(reportId, userId, now) > 0;
+        if (!newReporter) {
+            log.info("이미 신고한 장애물 - 신고 ID: {}, 사용자 ID: {}", reportId, userId);
+            return ObstacleReportResponseDto.from(obstacleReport);
+        }
+
+        obstacleReport.confirm(requestDto.getDescription(), requestDto.getImage(), now);
+        ObstacleReportResponseDto responseDto = ObstacleReportResponseDto.from(obstacleReport);
+
+        // 커밋 후 메모리 인덱스의 확인 횟수/시간 갱신
+        eventPublisher.publishEvent(new ObstacleReportChangedEvent(responseDto));
+
+        log.info("중복 장애물 신고 병합 - 신고 ID: {}, 확인 횟수: {}", reportId, obstacleReport.getConfirmationCount());
+        return responseDto;
     }
 
     /**
      * 주변 장애물 조회
      */
-    public List<ObstacleReportResponseDto> getNearbyObstacles(NearbyObstaclesRequestDto requestDto) {
+    public List<ObstacleReportSummaryDto> getNearbyObstacles(NearbyObstaclesRequestDto requestDto) {
         log.info("주변 장애물 조회 요청 - 위치: ({}, {}), 반경: {}km", 
                 requestDto.getLatitude(), requestDto.getLongitude(), requestDto.getRadius());
 
-        List<ObstacleReport> nearbyObstacles = obstacleReportRepository.findNearbyObstacles(
-                requestDto.getLatitude(), 
-                requestDto.getLongitude(), 
-                requestDto.getRadius()
-        );
+        // 메모리 인덱스(활성 장애물)에서 조회, 로드 전이면 DB 에서 조회
+        List<ObstacleReportSummaryDto> nearbyObstacles = obstacleGridIndex.isLoaded()
+                ? obstacleGridIndex.findNearby(requestDto.getLatitude(), requestDto.getLongitude(), requestDto.getRadius())
+                : obstacleReportRepository.findNearbySummaries(
+                        requestDto.getLatitude(), requestDto.getLongitude(), requestDto.getRadius());
 
         log.info("주변 장애물 조회 완료 - {}개 발견", nearbyObstacles.size());
-        return nearbyObstacles.stream()
-                .map(ObstacleReportResponseDto::from)
-                .collect(Collectors.toList());
+        return nearbyObstacles;
     }
 
     /**
      * 경로 상의 장애물 조회
      */
-    public List<ObstacleReportResponseDto> getObstaclesInRoute(Double startLat, Double startLng, 
+    public List<ObstacleReportSummaryDto> getObstaclesInRoute(Double startLat, Double startLng, 
                                                              Double endLat, Double endLng) {
         log.info("경로 상 장애물 조회 요청 - 시작: ({}, {}), 끝: ({}, {})", 
                 startLat, startLng, endLat, endLng);
@@ -83,28 +179,83 @@ public class ObstacleReportService {
         Double minLng = Math.min(startLng, endLng);
         Double maxLng = Math.max(startLng, endLng);
 
-        List<ObstacleReport> routeObstacles = obstacleReportRepository.findObstaclesInRoute(
+        List<ObstacleReportSummaryDto> routeObstacles = obstacleReportRepository.findSummariesInRoute(
                 minLat, maxLat, minLng, maxLng
         );
 
         log.info("경로 상 장애물 조회 완료 - {}개 발견", routeObstacles.size());
-        return routeObstacles.stream()
-                .map(ObstacleReportResponseDto::from)
-                .collect(Collectors.toList());
+        return routeObstacles;
+    }
+
+    /**
+     * 경로(polyline) 주변 장애물 조회 - 경로 진행 순으로 정렬
+     */
+    public List<RouteObstacleResponseDto> getObstaclesInCorridor(RouteCorridorRequestDto requestDto) {
+        List<double[]> route = PolylineCodec.decodeCoordinates(requestDto.getPolyline());
+        if (route.size() > MAX_ROUTE_POINTS) {
+            throw new IllegalArgumentException("경로 좌표는 최대 " + MAX_ROUTE_POINTS + "개까지 보낼 수 있습니다.");
+        }
+        double width = requestDto.getWidth() != null ? requestDto.getWidth() : DEFAULT_CORRIDOR_WIDTH_METERS;
+
+        log.info("경로 주변 장애물 조회 요청 - 좌표 수: {}, 폭: {}m", route.size(), width);
+
+        RouteCorridorMatcher matcher = new RouteCorridorMatcher(route, width);
+        if (obstacleGridIndex.isLoaded()) {
+            // 선분마다 작은 사각형으로 인덱스를 조회
+            for (int i = 0; i < matcher.getSegmentCount(); i++) {
+                int segment = i;
+                double[] bounds = matcher.segmentBounds(segment);
+                obstacleGridIndex.forEachInBounds(bounds[0], bounds[1], bounds[2], bounds[3],
+                        (cell, index, ignored) -> matcher.offer(
+                                cell.getReport(index), cell.getLatitude(index), cell.getLongitude(index), segment));
+            }
+        } else {
+            double[] bounds = matcher.routeBounds();
+            obstacleReportRepository.findSummariesInRoute(bounds[0], bounds[1], bounds[2], bounds[3])
+                    .forEach(matcher::offerAll);
+        }
+
+        List<RouteObstacleResponseDto> obstacles = matcher.getResults();
+        log.info("경로 주변 장애물 조회 완료 - {}개 발견", obstacles.size());
+        return obstacles;
+    }
+
+    /**
+     * 지도 범위와 줌 레벨에 맞춘 장애물 클러스터 조회
+     */
+    public List<ObstacleClusterResponseDto> getObstacleClusters(ObstacleClusterRequestDto requestDto) {
+        if (requestDto.getMinLat() > requestDto.getMaxLat() || requestDto.getMinLng() > requestDto.getMaxLng()) {
+            throw new IllegalArgumentException("최소 위경도는 최대 위경도보다 클 수 없습니다.");
+        }
+
+        log.info("장애물 클러스터 조회 요청 - 범위: ({}, {}) ~ ({}, {}), 줌: {}",
+                requestDto.getMinLat(), requestDto.getMinLng(), requestDto.getMaxLat(), requestDto.getMaxLng(),
+                requestDto.getZoom());
+
+        // 미리 집계해 둔 클러스터에서 조회, 집계 전이면 DB 에서 읽어 즉석으로 묶음
+        List<ObstacleClusterResponseDto> clusters = obstacleClusterIndex.isLoaded()
+                ? obstacleClusterIndex.findClusters(requestDto.getMinLat(), requestDto.getMaxLat(),
+                        requestDto.getMinLng(), requestDto.getMaxLng(), requestDto.getZoom())
+                : ObstacleClusterIndex.aggregate(
+                        obstacleReportRepository.findSummariesInRoute(requestDto.getMinLat(), requestDto.getMaxLat(),
+                                requestDto.getMinLng(), requestDto.getMaxLng()),
+                        requestDto.getMinLat(), requestDto.getMaxLat(),
+                        requestDto.getMinLng(), requestDto.getMaxLng(), requestDto.getZoom());
+
+        log.info("장애물 클러스터 조회 완료 - 클러스터 {}개", clusters.size());
+        return clusters;
     }
 
     /**
      * 사용자별 장애물 신고 목록 조회
      */
-    public List<ObstacleReportResponseDto> getUserObstacleReports(Long userId) {
+    public List<ObstacleReportSummaryDto> getUserObstacleReports(Long userId) {
         log.info("사용자 장애물 신고 목록 조회 - 사용자 ID: {}", userId);
 
-        List<ObstacleReport> userReports = obstacleReportRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<ObstacleReportSummaryDto> userReports = obstacleReportRepository.findSummariesByUserId(userId);
 
         log.info("사용자 장애물 신고 목록 조회 완료 - {}개", userReports.size());
-        return userReports.stream()
-                .map(ObstacleReportResponseDto::from)
-                .collect(Collectors.toList());
+        return userReports;
     }
 
     /**
@@ -131,35 +282,94 @@ public class ObstacleReportService {
 
         obstacleReport.updateStatus(status);
         ObstacleReport savedReport = obstacleReportRepository.save(obstacleReport);
+        ObstacleReportResponseDto responseDto = ObstacleReportResponseDto.from(savedReport);
+
+        // 커밋 후 메모리 인덱스에 반영 (RESOLVED/EXPIRED 면 제거)
+        eventPublisher.publishEvent(new ObstacleReportChangedEvent(responseDto));
 
         log.info("장애물 신고 상태 업데이트 완료 - 신고 ID: {}", reportId);
-        return ObstacleReportResponseDto.from(savedReport);
+        return responseDto;
     }
 
     /**
-     * 최근 장애물 신고 조회
+     * 최근 장애물 신고 조회 - (신고일시, ID) keyset 페이지
      */
-    public List<ObstacleReportResponseDto> getRecentObstacles() {
-        log.info("최근 장애물 신고 조회 요청");
+    public ObstacleReportPageResponseDto getRecentObstacles(RecentObstaclesRequestDto requestDto) {
+        int size = requestDto.getSize() != null ? requestDto.getSize() : DEFAULT_RECENT_PAGE_SIZE;
+        ObstacleCursor cursor = requestDto.getCursor() != null && !requestDto.getCursor().isBlank()
+                ? ObstacleCursor.decode(requestDto.getCursor())
+                : null;
+        double[] bounds = recentBounds(requestDto);
+
+        log.info("최근 장애물 신고 조회 요청 - 크기: {}, 커서: {}, 범위: {}", size, cursor != null, bounds != null);
 
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<ObstacleReport> recentObstacles = obstacleReportRepository.findRecentObstacles(thirtyDaysAgo);
+        // 다음 페이지 여부를 알기 위해 한 개 더 조회
+        List<ObstacleReportSummaryDto> rows = obstacleReportRepository.findRecentSummaries(thirtyDaysAgo,
+                cursor != null ? cursor.getCreatedAt() : null, cursor != null ? cursor.getId() : null, bounds, size + 1);
 
-        log.info("최근 장애물 신고 조회 완료 - {}개", recentObstacles.size());
-        return recentObstacles.stream()
-                .map(ObstacleReportResponseDto::from)
-                .collect(Collectors.toList());
+        boolean hasNext = rows.size() > size;
+        List<ObstacleReportSummaryDto> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ObstacleReportSummaryDto last = items.get(items.size() - 1);
+            nextCursor = new ObstacleCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        log.info("최근 장애물 신고 조회 완료 - {}개, 다음 페이지: {}", items.size(), hasNext);
+        return ObstacleReportPageResponseDto.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private static double[] recentBounds(RecentObstaclesRequestDto requestDto) {
+        Double minLat = requestDto.getMinLat();
+        Double maxLat = requestDto.getMaxLat();
+        Double minLng = requestDto.getMinLng();
+        Double maxLng = requestDto.getMaxLng();
+        if (minLat == null && maxLat == null && minLng == null && maxLng == null) {
+            return null;
+        }
+        if (minLat == null || maxLat == null || minLng == null || maxLng == null) {
+            throw new IllegalArgumentException("범위 조건은 minLat, maxLat, minLng, maxLng 를 모두 보내야 합니다.");
+        }
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("최소 위경도는 최대 위경도보다 클 수 없습니다.");
+        }
+        return new double[]{minLat, maxLat, minLng, maxLng};
     }
 
     /**
-     * 특정 지역의 장애물 신고 개수 조회
+     * 특정 지역의 장애물 신고 개수 조회 (reportType 이 null 이면 전체 타입)
      */
-    public Long getNearbyObstaclesCount(Double latitude, Double longitude, Double radius) {
-        log.info("특정 지역 장애물 신고 개수 조회 - 위치: ({}, {}), 반경: {}km", latitude, longitude, radius);
+    public Long getNearbyObstaclesCount(Double latitude, Double longitude, Double radius, ObstacleReport.ReportType reportType) {
+        log.info("특정 지역 장애물 신고 개수 조회 - 위치: ({}, {}), 반경: {}km, 타입: {}", latitude, longitude, radius, reportType);
 
-        Long count = obstacleReportRepository.countNearbyObstacles(latitude, longitude, radius);
+        Long count = obstacleCountIndex.isLoaded()
+                ? obstacleCountIndex.countNearby(latitude, longitude, radius, reportType)
+                : obstacleReportRepository.countNearbyObstacles(latitude, longitude, radius, reportType);
 
         log.info("특정 지역 장애물 신고 개수 조회 완료 - {}개", count);
         return count;
     }
+
+    /**
+     * 위경도 범위 안의 장애물 신고 개수 조회 (reportType 이 null 이면 전체 타입)
+     */
+    public Long getObstaclesCountInBounds(Double minLat, Double maxLat, Double minLng, Double maxLng,
+                                          ObstacleReport.ReportType reportType) {
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("최소 위경도는 최대 위경도보다 클 수 없습니다.");
+        }
+        log.info("범위 내 장애물 신고 개수 조회 - 범위: ({}, {}) ~ ({}, {}), 타입: {}", minLat, minLng, maxLat, maxLng, reportType);
+
+        Long count = obstacleCountIndex.isLoaded()
+                ? obstacleCountIndex.countInBounds(minLat, maxLat, minLng, maxLng, reportType)
+                : obstacleReportRepository.countInBounds(minLat, maxLat, minLng, maxLng, reportType);
+
+        log.info("범위 내 장애물 신고 개수 조회 완료 - {}개", count);
+        return count;
+    }
 }
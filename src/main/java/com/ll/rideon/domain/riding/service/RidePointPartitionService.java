@@ -0,0 +1,155 @@
+package com.ll.rideon.domain.riding.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * ride_point 월별 파티션 관리.
+ * 앞으로 쓰일 파티션을 미리 만들고, 보관 기간이 지난 파티션은 분리(DETACH)해서
+ * ride_point_archive_YYYYMM 테이블로 남겨 둔다.
+ * 파티션이 없던 달의 포인트가 기본 파티션(ride_point_default)에 먼저 들어가 있으면
+ * 기본 파티션을 잠시 분리하고 그 달의 행을 새 파티션으로 옮긴 뒤 다시 붙인다.
+ */
+@Slf4j
+@Service
+public class RidePointPartitionService {
+
+    private static final String PARTITION_PREFIX = "ride_point_";
+    private static final String DEFAULT_PARTITION = "ride_point_default";
+    private static final String ARCHIVE_PREFIX = "ride_point_archive_";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter failureCounter;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public RidePointPartitionService(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${riding.ride-point-partition.months-ahead:3}") int monthsAhead,
+                                     @Value("${riding.ride-point-partition.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.failureCounter = Counter.builder("rideon.riding.partition.failures")
+                .description("ride_point 파티션 생성/분리 실패 횟수")
+                .register(meterRegistry);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializePartitions() {
+        managePartitions();
+    }
+
+    @Scheduled(cron = "${riding.ride-point-partition.cron:0 0 3 * * *}")
+    public void managePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+
+        if (retentionMonths > 0) {
+            detachPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        String createSql = String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF ride_point FOR VALUES FROM ('%s') TO ('%s')",
+                partition, from, to);
+        try {
+            if (partitionExists(partition)) {
+                return;
+            }
+            if (!defaultPartitionHasRows(from, to)) {
+                jdbcTemplate.execute(createSql);
+                return;
+            }
+
+            // 기본 파티션에 그 달 데이터가 있으면 그대로는 생성이 실패하므로, 분리 -> 생성 -> 이동 -> 재부착을 한 트랜잭션으로 처리한다
+            Integer moved = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("ALTER TABLE ride_point DETACH PARTITION " + DEFAULT_PARTITION);
+                jdbcTemplate.execute(createSql);
+                int rows = jdbcTemplate.update(String.format(
+                        "INSERT INTO %s SELECT * FROM %s WHERE recorded_at >= '%s' AND recorded_at < '%s'",
+                        partition, DEFAULT_PARTITION, from, to));
+                jdbcTemplate.update(String.format(
+                        "DELETE FROM %s WHERE recorded_at >= '%s' AND recorded_at < '%s'",
+                        DEFAULT_PARTITION, from, to));
+                jdbcTemplate.execute("ALTER TABLE ride_point ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+                return rows;
+            });
+            log.warn("ride_point 기본 파티션에 있던 {} 데이터 {}행을 {} 로 옮김", month, moved, partition);
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("ride_point 파티션 생성 실패 - {}: {}", month, e.getMessage(), e);
+        }
+    }
+
+    private boolean partitionExists(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition));
+    }
+
+    private boolean defaultPartitionHasRows(String from, String to) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(String.format(
+                "SELECT EXISTS (SELECT 1 FROM %s WHERE recorded_at >= '%s' AND recorded_at < '%s')",
+                DEFAULT_PARTITION, from, to), Boolean.class));
+    }
+
+    private void detachPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'ride_point'
+                """, String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = parseMonth(partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+
+            String archive = ARCHIVE_PREFIX + month.format(SUFFIX_FORMAT);
+            try {
+                jdbcTemplate.execute("ALTER TABLE ride_point DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archive);
+                log.info("ride_point 파티션 보관 처리: {} -> {}", partition, archive);
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.error("ride_point 파티션 분리 실패 - {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private YearMonth parseMonth(String partition) {
+        String suffix = partition.substring(PARTITION_PREFIX.length());
+        try {
+            return YearMonth.parse(suffix, SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            // ride_point_default 등 월별 파티션이 아닌 경우
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import com.ll.rideon.domain.riding.stats.RideStatsAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ride_point 를 스트리밍으로 읽어 주행 통계를 다시 계산한다.
+ * 서버 재시작으로 누적값이 끊긴 세션의 종료 처리와, 통계가 비어 있는 과거 세션의 백필에 사용한다.
+ */
+@Slf4j
+@Service
+public class RideStatsService {
+
+    private static final String TRACK_SQL = """
+            SELECT latitude, longitude, speed_kmh, recorded_at
+            FROM ride_point
+            WHERE ride_session_id = ? AND recorded_at BETWEEN ? AND ?
+            ORDER BY recorded_at
+            """;
+
+    private static final String BACKFILL_TARGET_SQL = """
+            SELECT rs.id, rs.started_at, rs.ended_at, m.weight
+            FROM ride_session rs
+            LEFT JOIN members m ON m.id = rs.member_id
+            WHERE rs.status = 'COMPLETED' AND rs.total_distance_km IS NULL
+              AND rs.started_at IS NOT NULL
+            ORDER BY rs.id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_STATS_SQL = """
+            UPDATE ride_session
+            SET total_distance_km = ?, avg_speed_kmh = ?, max_speed_kmh = ?, calories_burned = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+    private final int backfillBatchSize;
+
+    public RideStatsService(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${riding.stats.fetch-size:1000}") int fetchSize,
+                            @Value("${riding.stats.backfill-batch-size:100}") int backfillBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fetchSize = fetchSize;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    /**
+     * 세션의 위치 포인트 전체를 시간순으로 읽어 통계를 계산한다.
+     * PostgreSQL 은 트랜잭션 안에서만 fetch size 단위 커서로 읽으므로 호출 측 트랜잭션 안에서 실행해야 한다.
+     */
+    public RideStatsAccumulator recompute(RidingSession session, Double weightKg) {
+        return recompute(session.getId(), session.getTrackWindowStart(), session.getTrackWindowEnd(), weightKg);
+    }
+
+    /**
+     * 통계가 비어 있는 종료된 세션을 한 번에 backfill-batch-size 개씩 채운다.
+     */
+    @Scheduled(cron = "${riding.stats.backfill-cron:0 30 3 * * *}")
+    public void backfillCompletedSessions() {
+        List<Object[]> targets = jdbcTemplate.query(BACKFILL_TARGET_SQL, (rs, rowNum) -> new Object[]{
+                rs.getLong("id"),
+                rs.getTimestamp("started_at").toLocalDateTime(),
+                rs.getTimestamp("ended_at") != null ? rs.getTimestamp("ended_at").toLocalDateTime() : null,
+                rs.getObject("weight") != null ? rs.getDouble("weight") : null
+        }, backfillBatchSize);
+
+        int completed = 0;
+        for (Object[] target : targets) {
+            Long sessionId = (Long) target[0];
+            LocalDateTime startedAt = (LocalDateTime) target[1];
+            LocalDateTime endedAt = target[2] != null ? (LocalDateTime) target[2] : startedAt;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    RideStatsAccumulator stats = recompute(sessionId,
+                            startedAt.minus(RidingSession.TRACK_WINDOW_MARGIN),
+                            endedAt.plus(RidingSession.TRACK_WINDOW_MARGIN),
+                            (Double) target[3]);
+                    jdbcTemplate.update(UPDATE_STATS_SQL,
+                            stats.getTotalDistanceKm(), stats.getAvgSpeedKmh(),
+                            stats.getMaxSpeedKmh(), stats.getCaloriesBurned(), sessionId);
+                });
+                completed++;
+            } catch (Exception e) {
+                log.error("주행 통계 백필 실패 - sessionId={}: {}", sessionId, e.getMessage(), e);
+            }
+        }
+
+        if (!targets.isEmpty()) {
+            log.info("주행 통계 백필: {}/{}건 완료", completed, targets.size());
+        }
+    }
+
+    private RideStatsAccumulator recompute(Long sessionId, LocalDateTime from, LocalDateTime to, Double weightKg) {
+        RideStatsAccumulator stats = new RideStatsAccumulator(weightKg);
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(TRACK_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, sessionId);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, rs -> {
+            float speed = rs.getFloat("speed_kmh");
+            Float speedKmh = rs.wasNull() ? null : speed;
+            stats.add(rs.getDouble("latitude"),
+                    rs.getDouble("longitude"),
+                    speedKmh,
+                    rs.getTimestamp("recorded_at").toLocalDateTime());
+        });
+
+        return stats;
+    }
+}
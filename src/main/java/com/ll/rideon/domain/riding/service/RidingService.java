@@ -1,6 +1,12 @@
 package com.ll.rideon.domain.riding.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ll.rideon.domain.members.entity.Members;
+import com.ll.rideon.domain.members.repository.UserRepository;
+import com.ll.rideon.domain.riding.buffer.RidingLocationWriteBuffer;
+import com.ll.rideon.domain.riding.dto.EncodedTrackResponseDto;
 import com.ll.rideon.domain.riding.dto.LocationUpdateRequestDto;
+import com.ll.rideon.domain.riding.dto.NetworkHistoryResponseDto;
 import com.ll.rideon.domain.riding.dto.NetworkRecommendation;
 import com.ll.rideon.domain.riding.dto.NetworkStatusRequestDto;
 import com.ll.rideon.domain.riding.dto.RidingSessionCreateRequestDto;
@@ -9,20 +15,40 @@ import com.ll.rideon.domain.riding.entity.NetworkStatus;
 import com.ll.rideon.domain.riding.entity.RidingLocation;
 import com.ll.rideon.domain.riding.entity.RidingSession;
 import com.ll.rideon.domain.riding.entity.RidingStatus;
+import com.ll.rideon.domain.riding.event.RidingSessionEndedEvent;
+import com.ll.rideon.domain.riding.filter.LocationFilterChain;
+import com.ll.rideon.domain.riding.geofence.ObstacleGeofenceEngine;
+import com.ll.rideon.domain.riding.network.RollupResolution;
+import com.ll.rideon.domain.riding.registry.ActiveSessionRegistry;
+import com.ll.rideon.domain.riding.registry.ActiveSessionState;
+import com.ll.rideon.domain.riding.registry.SessionHeartbeatWheel;
 import com.ll.rideon.domain.riding.repository.NetworkStatusRepository;
 import com.ll.rideon.domain.riding.repository.RidingLocationRepository;
 import com.ll.rideon.domain.riding.repository.RidingSessionRepository;
+import com.ll.rideon.domain.riding.stats.RideStatsAccumulator;
+import com.ll.rideon.domain.riding.track.TrackDetail;
+import com.ll.rideon.domain.riding.track.TrackEncoder;
 import com.ll.rideon.global.monitoring.MetricsService;
 import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -30,11 +56,25 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class RidingService {
 
+    private static final int MAX_LOCATION_BATCH_SIZE = 1000;
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final RidingSessionRepository ridingSessionRepository;
     private final RidingLocationRepository ridingLocationRepository;
+    private final RidingLocationWriteBuffer ridingLocationWriteBuffer;
+    private final LocationFilterChain locationFilterChain;
+    private final ActiveSessionRegistry activeSessionRegistry;
     private final NetworkStatusRepository networkStatusRepository;
     private final NetworkMonitoringService networkMonitoringService;
+    private final RideStatsService rideStatsService;
+    private final TrackSimplificationService trackSimplificationService;
+    private final ObstacleGeofenceEngine obstacleGeofenceEngine;
+    private final SessionHeartbeatWheel sessionHeartbeatWheel;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
     private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RidingSessionResponseDto createRidingSession(Long userId, RidingSessionCreateRequestDto requestDto) {
@@ -52,6 +92,8 @@ public class RidingService {
                     .build();
 
             RidingSession savedSession = ridingSessionRepository.save(session);
+            activeSessionRegistry.register(savedSession, findWeightKg(userId));
+            sessionHeartbeatWheel.touch(savedSession.getId());
             
             // 메트릭 기록
             metricsService.incrementRidingSessionCreated();
@@ -63,37 +105,33 @@ public class RidingService {
         }
     }
 
-    @Transactional
-    public void updateLocation(Long sessionId, LocationUpdateRequestDto requestDto) {
+    /**
+     * 세션 검증과 마지막 위치 갱신은 ActiveSessionRegistry 에서 메모리로 처리하므로
+     * DB 커넥션을 잡지 않도록 트랜잭션 없이 실행한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateLocation(Long sessionId, Long userId, LocationUpdateRequestDto requestDto) {
         Timer.Sample timer = metricsService.startLocationUpdateTimer();
         
         try {
-            RidingSession session = ridingSessionRepository.findById(sessionId)
-                    .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
-
-            // 위치 정보 저장
-            RidingLocation location = RidingLocation.builder()
-                    .rideSessionId(sessionId)
-                    .latitude(requestDto.getLatitude())
-                    .longitude(requestDto.getLongitude())
-                    .speedKmh(requestDto.getSpeedKmh())
-                    .altitude(requestDto.getAltitude())
-                    .accuracy(requestDto.getAccuracy())
-                    .heading(requestDto.getHeading())
-                    .recordedAt(requestDto.getRecordedAt() != null ? requestDto.getRecordedAt() : LocalDateTime.now())
-                    .networkQuality(requestDto.getNetworkQuality())
-                    .batteryLevel(requestDto.getBatteryLevel())
-                    .isOfflineSync(requestDto.getIsOfflineSync())
-                    .build();
+            ActiveSessionState state = activeSessionRegistry.require(sessionId);
+            state.validateTrackable(userId);
+            sessionHeartbeatWheel.touch(sessionId);
 
-            ridingLocationRepository.save(location);
+            // 정확도/속도/정지 필터를 통과한 포인트만 저장
+            List<RidingLocation> accepted = locationFilterChain.filter(
+                    state.getFilterContext(), List.of(toRidingLocation(sessionId, requestDto)));
 
-            // 세션의 마지막 위치 업데이트
-            session.updateLocation(requestDto.getLatitude(), requestDto.getLongitude(), location.getRecordedAt());
+            if (!accepted.isEmpty()) {
+                // 위치 정보는 write-behind 버퍼에 넣고 플러시 스레드가 배치로 저장
+                RidingLocation location = accepted.get(0);
+                ridingLocationWriteBuffer.enqueue(location);
 
-            // 네트워크 품질 업데이트
-            if (requestDto.getNetworkQuality() != null) {
-                session.updateNetworkQuality(requestDto.getNetworkQuality());
+                // 세션의 마지막 위치/네트워크 품질 업데이트 (주기적으로 ride_session 에 반영)
+                state.recordLocation(location);
+
+                // 장애물 알림을 구독 중이면 새 셀 진입 여부 확인
+                obstacleGeofenceEngine.onLocation(sessionId, location.getLatitude(), location.getLongitude());
             }
 
             // 메트릭 기록
@@ -106,10 +144,53 @@ public class RidingService {
         }
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateLocations(Long sessionId, Long userId, List<LocationUpdateRequestDto> requestDtos) {
+        if (requestDtos == null || requestDtos.isEmpty()) {
+            throw new IllegalArgumentException("위치 정보가 비어 있습니다.");
+        }
+        if (requestDtos.size() > MAX_LOCATION_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 전송할 수 있는 위치 정보는 최대 " + MAX_LOCATION_BATCH_SIZE + "개입니다.");
+        }
+
+        Timer.Sample timer = metricsService.startLocationUpdateTimer();
+
+        try {
+            ActiveSessionState state = activeSessionRegistry.require(sessionId);
+            state.validateTrackable(userId);
+            sessionHeartbeatWheel.touch(sessionId);
+
+            List<RidingLocation> locations = locationFilterChain.filter(state.getFilterContext(),
+                    requestDtos.stream()
+                            .map(requestDto -> toRidingLocation(sessionId, requestDto))
+                            .toList());
+
+            if (!locations.isEmpty()) {
+                // 다중 행 배치 INSERT 한 번으로 저장
+                ridingLocationRepository.batchInsert(locations);
+
+                // 주행 통계 누적, 세션의 마지막 위치는 가장 최근 포인트 기준으로만 갱신
+                state.recordLocations(locations);
+
+                if (state.getLastLocationLat() != null && state.getLastLocationLng() != null) {
+                    obstacleGeofenceEngine.onLocation(sessionId, state.getLastLocationLat(), state.getLastLocationLng());
+                }
+            }
+
+            // 메트릭 기록
+            metricsService.incrementLocationUpdates(requestDtos.size());
+
+            log.debug("위치 일괄 업데이트: sessionId={}, received={}, saved={}",
+                    sessionId, requestDtos.size(), locations.size());
+        } finally {
+            metricsService.stopLocationUpdateTimer(timer);
+        }
+    }
+
     @Transactional
-    public void updateNetworkStatus(Long sessionId, NetworkStatusRequestDto requestDto) {
-        RidingSession session = ridingSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+    public void updateNetworkStatus(Long sessionId, Long userId, NetworkStatusRequestDto requestDto) {
+        activeSessionRegistry.require(sessionId).validateOwner(userId);
+        sessionHeartbeatWheel.touch(sessionId);
 
         NetworkStatus networkStatus = NetworkStatus.builder()
                 .rideSessionId(sessionId)
@@ -140,46 +221,87 @@ public class RidingService {
         RidingSession session = ridingSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
 
+        // 종료 중으로 표시하고(커밋 후 레지스트리에서 제거) 메모리에만 있던 마지막 위치/네트워크 상태를 엔티티에 반영
+        ActiveSessionState state = activeSessionRegistry.beginEnd(session);
+        state.applyTo(session);
+        obstacleGeofenceEngine.unsubscribe(sessionId);
+        sessionHeartbeatWheel.cancel(sessionId);
+
         session.endSession();
-        
+
+        // 버퍼를 닫고 이 세션의 위치 정보가 모두 저장될 때까지 기다린다 (통계 재계산과 커밋 후 경로 단순화가 전체 포인트를 읽도록)
+        ridingLocationWriteBuffer.closeSession(sessionId);
+
+        // 주행 통계 반영 - 누적값이 없으면(서버 재시작 등) 저장된 포인트로 다시 계산
+        RideStatsAccumulator stats = state.getStats() != null
+                ? state.getStats()
+                : rideStatsService.recompute(session, findWeightKg(session.getMemberId()));
+        session.updateStatistics(stats.getTotalDistanceKm(), stats.getAvgSpeedKmh(),
+                stats.getMaxSpeedKmh(), stats.getCaloriesBurned());
+
+        // 단순화 경로 저장과 네트워크 상태 구간 요약 확정은 커밋 후 RidingSessionEndProcessor 가 처리
+        eventPublisher.publishEvent(new RidingSessionEndedEvent(sessionId));
+
         // 메트릭 기록
         metricsService.incrementRidingSessionCompleted();
         
         // 오프라인 동기화 데이터 처리
-        List<RidingLocation> offlineLocations = ridingLocationRepository
-                .findOfflineSyncLocationsBySessionId(sessionId);
+        List<RidingLocation> offlineLocations = ridingLocationRepository.findOfflineSyncLocationsBySessionId(
+                sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd());
         
         if (!offlineLocations.isEmpty()) {
             log.info("오프라인 동기화 데이터 처리: sessionId={}, count={}", sessionId, offlineLocations.size());
-            ridingLocationRepository.markAllAsSynced(sessionId);
+            ridingLocationRepository.markAllAsSynced(sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd());
         }
 
         log.info("라이딩 세션 종료: sessionId={}", sessionId);
     }
 
+    /**
+     * 진행 중인 세션의 주변 장애물 알림 스트림을 연다.
+     */
+    public SseEmitter subscribeObstacleAlerts(Long sessionId, Long userId) {
+        ActiveSessionState state = activeSessionRegistry.require(sessionId);
+        state.validateOwner(userId);
+        return obstacleGeofenceEngine.subscribe(sessionId, userId, state.getLastLocationLat(), state.getLastLocationLng());
+    }
+
     @Transactional
     public void pauseRidingSession(Long sessionId) {
-        RidingSession session = ridingSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
-
-        session.pauseSession();
+        // 메모리 상태는 롤백되면 레지스트리가 되돌린다
+        activeSessionRegistry.pause(sessionId);
+        ridingSessionRepository.updateStatus(sessionId, RidingStatus.PAUSED);
+        // 일시정지 중에는 위치를 보내지 않으므로 커밋 후 끊김 감시를 멈춘다
+        afterCommit(() -> sessionHeartbeatWheel.cancel(sessionId));
         log.info("라이딩 세션 일시정지: sessionId={}", sessionId);
     }
 
     @Transactional
     public void resumeRidingSession(Long sessionId) {
-        RidingSession session = ridingSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
-
-        session.resumeSession();
+        activeSessionRegistry.resume(sessionId);
+        ridingSessionRepository.updateStatus(sessionId, RidingStatus.ACTIVE);
+        afterCommit(() -> sessionHeartbeatWheel.touch(sessionId));
         log.info("라이딩 세션 재개: sessionId={}", sessionId);
     }
 
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     public RidingSessionResponseDto getRidingSession(Long sessionId) {
         RidingSession session = ridingSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
 
-        return RidingSessionResponseDto.from(session);
+        return toResponseDto(session);
     }
 
     public Page<RidingSessionResponseDto> getUserRidingSessions(Long userId, Pageable pageable) {
@@ -188,10 +310,83 @@ public class RidingService {
     }
 
     public List<RidingLocation> getRidingLocations(Long sessionId) {
-        return ridingLocationRepository.findByRideSessionIdOrderByRecordedAtAsc(sessionId);
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        // 세션 시간 범위로 조회해 해당 월 파티션만 읽도록 한다
+        return ridingLocationRepository.findBySessionIdAndTimeRange(
+                sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd());
+    }
+
+    /**
+     * 경로를 polyline/델타 인코딩된 압축 형태로 조회한다. (리플레이 화면용)
+     */
+    public EncodedTrackResponseDto getEncodedRidingLocations(Long sessionId) {
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        TrackEncoder encoder = new TrackEncoder();
+        ridingLocationRepository.forEachTrackPoint(
+                sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd(), encoder::add);
+
+        return encoder.toResponse(sessionId);
+    }
+
+    /**
+     * 상세도별 단순화 경로를 조회한다. (low: 50m, medium: 10m, high: 1m 허용 오차)
+     */
+    public EncodedTrackResponseDto getSimplifiedRidingLocations(Long sessionId, TrackDetail detail) {
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        return trackSimplificationService.getSimplifiedTrack(session, detail);
+    }
+
+    /**
+     * 경로를 NDJSON(한 줄에 포인트 하나)으로 스트리밍한다.
+     * 커서로 읽은 행은 쓰고 나서 바로 영속성 컨텍스트에서 분리하므로 경로 길이와 관계없이 메모리 사용량이 일정하다.
+     */
+    public void exportRidingLocations(Long sessionId, OutputStream outputStream) throws IOException {
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        try (Stream<RidingLocation> locations = ridingLocationRepository.streamBySessionIdAndTimeRange(
+                sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd())) {
+            int written = 0;
+            for (Iterator<RidingLocation> it = locations.iterator(); it.hasNext(); ) {
+                RidingLocation location = it.next();
+                outputStream.write(objectMapper.writeValueAsBytes(location));
+                outputStream.write('\n');
+                entityManager.detach(location);
+
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            }
+            outputStream.flush();
+        }
     }
 
-    public NetworkRecommendation getNetworkRecommendation(Long sessionId) {
+    /**
+     * 네트워크 상태 이력을 구간 요약으로 조회한다. 기간을 생략하면 세션 전체, 구간 크기를 생략하면 기간에 맞춰 고른다.
+     */
+    public NetworkHistoryResponseDto getNetworkHistory(Long sessionId, LocalDateTime startTime, LocalDateTime endTime,
+                                                       RollupResolution resolution) {
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        LocalDateTime from = startTime != null ? startTime : session.getTrackWindowStart();
+        LocalDateTime to = endTime != null ? endTime : session.getTrackWindowEnd();
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 시작 시각이 종료 시각보다 늦습니다.");
+        }
+
+        return networkMonitoringService.getNetworkHistory(sessionId, from, to,
+                resolution != null ? resolution : RollupResolution.forRange(from, to));
+    }
+
+    public NetworkRecommendation getNetworkRecommendation(Long sessionId, Long userId) {
+        activeSessionRegistry.require(sessionId).validateOwner(userId);
         return networkMonitoringService.getNetworkRecommendation(sessionId);
     }
 
@@ -199,17 +394,53 @@ public class RidingService {
         RidingSession session = ridingSessionRepository.findActiveSessionByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("진행 중인 라이딩 세션이 없습니다."));
 
-        return RidingSessionResponseDto.from(session);
+        return toResponseDto(session);
     }
 
     @Transactional
     public void syncOfflineData(Long sessionId) {
-        List<RidingLocation> offlineLocations = ridingLocationRepository
-                .findOfflineSyncLocationsBySessionId(sessionId);
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+
+        ridingLocationWriteBuffer.flushSession(sessionId);
+
+        List<RidingLocation> offlineLocations = ridingLocationRepository.findOfflineSyncLocationsBySessionId(
+                sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd());
 
         if (!offlineLocations.isEmpty()) {
             log.info("오프라인 데이터 동기화: sessionId={}, count={}", sessionId, offlineLocations.size());
-            ridingLocationRepository.markAllAsSynced(sessionId);
+            ridingLocationRepository.markAllAsSynced(sessionId, session.getTrackWindowStart(), session.getTrackWindowEnd());
         }
     }
-} 
\ No newline at end of file
+
+    private Double findWeightKg(Long userId) {
+        return userRepository.findById(userId)
+                .map(Members::getWeight)
+                .orElse(null);
+    }
+
+    /**
+     * 진행 중인 세션은 아직 ride_session 에 저장되지 않은 최신 상태를 함께 내려준다.
+     */
+    private RidingSessionResponseDto toResponseDto(RidingSession session) {
+        return activeSessionRegistry.find(session.getId())
+                .map(state -> RidingSessionResponseDto.from(session, state))
+                .orElseGet(() -> RidingSessionResponseDto.from(session));
+    }
+
+    private RidingLocation toRidingLocation(Long sessionId, LocationUpdateRequestDto requestDto) {
+        return RidingLocation.builder()
+                .rideSessionId(sessionId)
+                .latitude(requestDto.getLatitude())
+                .longitude(requestDto.getLongitude())
+                .speedKmh(requestDto.getSpeedKmh())
+                .altitude(requestDto.getAltitude())
+                .accuracy(requestDto.getAccuracy())
+                .heading(requestDto.getHeading())
+                .recordedAt(requestDto.getRecordedAt() != null ? requestDto.getRecordedAt() : LocalDateTime.now())
+                .networkQuality(requestDto.getNetworkQuality())
+                .batteryLevel(requestDto.getBatteryLevel())
+                .isOfflineSync(requestDto.getIsOfflineSync())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.event.RidingSessionEndedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라이딩 종료가 커밋된 뒤 세션 전체를 다시 읽는 후속 작업을 별도 스레드에서 처리한다.
+ * 종료 요청의 트랜잭션과 응답 시간에 세션 전체 경로 단순화와 구간 요약 재계산이 묶이지 않게 한다.
+ * 작업이 밀려 버려지거나 실패해도 단순화 경로는 조회 시 바로 계산하고, 구간 요약은 원본 삭제 전에 다시 맞추므로 결과는 맞춰진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RidingSessionEndProcessor {
+
+    private static final int QUEUE_CAPACITY = 1_000;
+
+    private final TrackSimplificationService trackSimplificationService;
+    private final NetworkStatusRollupService networkStatusRollupService;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "riding-session-end");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRidingSessionEnded(RidingSessionEndedEvent event) {
+        Long sessionId = event.getSessionId();
+        try {
+            executor.execute(() -> process(sessionId));
+        } catch (RejectedExecutionException e) {
+            log.warn("라이딩 종료 후속 작업 대기열이 가득 참 - 세션: {}", sessionId);
+        }
+    }
+
+    private void process(Long sessionId) {
+        try {
+            // 지도/목록 화면용 단순화 경로 저장
+            trackSimplificationService.storeSimplifiedTracks(sessionId);
+        } catch (Exception e) {
+            log.error("단순화 경로 저장 실패 - 세션: {}: {}", sessionId, e.getMessage(), e);
+        }
+        try {
+            // 네트워크 상태 구간 요약을 세션 전체 샘플로 확정
+            networkStatusRollupService.rollupSession(sessionId);
+        } catch (Exception e) {
+            log.error("네트워크 상태 구간 요약 확정 실패 - 세션: {}: {}", sessionId, e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
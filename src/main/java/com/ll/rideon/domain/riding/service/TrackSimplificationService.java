@@ -0,0 +1,87 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.dto.EncodedTrackResponseDto;
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import com.ll.rideon.domain.riding.entity.RidingTrackSimplified;
+import com.ll.rideon.domain.riding.repository.RidingLocationRepository;
+import com.ll.rideon.domain.riding.repository.RidingSessionRepository;
+import com.ll.rideon.domain.riding.repository.RidingTrackSimplifiedRepository;
+import com.ll.rideon.domain.riding.track.TrackDetail;
+import com.ll.rideon.domain.riding.track.TrackEncoder;
+import com.ll.rideon.domain.riding.track.TrackPoint;
+import com.ll.rideon.domain.riding.track.TrackSimplifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 라이딩 경로를 상세도별로 단순화해 저장/조회한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TrackSimplificationService {
+
+    private final RidingLocationRepository ridingLocationRepository;
+    private final RidingTrackSimplifiedRepository ridingTrackSimplifiedRepository;
+    private final RidingSessionRepository ridingSessionRepository;
+
+    /**
+     * 세션 경로를 한 번 읽어 모든 상세도의 단순화 경로를 계산하고 저장한다. (세션 종료 커밋 후)
+     */
+    @Transactional
+    public void storeSimplifiedTracks(Long sessionId) {
+        RidingSession session = ridingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("라이딩 세션을 찾을 수 없습니다."));
+        TrackSimplifier simplifier = new TrackSimplifier(loadTrack(session));
+
+        ridingTrackSimplifiedRepository.deleteBySessionId(session.getId());
+
+        List<RidingTrackSimplified> tracks = new ArrayList<>();
+        for (TrackDetail detail : TrackDetail.values()) {
+            EncodedTrackResponseDto encoded = encode(session.getId(), detail, simplifier.simplify(detail.getToleranceMeters()));
+            tracks.add(RidingTrackSimplified.builder()
+                    .rideSessionId(session.getId())
+                    .detail(detail)
+                    .pointCount(encoded.getPointCount())
+                    .startTime(encoded.getStartTime())
+                    .polyline(encoded.getPolyline())
+                    .times(encoded.getTimes())
+                    .speeds(encoded.getSpeeds())
+                    .altitudes(encoded.getAltitudes())
+                    .build());
+        }
+        ridingTrackSimplifiedRepository.saveAll(tracks);
+
+        log.debug("단순화 경로 저장: sessionId={}, points={}", session.getId(),
+                tracks.stream().map(RidingTrackSimplified::getPointCount).toList());
+    }
+
+    /**
+     * 저장된 단순화 경로를 반환한다. 진행 중이거나 아직 계산되지 않은 세션은 바로 계산해서 반환한다.
+     */
+    public EncodedTrackResponseDto getSimplifiedTrack(RidingSession session, TrackDetail detail) {
+        return ridingTrackSimplifiedRepository.findBySessionIdAndDetail(session.getId(), detail)
+                .map(EncodedTrackResponseDto::from)
+                .orElseGet(() -> encode(session.getId(), detail,
+                        new TrackSimplifier(loadTrack(session)).simplify(detail.getToleranceMeters())));
+    }
+
+    private List<TrackPoint> loadTrack(RidingSession session) {
+        List<TrackPoint> points = new ArrayList<>();
+        ridingLocationRepository.forEachTrackPoint(
+                session.getId(), session.getTrackWindowStart(), session.getTrackWindowEnd(), points::add);
+        return points;
+    }
+
+    private EncodedTrackResponseDto encode(Long sessionId, TrackDetail detail, List<TrackPoint> points) {
+        TrackEncoder encoder = new TrackEncoder();
+        points.forEach(encoder::add);
+        return encoder.toResponse(sessionId, detail);
+    }
+}
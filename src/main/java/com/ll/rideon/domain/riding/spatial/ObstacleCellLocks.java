@@ -0,0 +1,82 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 장애물 신고 생성 시 위치별로 직렬화하기 위한 격자 셀 단위 락.
+ * 셀 키를 고정 개수의 락 줄무늬(stripe)에 나눠 담고, 반경이 걸치는 셀들의 락을 번호 순으로 잡아 교착을 피한다.
+ * 락은 트랜잭션이 끝난 뒤(커밋 후 인덱스 반영까지 마친 뒤) 풀린다.
+ */
+@Component
+public class ObstacleCellLocks {
+
+    private static final int STRIPES = 256;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final double cellSizeDegrees;
+
+    public ObstacleCellLocks(@Value("${obstacle.index.cell-size-degrees:0.01}") double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 좌표 주변 반경(m)이 걸치는 셀들의 락을 잡고, 현재 트랜잭션이 끝나면 푼다.
+     */
+    public void lockUntilCompletion(double latitude, double longitude, double radiusMeters) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("셀 락은 트랜잭션 안에서만 사용할 수 있습니다.");
+        }
+
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lngDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (long row = index(latitude - latDelta); row <= index(latitude + latDelta); row++) {
+            for (long col = index(longitude - lngDelta); col <= index(longitude + lngDelta); col++) {
+                stripes.add(stripe(row, col));
+            }
+        }
+
+        int[] held = new int[stripes.size()];
+        int count = 0;
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+            held[count++] = stripe;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // 같은 afterCompletion 단계의 인덱스 반영 리스너보다 나중에 실행
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = held.length - 1; i >= 0; i--) {
+                    locks[held[i]].unlock();
+                }
+            }
+        });
+    }
+
+    private long index(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static int stripe(long row, long col) {
+        long hash = row * 31 + col;
+        hash ^= (hash >>> 17);
+        return (int) Math.floorMod(hash, (long) STRIPES);
+    }
+}
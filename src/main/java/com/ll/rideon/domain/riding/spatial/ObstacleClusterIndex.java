@@ -0,0 +1,326 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleClusterResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import com.ll.rideon.domain.riding.repository.ObstacleReportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 줌 레벨별 장애물 클러스터 집계.
+ * 지도 타일(256px) 하나를 8x8 칸으로 나눈 Web Mercator 격자를 줌 0~{@value #MAX_ZOOM} 전부에 대해 미리 집계해 두고,
+ * 신고가 바뀌면 해당 신고가 속한 줌별 칸 하나씩만 갱신한다.
+ * 응답 크기는 데이터 양이 아니라 화면에 들어오는 칸 수로 제한된다.
+ */
+@Slf4j
+@Component
+public class ObstacleClusterIndex implements SmartInitializingSingleton {
+
+    public static final int MAX_ZOOM = 18;
+    /** 타일 하나를 2^CELL_BITS x 2^CELL_BITS 칸으로 나눈다 (칸 하나 = 32px) */
+    private static final int CELL_BITS = 3;
+    /** 한 번에 조회할 수 있는 최대 칸 수 (약 4K 화면 기준) */
+    public static final int MAX_CELLS = 16384;
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+    private static final int TYPE_COUNT = ObstacleReport.ReportType.values().length;
+
+    private final ObstacleReportRepository obstacleReportRepository;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, ClusterCell>[] levels = new Map[MAX_ZOOM + 1];
+    private final Map<Long, Member> members = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile boolean loaded;
+
+    public ObstacleClusterIndex(ObstacleReportRepository obstacleReportRepository) {
+        this.obstacleReportRepository = obstacleReportRepository;
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels[zoom] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * 격자 인덱스와 마찬가지로 웹 서버가 요청을 받기 전에 집계해, 집계 중 반영된 변경이 교체로 지워지지 않게 한다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<ObstacleReportSummaryDto> reports =
+                obstacleReportRepository.findActiveSummaries();
+
+        List<Map<Long, ClusterCell>> built = new ArrayList<>(MAX_ZOOM + 1);
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            built.add(new HashMap<>());
+        }
+        Map<Long, Member> builtMembers = new HashMap<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            if (report.getLatitude() == null || report.getLongitude() == null) {
+                continue;
+            }
+            Member member = new Member(report.getId(), report.getLatitude(), report.getLongitude(), report.getReportType());
+            builtMembers.put(member.id, member);
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                built.get(zoom).merge(member.cellKey(zoom), ClusterCell.EMPTY.plus(member), (a, b) -> a.plus(member));
+            }
+        }
+
+        synchronized (writeLock) {
+            members.clear();
+            members.putAll(builtMembers);
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                levels[zoom].clear();
+                levels[zoom].putAll(built.get(zoom));
+            }
+            loaded = true;
+        }
+        log.info("장애물 클러스터 집계 완료 - {}개, 줌 {}~{}", builtMembers.size(), 0, MAX_ZOOM);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObstacleReportChanged(ObstacleReportChangedEvent event) {
+        ObstacleReportResponseDto report = event.getReport();
+        if (!report.getStatus().isActive()
+                || report.getLatitude() == null || report.getLongitude() == null) {
+            remove(report.getId());
+        } else {
+            upsert(new Member(report.getId(), report.getLatitude(), report.getLongitude(), report.getReportType()));
+        }
+    }
+
+    public void remove(Long reportId) {
+        synchronized (writeLock) {
+            Member previous = members.remove(reportId);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        }
+    }
+
+    private void upsert(Member member) {
+        synchronized (writeLock) {
+            Member previous = members.put(member.id, member);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(member, 1);
+        }
+    }
+
+    private void apply(Member member, int sign) {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            long key = member.cellKey(zoom);
+            ClusterCell current = levels[zoom].getOrDefault(key, ClusterCell.EMPTY);
+            ClusterCell updated = sign > 0 ? current.plus(member) : current.minus(member);
+            if (updated.count == 0) {
+                levels[zoom].remove(key);
+            } else {
+                levels[zoom].put(key, updated);
+            }
+        }
+    }
+
+    /**
+     * 범위 안의 클러스터를 반환한다. 줌이 {@value #MAX_ZOOM} 보다 크면 {@value #MAX_ZOOM} 기준으로 묶는다.
+     */
+    public List<ObstacleClusterResponseDto> findClusters(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        int level = Math.min(zoom, MAX_ZOOM);
+        CellRange range = CellRange.of(minLat, maxLat, minLng, maxLng, level);
+        Map<Long, ClusterCell> cells = levels[level];
+
+        List<ObstacleClusterResponseDto> clusters = new ArrayList<>();
+        if (range.size() <= cells.size()) {
+            for (long x = range.minX; x <= range.maxX; x++) {
+                for (long y = range.minY; y <= range.maxY; y++) {
+                    ClusterCell cell = cells.get(key(x, y));
+                    if (cell != null) {
+                        clusters.add(cell.toResponse());
+                    }
+                }
+            }
+        } else {
+            cells.forEach((key, cell) -> {
+                if (range.contains(key)) {
+                    clusters.add(cell.toResponse());
+                }
+            });
+        }
+        return clusters;
+    }
+
+    /**
+     * 인덱스가 준비되지 않았을 때 DB 에서 읽은 장애물로 같은 방식의 클러스터를 만든다.
+     */
+    public static List<ObstacleClusterResponseDto> aggregate(List<ObstacleReportSummaryDto> reports,
+                                                             double minLat, double maxLat, double minLng, double maxLng,
+                                                             int zoom) {
+        int level = Math.min(zoom, MAX_ZOOM);
+        CellRange range = CellRange.of(minLat, maxLat, minLng, maxLng, level);
+
+        Map<Long, ClusterCell> cells = new HashMap<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            if (report.getLatitude() == null || report.getLongitude() == null) {
+                continue;
+            }
+            Member member = new Member(report.getId(), report.getLatitude(), report.getLongitude(), report.getReportType());
+            long key = member.cellKey(level);
+            if (range.contains(key)) {
+                cells.merge(key, ClusterCell.EMPTY.plus(member), (a, b) -> a.plus(member));
+            }
+        }
+
+        List<ObstacleClusterResponseDto> clusters = new ArrayList<>(cells.size());
+        cells.values().forEach(cell -> clusters.add(cell.toResponse()));
+        return clusters;
+    }
+
+    private static long cellX(double longitude, int zoom) {
+        long cells = 1L << (zoom + CELL_BITS);
+        long x = (long) Math.floor((longitude + 180.0) / 360.0 * cells);
+        return Math.max(0, Math.min(cells - 1, x));
+    }
+
+    private static long cellY(double latitude, int zoom) {
+        long cells = 1L << (zoom + CELL_BITS);
+        double lat = Math.toRadians(Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude)));
+        double mercator = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+        long y = (long) Math.floor(mercator * cells);
+        return Math.max(0, Math.min(cells - 1, y));
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+
+    private static final class CellRange {
+
+        private final long minX;
+        private final long maxX;
+        private final long minY;
+        private final long maxY;
+
+        private CellRange(long minX, long maxX, long minY, long maxY) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+
+        static CellRange of(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+            // 화면 y 축은 위도와 반대 방향
+            CellRange range = new CellRange(cellX(minLng, zoom), cellX(maxLng, zoom), cellY(maxLat, zoom), cellY(minLat, zoom));
+            if (range.size() > MAX_CELLS) {
+                throw new IllegalArgumentException("조회 범위가 줌 레벨에 비해 너무 넓습니다. 줌 레벨을 낮추거나 범위를 줄여 주세요.");
+            }
+            return range;
+        }
+
+        long size() {
+            return (maxX - minX + 1) * (maxY - minY + 1);
+        }
+
+        boolean contains(long key) {
+            long x = key >>> 32;
+            long y = key & 0xffffffffL;
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+    }
+
+    private static final class Member {
+
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final ObstacleReport.ReportType reportType;
+
+        private Member(long id, double latitude, double longitude, ObstacleReport.ReportType reportType) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.reportType = reportType;
+        }
+
+        long cellKey(int zoom) {
+            return key(cellX(longitude, zoom), cellY(latitude, zoom));
+        }
+    }
+
+    /**
+     * 칸 하나의 불변 집계값. 개수, 좌표 합(중심 계산용), 신고 ID 합(개수가 1일 때 그 신고의 ID), 타입별 개수를 담는다.
+     */
+    private static final class ClusterCell {
+
+        private static final ClusterCell EMPTY = new ClusterCell(0, 0, 0, 0, new int[TYPE_COUNT]);
+
+        private final int count;
+        private final double latitudeSum;
+        private final double longitudeSum;
+        private final long idSum;
+        private final int[] typeCounts;
+
+        private ClusterCell(int count, double latitudeSum, double longitudeSum, long idSum, int[] typeCounts) {
+            this.count = count;
+            this.latitudeSum = latitudeSum;
+            this.longitudeSum = longitudeSum;
+            this.idSum = idSum;
+            this.typeCounts = typeCounts;
+        }
+
+        ClusterCell plus(Member member) {
+            return change(member, 1);
+        }
+
+        ClusterCell minus(Member member) {
+            return change(member, -1);
+        }
+
+        private ClusterCell change(Member member, int sign) {
+            int[] types = typeCounts.clone();
+            if (member.reportType != null) {
+                types[member.reportType.ordinal()] += sign;
+            }
+            if (count + sign == 0) {
+                return new ClusterCell(0, 0, 0, 0, types);
+            }
+            return new ClusterCell(count + sign, latitudeSum + sign * member.latitude,
+                    longitudeSum + sign * member.longitude, idSum + sign * member.id, types);
+        }
+
+        ObstacleClusterResponseDto toResponse() {
+            Map<ObstacleReport.ReportType, Integer> byType = new EnumMap<>(ObstacleReport.ReportType.class);
+            ObstacleReport.ReportType[] values = ObstacleReport.ReportType.values();
+            for (int i = 0; i < TYPE_COUNT; i++) {
+                if (typeCounts[i] > 0) {
+                    byType.put(values[i], typeCounts[i]);
+                }
+            }
+            return ObstacleClusterResponseDto.builder()
+                    .latitude(latitudeSum / count)
+                    .longitude(longitudeSum / count)
+                    .count(count)
+                    .reportId(count == 1 ? idSum : null)
+                    .typeCounts(byType)
+                    .build();
+        }
+    }
+}
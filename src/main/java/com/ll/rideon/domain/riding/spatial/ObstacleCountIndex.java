@@ -0,0 +1,490 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 격자 셀 x 신고 타입별 활성 장애물 개수 집계.
+ * 셀을 regionCells x regionCells 개씩 묶은 구역마다 누적 합 테이블(summed-area table)을 두어
+ * 셀 경계에 맞는 사각형 개수는 구역당 O(1) 로 구하고, 경계에 걸친 셀만 ObstacleGridIndex 의 좌표로 정확히 센다.
+ * 집계는 ObstacleGridIndex 변경 알림으로 갱신하고, 바뀐 셀만 주기적으로 obstacle_cell_count 에 저장한다.
+ */
+@Slf4j
+@Component
+public class ObstacleCountIndex implements ObstacleGridIndex.ChangeListener {
+
+    private static final ObstacleReport.ReportType[] TYPES = ObstacleReport.ReportType.values();
+    private static final int TYPE_COUNT = TYPES.length;
+    /** 누적 합 테이블에서 전체 타입 합이 들어가는 칸 */
+    private static final int ALL_TYPES = TYPE_COUNT;
+
+    private static final String DELETE_CELL_SQL =
+            "DELETE FROM obstacle_cell_count WHERE cell_row = ? AND cell_col = ?";
+    private static final String INSERT_CELL_SQL = """
+            INSERT INTO obstacle_cell_count (cell_row, cell_col, report_type, report_count, cell_size_degrees, updated_at)
+            VALUES (?, ?, CAST(? AS report_type), ?, ?, NOW())
+            """;
+
+    private final ObstacleGridIndex obstacleGridIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double cellSizeDegrees;
+    private final int regionCells;
+
+    private volatile Map<Long, Region> regions = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyCells = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullFlushPending;
+
+    public ObstacleCountIndex(ObstacleGridIndex obstacleGridIndex,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${obstacle.count.cell-size-degrees:0.005}") double cellSizeDegrees,
+                              @Value("${obstacle.count.region-cells:32}") int regionCells) {
+        this.obstacleGridIndex = obstacleGridIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.regionCells = regionCells;
+    }
+
+    @PostConstruct
+    void register() {
+        obstacleGridIndex.addChangeListener(this);
+    }
+
+    public boolean isLoaded() {
+        return obstacleGridIndex.isLoaded();
+    }
+
+    @Override
+    public void onReloaded(List<ObstacleReportSummaryDto> reports) {
+        Map<Long, Region> built = new ConcurrentHashMap<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            apply(built, report, 1);
+        }
+        regions = built;
+        dirtyCells.clear();
+        fullFlushPending = true;
+        log.info("장애물 개수 집계 완료 - {}개, 구역 {}개", reports.size(), built.size());
+    }
+
+    @Override
+    public void onAdded(ObstacleReportSummaryDto report) {
+        apply(regions, report, 1);
+    }
+
+    @Override
+    public void onRemoved(ObstacleReportSummaryDto report) {
+        apply(regions, report, -1);
+    }
+
+    private void apply(Map<Long, Region> target, ObstacleReportSummaryDto report, int delta) {
+        if (report.getReportType() == null) {
+            return;
+        }
+        long row = index(report.getLatitude());
+        long col = index(report.getLongitude());
+        Region region = target.computeIfAbsent(key(Math.floorDiv(row, regionCells), Math.floorDiv(col, regionCells)),
+                key -> new Region(regionCells));
+        region.add(localIndex(row), localIndex(col), report.getReportType().ordinal(), delta);
+        dirtyCells.add(key(row, col));
+    }
+
+    /**
+     * 반경(km) 안의 활성 장애물 개수. reportType 이 null 이면 전체 타입을 센다.
+     * 행마다 원 안에 완전히 들어가는 셀 구간은 누적 합 테이블로, 원 경계에 걸친 셀은 좌표로 센다.
+     */
+    public long countNearby(double latitude, double longitude, double radiusKm, ObstacleReport.ReportType reportType) {
+        int type = reportType != null ? reportType.ordinal() : ALL_TYPES;
+        double radiusMeters = radiusKm * 1000;
+        double latDelta = Math.toDegrees(radiusMeters / GeoUtils.EARTH_RADIUS_METERS);
+        double lngDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+
+        long minRow = index(latitude - latDelta);
+        long maxRow = index(latitude + latDelta);
+        long minCol = index(longitude - lngDelta);
+        long maxCol = index(longitude + lngDelta);
+        Map<Long, Region> snapshot = regions;
+
+        long count = 0;
+        for (long row = minRow; row <= maxRow; row++) {
+            double south = row * cellSizeDegrees;
+            double north = south + cellSizeDegrees;
+
+            // 원과 겹칠 수 있는 열 구간 (띠 안에서 원의 최대 폭 기준, 한 칸 여유)
+            double outerWidth = Math.max(halfWidthDegrees(latitude, Math.max(south, Math.min(north, latitude)), radiusMeters),
+                    Math.max(halfWidthDegrees(latitude, south, radiusMeters), halfWidthDegrees(latitude, north, radiusMeters)));
+            if (outerWidth < 0) {
+                continue;
+            }
+            long outerFirst = Math.max(minCol, index(longitude - outerWidth) - 1);
+            long outerLast = Math.min(maxCol, index(longitude + outerWidth) + 1);
+
+            // 띠 전체가 원 안에 들어가는 열 구간 (띠 안에서 원의 최소 폭 기준, 양 끝 셀은 모서리로 확인)
+            double innerWidth = Math.min(halfWidthDegrees(latitude, south, radiusMeters),
+                    halfWidthDegrees(latitude, north, radiusMeters));
+            long innerFirst = outerLast + 1;
+            long innerLast = outerLast;
+            if (innerWidth >= 0) {
+                innerFirst = Math.max(outerFirst, (long) Math.ceil((longitude - innerWidth) / cellSizeDegrees));
+                innerLast = Math.min(outerLast, (long) Math.floor((longitude + innerWidth) / cellSizeDegrees) - 1);
+                while (innerFirst <= innerLast && !cellInside(row, innerFirst, latitude, longitude, radiusMeters)) {
+                    innerFirst++;
+                }
+                while (innerLast >= innerFirst && !cellInside(row, innerLast, latitude, longitude, radiusMeters)) {
+                    innerLast--;
+                }
+                if (innerFirst > innerLast) {
+                    innerFirst = outerLast + 1;
+                    innerLast = outerLast;
+                }
+            }
+
+            if (innerFirst <= innerLast) {
+                count += sum(snapshot, row, row, innerFirst, innerLast, type);
+            }
+            for (long col = outerFirst; col <= outerLast; col++) {
+                if (col == innerFirst && innerFirst <= innerLast) {
+                    col = innerLast;
+                    continue;
+                }
+                count += refineCell(snapshot, row, col, type, south, north,
+                        (lat, lng) -> GeoUtils.haversineMeters(latitude, longitude, lat, lng) <= radiusMeters);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 위경도 사각형(경계 포함) 안의 활성 장애물 개수. 셀 경계에 맞는 범위면 좌표를 전혀 읽지 않는다.
+     */
+    public long countInBounds(double minLat, double maxLat, double minLng, double maxLng, ObstacleReport.ReportType reportType) {
+        int type = reportType != null ? reportType.ordinal() : ALL_TYPES;
+        long minRow = index(minLat);
+        long maxRow = index(maxLat);
+        long minCol = index(minLng);
+        long maxCol = index(maxLng);
+        Map<Long, Region> snapshot = regions;
+
+        // 범위 안에 완전히 들어가는 셀 행/열
+        long innerMinRow = minRow * cellSizeDegrees >= minLat ? minRow : minRow + 1;
+        long innerMaxRow = (maxRow + 1) * cellSizeDegrees <= maxLat ? maxRow : maxRow - 1;
+        long innerMinCol = minCol * cellSizeDegrees >= minLng ? minCol : minCol + 1;
+        long innerMaxCol = (maxCol + 1) * cellSizeDegrees <= maxLng ? maxCol : maxCol - 1;
+
+        long count = 0;
+        boolean hasInner = innerMinRow <= innerMaxRow && innerMinCol <= innerMaxCol;
+        if (hasInner) {
+            count += sum(snapshot, innerMinRow, innerMaxRow, innerMinCol, innerMaxCol, type);
+        }
+
+        BoundsFilter inBounds = (lat, lng) -> lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        for (long row = minRow; row <= maxRow; row++) {
+            boolean innerRow = hasInner && row >= innerMinRow && row <= innerMaxRow;
+            double south = Math.max(minLat, row * cellSizeDegrees);
+            double north = Math.min(maxLat, (row + 1) * cellSizeDegrees);
+            for (long col = minCol; col <= maxCol; col++) {
+                if (innerRow && col == innerMinCol) {
+                    col = innerMaxCol;
+                    continue;
+                }
+                count += refineCell(snapshot, row, col, type, south, north, inBounds);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 경계에 걸친 셀 하나를 좌표로 센다. 집계상 비어 있는 셀은 좌표를 읽지 않는다.
+     */
+    private long refineCell(Map<Long, Region> snapshot, long row, long col, int type,
+                            double south, double north, BoundsFilter filter) {
+        if (cellCount(snapshot, row, col, type) == 0) {
+            return 0;
+        }
+        double west = col * cellSizeDegrees;
+        double east = west + cellSizeDegrees;
+        long[] count = new long[1];
+        obstacleGridIndex.forEachInBounds(south, north, west, east, (cell, i, ignored) -> {
+            double lat = cell.getLatitude(i);
+            double lng = cell.getLongitude(i);
+            // 셀 경계 위의 좌표를 이웃 셀과 중복으로 세지 않도록 집계와 같은 셀 번호로 판단
+            if (index(lat) != row || index(lng) != col || !filter.test(lat, lng)) {
+                return;
+            }
+            ObstacleReport.ReportType reportType = cell.getReportType(i);
+            if (type == ALL_TYPES ? reportType != null : reportType != null && reportType.ordinal() == type) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    private long sum(Map<Long, Region> snapshot, long minRow, long maxRow, long minCol, long maxCol, int type) {
+        long minRegionRow = Math.floorDiv(minRow, regionCells);
+        long maxRegionRow = Math.floorDiv(maxRow, regionCells);
+        long minRegionCol = Math.floorDiv(minCol, regionCells);
+        long maxRegionCol = Math.floorDiv(maxCol, regionCells);
+
+        long total = 0;
+        if ((maxRegionRow - minRegionRow + 1) * (maxRegionCol - minRegionCol + 1) > snapshot.size()) {
+            // 범위가 데이터가 있는 구역 수보다 넓으면 구역 목록을 훑는다
+            for (Map.Entry<Long, Region> entry : snapshot.entrySet()) {
+                long regionRow = entry.getKey() >> 32;
+                long regionCol = (int) (long) entry.getKey();
+                if (regionRow >= minRegionRow && regionRow <= maxRegionRow
+                        && regionCol >= minRegionCol && regionCol <= maxRegionCol) {
+                    total += regionSum(entry.getValue(), regionRow, regionCol, minRow, maxRow, minCol, maxCol, type);
+                }
+            }
+            return total;
+        }
+        for (long regionRow = minRegionRow; regionRow <= maxRegionRow; regionRow++) {
+            for (long regionCol = minRegionCol; regionCol <= maxRegionCol; regionCol++) {
+                Region region = snapshot.get(key(regionRow, regionCol));
+                if (region != null) {
+                    total += regionSum(region, regionRow, regionCol, minRow, maxRow, minCol, maxCol, type);
+                }
+            }
+        }
+        return total;
+    }
+
+    private long regionSum(Region region, long regionRow, long regionCol,
+                           long minRow, long maxRow, long minCol, long maxCol, int type) {
+        long baseRow = regionRow * regionCells;
+        long baseCol = regionCol * regionCells;
+        int r0 = (int) Math.max(0, minRow - baseRow);
+        int r1 = (int) Math.min(regionCells - 1, maxRow - baseRow);
+        int c0 = (int) Math.max(0, minCol - baseCol);
+        int c1 = (int) Math.min(regionCells - 1, maxCol - baseCol);
+        return region.sum(r0, r1, c0, c1, type);
+    }
+
+    private int cellCount(Map<Long, Region> snapshot, long row, long col, int type) {
+        Region region = snapshot.get(key(Math.floorDiv(row, regionCells), Math.floorDiv(col, regionCells)));
+        return region != null ? region.count(localIndex(row), localIndex(col), type) : 0;
+    }
+
+    private boolean cellInside(long row, long col, double latitude, double longitude, double radiusMeters) {
+        double south = row * cellSizeDegrees;
+        double north = south + cellSizeDegrees;
+        double west = col * cellSizeDegrees;
+        double east = west + cellSizeDegrees;
+        return GeoUtils.haversineMeters(latitude, longitude, south, west) <= radiusMeters
+                && GeoUtils.haversineMeters(latitude, longitude, south, east) <= radiusMeters
+                && GeoUtils.haversineMeters(latitude, longitude, north, west) <= radiusMeters
+                && GeoUtils.haversineMeters(latitude, longitude, north, east) <= radiusMeters;
+    }
+
+    /**
+     * 위도 lat 에서 중심으로부터 반경 안에 드는 경도 반폭(도). 그 위도가 원 밖이면 -1.
+     */
+    private static double halfWidthDegrees(double centerLat, double lat, double radiusMeters) {
+        double centerRad = Math.toRadians(centerLat);
+        double latRad = Math.toRadians(lat);
+        double hav = (haversine(radiusMeters / GeoUtils.EARTH_RADIUS_METERS) - haversine(latRad - centerRad))
+                / (Math.cos(centerRad) * Math.cos(latRad));
+        if (hav < 0) {
+            return -1;
+        }
+        if (hav >= 1) {
+            return 180;
+        }
+        return Math.toDegrees(2 * Math.asin(Math.sqrt(hav)));
+    }
+
+    private static double haversine(double angle) {
+        double s = Math.sin(angle / 2);
+        return s * s;
+    }
+
+    /**
+     * 바뀐 셀의 타입별 개수를 obstacle_cell_count 에 반영한다. 인덱스를 다시 읽은 직후에는 테이블 전체를 바꾼다.
+     */
+    @Scheduled(fixedDelayString = "${obstacle.count.flush-interval-ms:60000}", initialDelayString = "${obstacle.count.flush-interval-ms:60000}")
+    public void flush() {
+        if (!isLoaded()) {
+            return;
+        }
+        boolean full = fullFlushPending;
+        fullFlushPending = false;
+        Map<Long, Region> snapshot = regions;
+
+        List<Long> cellKeys = new ArrayList<>();
+        if (!full) {
+            // 꺼낸 뒤에 바뀐 셀은 다시 들어오므로 다음 주기에 반영된다
+            for (Iterator<Long> iterator = dirtyCells.iterator(); iterator.hasNext(); ) {
+                cellKeys.add(iterator.next());
+                iterator.remove();
+            }
+            if (cellKeys.isEmpty()) {
+                return;
+            }
+        }
+
+        try {
+            int rows = transactionTemplate.execute(status -> full ? replaceAll(snapshot) : replaceCells(snapshot, cellKeys));
+            log.debug("장애물 개수 집계 저장 - 전체 교체: {}, 바뀐 셀 {}개, 저장한 행 {}개", full, cellKeys.size(), rows);
+        } catch (Exception e) {
+            log.error("장애물 개수 집계 저장 실패: {}", e.getMessage(), e);
+            if (full) {
+                fullFlushPending = true;
+            } else {
+                dirtyCells.addAll(cellKeys);
+            }
+        }
+    }
+
+    private int replaceAll(Map<Long, Region> snapshot) {
+        jdbcTemplate.update("DELETE FROM obstacle_cell_count");
+        List<Object[]> inserts = new ArrayList<>();
+        snapshot.forEach((regionKey, region) -> {
+            long baseRow = (regionKey >> 32) * regionCells;
+            long baseCol = (long) (int) (long) regionKey * regionCells;
+            for (int r = 0; r < regionCells; r++) {
+                for (int c = 0; c < regionCells; c++) {
+                    addInserts(inserts, baseRow + r, baseCol + c, region.counts(r, c));
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_CELL_SQL, inserts);
+        return inserts.size();
+    }
+
+    private int replaceCells(Map<Long, Region> snapshot, List<Long> cellKeys) {
+        List<Object[]> deletes = new ArrayList<>(cellKeys.size());
+        List<Object[]> inserts = new ArrayList<>();
+        Map<Long, int[]> counts = new HashMap<>();
+        for (Long cellKey : cellKeys) {
+            long row = cellKey >> 32;
+            long col = (int) (long) cellKey;
+            deletes.add(new Object[]{row, col});
+            Region region = snapshot.get(key(Math.floorDiv(row, regionCells), Math.floorDiv(col, regionCells)));
+            if (region != null) {
+                counts.put(cellKey, region.counts(localIndex(row), localIndex(col)));
+            }
+        }
+        jdbcTemplate.batchUpdate(DELETE_CELL_SQL, deletes);
+        counts.forEach((cellKey, cellCounts) -> addInserts(inserts, cellKey >> 32, (int) (long) cellKey, cellCounts));
+        jdbcTemplate.batchUpdate(INSERT_CELL_SQL, inserts);
+        return inserts.size();
+    }
+
+    private void addInserts(List<Object[]> inserts, long row, long col, int[] cellCounts) {
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            if (cellCounts[type] > 0) {
+                inserts.add(new Object[]{row, col, TYPES[type].name(), cellCounts[type], cellSizeDegrees});
+            }
+        }
+    }
+
+    private int localIndex(long index) {
+        return (int) Math.floorMod(index, (long) regionCells);
+    }
+
+    private long index(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    @FunctionalInterface
+    private interface BoundsFilter {
+        boolean test(double latitude, double longitude);
+    }
+
+    /**
+     * 셀 regionCells x regionCells 개 묶음. 셀별 타입 개수와, 필요할 때 다시 만드는 누적 합 테이블을 가진다.
+     */
+    private static final class Region {
+
+        private final int size;
+        private final int[] counts;
+        /** (size+1) x (size+1) x (타입 수+1). 마지막 타입 칸은 전체 합. 셀이 바뀌면 버리고 다음 조회 때 다시 만든다 */
+        private int[] table;
+
+        private Region(int size) {
+            this.size = size;
+            this.counts = new int[size * size * TYPE_COUNT];
+        }
+
+        synchronized void add(int row, int col, int type, int delta) {
+            counts[(row * size + col) * TYPE_COUNT + type] += delta;
+            table = null;
+        }
+
+        synchronized int count(int row, int col, int type) {
+            int base = (row * size + col) * TYPE_COUNT;
+            if (type != ALL_TYPES) {
+                return counts[base + type];
+            }
+            int total = 0;
+            for (int t = 0; t < TYPE_COUNT; t++) {
+                total += counts[base + t];
+            }
+            return total;
+        }
+
+        synchronized int[] counts(int row, int col) {
+            int base = (row * size + col) * TYPE_COUNT;
+            int[] cellCounts = new int[TYPE_COUNT];
+            System.arraycopy(counts, base, cellCounts, 0, TYPE_COUNT);
+            return cellCounts;
+        }
+
+        long sum(int r0, int r1, int c0, int c1, int type) {
+            int[] sat = table();
+            return (long) sat[at(r1 + 1, c1 + 1, type)] - sat[at(r0, c1 + 1, type)]
+                    - sat[at(r1 + 1, c0, type)] + sat[at(r0, c0, type)];
+        }
+
+        private synchronized int[] table() {
+            if (table != null) {
+                return table;
+            }
+            int stride = TYPE_COUNT + 1;
+            int[] sat = new int[(size + 1) * (size + 1) * stride];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    int base = (r * size + c) * TYPE_COUNT;
+                    int total = 0;
+                    for (int t = 0; t <= TYPE_COUNT; t++) {
+                        int cell;
+                        if (t < TYPE_COUNT) {
+                            cell = counts[base + t];
+                            total += cell;
+                        } else {
+                            cell = total;
+                        }
+                        sat[at(r + 1, c + 1, t)] = cell + sat[at(r, c + 1, t)] + sat[at(r + 1, c, t)] - sat[at(r, c, t)];
+                    }
+                }
+            }
+            table = sat;
+            return sat;
+        }
+
+        private int at(int row, int col, int type) {
+            return (row * (size + 1) + col) * (TYPE_COUNT + 1) + type;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import com.ll.rideon.domain.riding.repository.ObstacleReportRepository;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 활성 상태(미확인/확인됨) 장애물 신고의 요약(설명/이미지 제외)을 메모리에 들고 있는 균일 격자 인덱스.
+ * 격자 셀마다 좌표를 primitive 배열로 담은 불변 스냅샷을 두고, 쓰기는 셀 스냅샷을 복사해 교체한다.
+ * 읽기는 스냅샷 참조만 읽으므로 락 없이 쓰기와 동시에 수행된다.
+ */
+@Slf4j
+@Component
+public class ObstacleGridIndex implements SmartInitializingSingleton {
+
+    private final ObstacleReportRepository obstacleReportRepository;
+    private final MeterRegistry meterRegistry;
+    private final double cellSizeDegrees;
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellKeyById = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean loaded;
+
+    public ObstacleGridIndex(ObstacleReportRepository obstacleReportRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${obstacle.index.cell-size-degrees:0.01}") double cellSizeDegrees) {
+        this.obstacleReportRepository = obstacleReportRepository;
+        this.meterRegistry = meterRegistry;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("rideon.obstacle.index.size", cellKeyById, Map::size)
+                .description("메모리 인덱스에 올라와 있는 장애물 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 인덱스 내용이 바뀔 때마다 알림을 받을 집계를 등록한다.
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 웹 서버가 요청을 받기 전에 적재한다.
+     * ApplicationReadyEvent 시점에는 이미 트래픽이 들어오므로, 조회와 교체 사이에 반영된 변경이 교체로 지워진다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<ObstacleReportSummaryDto> reports =
+                obstacleReportRepository.findActiveSummaries();
+
+        Map<Long, List<ObstacleReportSummaryDto>> grouped = new HashMap<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            if (report.getLatitude() == null || report.getLongitude() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(cellKey(report.getLatitude(), report.getLongitude()), key -> new ArrayList<>())
+                    .add(report);
+        }
+
+        synchronized (writeLock) {
+            cells.clear();
+            cellKeyById.clear();
+            List<ObstacleReportSummaryDto> indexed = new ArrayList<>();
+            grouped.forEach((key, list) -> {
+                cells.put(key, Cell.of(list));
+                list.forEach(report -> cellKeyById.put(report.getId(), key));
+                indexed.addAll(list);
+            });
+            listeners.forEach(listener -> listener.onReloaded(indexed));
+            loaded = true;
+        }
+        log.info("장애물 인덱스 로드 완료 - {}개, 셀 {}개", cellKeyById.size(), cells.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // 신고 생성 시 잡은 셀 락(ObstacleCellLocks)보다 먼저 반영되어야 다음 신고가 중복 여부를 바로 볼 수 있다
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onObstacleReportChanged(ObstacleReportChangedEvent event) {
+        ObstacleReportResponseDto report = event.getReport();
+        if (!report.getStatus().isActive()) {
+            remove(report.getId());
+        } else {
+            upsert(ObstacleReportSummaryDto.from(report));
+        }
+    }
+
+    public void upsert(ObstacleReportSummaryDto report) {
+        if (report.getLatitude() == null || report.getLongitude() == null) {
+            return;
+        }
+        long key = cellKey(report.getLatitude(), report.getLongitude());
+        synchronized (writeLock) {
+            Long previousKey = cellKeyById.get(report.getId());
+            ObstacleReportSummaryDto previous = previousKey != null ? cells.get(previousKey).find(report.getId()) : null;
+            if (previousKey != null && previousKey != key) {
+                replaceCell(previousKey, cells.get(previousKey).without(report.getId()));
+            }
+            Cell cell = cells.get(key);
+            replaceCell(key, cell == null ? Cell.of(List.of(report)) : cell.without(report.getId()).with(report));
+            cellKeyById.put(report.getId(), key);
+
+            if (previous != null) {
+                listeners.forEach(listener -> listener.onRemoved(previous));
+            }
+            listeners.forEach(listener -> listener.onAdded(report));
+        }
+    }
+
+    public void remove(Long reportId) {
+        synchronized (writeLock) {
+            Long key = cellKeyById.remove(reportId);
+            if (key != null) {
+                Cell cell = cells.get(key);
+                ObstacleReportSummaryDto previous = cell.find(reportId);
+                replaceCell(key, cell.without(reportId));
+                if (previous != null) {
+                    listeners.forEach(listener -> listener.onRemoved(previous));
+                }
+            }
+        }
+    }
+
+    /**
+     * 반경(km) 안의 장애물을 가까운 순으로 반환한다.
+     */
+    public List<ObstacleReportSummaryDto> findNearby(double latitude, double longitude, double radiusKm) {
+        List<Match> matches = new ArrayList<>();
+        scan(latitude, longitude, radiusKm, (cell, i, distance) -> matches.add(new Match(cell, i, distance)));
+
+        matches.sort((a, b) -> Double.compare(a.distance, b.distance));
+        List<ObstacleReportSummaryDto> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.cell.getReport(match.index));
+        }
+        return result;
+    }
+
+    /**
+     * 위경도 사각형 범위와 겹치는 셀의 장애물을 넘긴다.
+     */
+    public void forEachInBounds(double minLat, double maxLat, double minLng, double maxLng, CellVisitor visitor) {
+        long minRow = index(minLat);
+        long maxRow = index(maxLat);
+        long minCol = index(minLng);
+        long maxCol = index(maxLng);
+
+        if ((maxRow - minRow + 1) * (maxCol - minCol + 1) > cells.size()) {
+            // 범위가 데이터가 있는 셀 수보다 넓으면 셀 목록을 훑는다
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long row = entry.getKey() >> 32;
+                long col = (int) (long) entry.getKey();
+                if (row >= minRow && row <= maxRow && col >= minCol && col <= maxCol) {
+                    visitInBounds(entry.getValue(), minLat, maxLat, minLng, maxLng, visitor);
+                }
+            }
+            return;
+        }
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                Cell cell = cells.get(key(row, col));
+                if (cell != null) {
+                    visitInBounds(cell, minLat, maxLat, minLng, maxLng, visitor);
+                }
+            }
+        }
+    }
+
+    private static void visitInBounds(Cell cell, double minLat, double maxLat, double minLng, double maxLng,
+                                      CellVisitor visitor) {
+        for (int i = 0; i < cell.ids.length; i++) {
+            double lat = cell.latitudes[i];
+            double lng = cell.longitudes[i];
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                visitor.visit(cell, i, 0);
+            }
+        }
+    }
+
+    private void scan(double latitude, double longitude, double radiusKm, CellVisitor visitor) {
+        double radiusMeters = radiusKm * 1000;
+        double latDelta = Math.toDegrees(radiusMeters / GeoUtils.EARTH_RADIUS_METERS);
+        double lngDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+
+        forEachInBounds(latitude - latDelta, latitude + latDelta, longitude - lngDelta, longitude + lngDelta,
+                (cell, i, ignored) -> {
+                    double distance = GeoUtils.haversineMeters(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+                    if (distance <= radiusMeters) {
+                        visitor.visit(cell, i, distance);
+                    }
+                });
+    }
+
+    private void replaceCell(long key, Cell cell) {
+        if (cell.ids.length == 0) {
+            cells.remove(key);
+        } else {
+            cells.put(key, cell);
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return key(index(latitude), index(longitude));
+    }
+
+    private long index(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * 인덱스 변경 알림. 인덱스 쓰기 락 안에서 호출되므로 가볍게 처리해야 한다.
+     */
+    public interface ChangeListener {
+
+        void onReloaded(List<ObstacleReportSummaryDto> reports);
+
+        void onAdded(ObstacleReportSummaryDto report);
+
+        void onRemoved(ObstacleReportSummaryDto report);
+    }
+
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(Cell cell, int index, double distanceMeters);
+    }
+
+    private static final class Match {
+
+        private final Cell cell;
+        private final int index;
+        private final double distance;
+
+        private Match(Cell cell, int index, double distance) {
+            this.cell = cell;
+            this.index = index;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * 격자 셀 하나의 불변 스냅샷.
+     * 신고마다 DTO 를 들고 있지 않고 열(column)별 primitive 배열에 담아 두며, DTO 는 결과로 내보낼 때만 만든다.
+     * 타입/상태는 enum ordinal(byte), 시각은 UTC 기준 epoch 마이크로초로 저장하고 null 은 음수/{@link Long#MIN_VALUE} 로 표시한다.
+     */
+    public static final class Cell {
+
+        private static final ObstacleReport.ReportType[] TYPES = ObstacleReport.ReportType.values();
+        private static final ObstacleReport.ReportStatus[] STATUSES = ObstacleReport.ReportStatus.values();
+        private static final byte NO_ORDINAL = -1;
+        private static final int NO_COUNT = -1;
+        private static final long NO_TIME = Long.MIN_VALUE;
+
+        private final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final byte[] types;
+        private final byte[] statuses;
+        private final int[] confirmationCounts;
+        private final long[] createdAts;
+        private final long[] lastReportedAts;
+
+        private Cell(int size) {
+            this.ids = new long[size];
+            this.latitudes = new double[size];
+            this.longitudes = new double[size];
+            this.types = new byte[size];
+            this.statuses = new byte[size];
+            this.confirmationCounts = new int[size];
+            this.createdAts = new long[size];
+            this.lastReportedAts = new long[size];
+        }
+
+        static Cell of(List<ObstacleReportSummaryDto> list) {
+            Cell cell = new Cell(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                cell.set(i, list.get(i));
+            }
+            return cell;
+        }
+
+        Cell with(ObstacleReportSummaryDto report) {
+            int n = ids.length;
+            Cell copy = new Cell(n + 1);
+            copyRange(this, 0, copy, 0, n);
+            copy.set(n, report);
+            return copy;
+        }
+
+        ObstacleReportSummaryDto find(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return getReport(i);
+                }
+            }
+            return null;
+        }
+
+        Cell without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return removeAt(i);
+                }
+            }
+            return this;
+        }
+
+        private Cell removeAt(int index) {
+            int n = ids.length;
+            Cell copy = new Cell(n - 1);
+            copyRange(this, 0, copy, 0, index);
+            copyRange(this, index + 1, copy, index, n - index - 1);
+            return copy;
+        }
+
+        private void set(int i, ObstacleReportSummaryDto report) {
+            ids[i] = report.getId();
+            latitudes[i] = report.getLatitude();
+            longitudes[i] = report.getLongitude();
+            types[i] = report.getReportType() != null ? (byte) report.getReportType().ordinal() : NO_ORDINAL;
+            statuses[i] = report.getStatus() != null ? (byte) report.getStatus().ordinal() : NO_ORDINAL;
+            confirmationCounts[i] = report.getConfirmationCount() != null ? report.getConfirmationCount() : NO_COUNT;
+            createdAts[i] = toMicros(report.getCreatedAt());
+            lastReportedAts[i] = toMicros(report.getLastReportedAt());
+        }
+
+        private static void copyRange(Cell from, int fromIndex, Cell to, int toIndex, int length) {
+            System.arraycopy(from.ids, fromIndex, to.ids, toIndex, length);
+            System.arraycopy(from.latitudes, fromIndex, to.latitudes, toIndex, length);
+            System.arraycopy(from.longitudes, fromIndex, to.longitudes, toIndex, length);
+            System.arraycopy(from.types, fromIndex, to.types, toIndex, length);
+            System.arraycopy(from.statuses, fromIndex, to.statuses, toIndex, length);
+            System.arraycopy(from.confirmationCounts, fromIndex, to.confirmationCounts, toIndex, length);
+            System.arraycopy(from.createdAts, fromIndex, to.createdAts, toIndex, length);
+            System.arraycopy(from.lastReportedAts, fromIndex, to.lastReportedAts, toIndex, length);
+        }
+
+        private static long toMicros(LocalDateTime time) {
+            if (time == null) {
+                return NO_TIME;
+            }
+            return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+        }
+
+        private static LocalDateTime fromMicros(long micros) {
+            if (micros == NO_TIME) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        public double getLatitude(int index) {
+            return latitudes[index];
+        }
+
+        public double getLongitude(int index) {
+            return longitudes[index];
+        }
+
+        public ObstacleReport.ReportType getReportType(int index) {
+            return types[index] == NO_ORDINAL ? null : TYPES[types[index]];
+        }
+
+        /**
+         * 해당 위치의 신고를 요약 DTO 로 만든다. 호출할 때마다 새 객체를 만든다.
+         */
+        public ObstacleReportSummaryDto getReport(int index) {
+            return ObstacleReportSummaryDto.builder()
+                    .id(ids[index])
+                    .latitude(latitudes[index])
+                    .longitude(longitudes[index])
+                    .reportType(getReportType(index))
+                    .status(statuses[index] == NO_ORDINAL ? null : STATUSES[statuses[index]])
+                    .createdAt(fromMicros(createdAts[index]))
+                    .confirmationCount(confirmationCounts[index] == NO_COUNT ? null : confirmationCounts[index])
+                    .lastReportedAt(fromMicros(lastReportedAts[index]))
+                    .build();
+        }
+    }
+}
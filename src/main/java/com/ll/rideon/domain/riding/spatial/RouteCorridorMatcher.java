@@ -0,0 +1,147 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.dto.RouteObstacleResponseDto;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경로(polyline)의 각 선분에서 width 미터 안에 있는 장애물을 찾는다.
+ * 선분마다 폭만큼 넓힌 사각형으로 후보를 고르고, 선분까지의 실제 거리로 다시 거른다.
+ * 좌표는 선분 시작점 기준 평면(미터)으로 투영해 계산한다.
+ * 선분 하나와 경로 전체 길이에 상한을 두어, 선분/경로 사각형으로 훑는 격자 셀과 DB 범위가 커지지 않게 한다.
+ */
+public class RouteCorridorMatcher {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoUtils.EARTH_RADIUS_METERS);
+    public static final double MAX_SEGMENT_METERS = 20_000;
+    public static final double MAX_ROUTE_METERS = 500_000;
+
+    private final List<double[]> route;
+    private final double widthMeters;
+    private final double[] cumulativeMeters;
+    private final Map<Long, RouteObstacleResponseDto> matches = new HashMap<>();
+
+    public RouteCorridorMatcher(List<double[]> route, double widthMeters) {
+        if (route.size() < 2) {
+            throw new IllegalArgumentException("경로는 두 개 이상의 좌표가 필요합니다.");
+        }
+        this.route = route;
+        this.widthMeters = widthMeters;
+        this.cumulativeMeters = new double[route.size()];
+        for (int i = 0; i < route.size(); i++) {
+            double[] point = route.get(i);
+            if (Math.abs(point[0]) > 90 || Math.abs(point[1]) > 180) {
+                throw new IllegalArgumentException("경로에 올바르지 않은 좌표가 있습니다.");
+            }
+            if (i == 0) {
+                continue;
+            }
+            double[] previous = route.get(i - 1);
+            double segmentMeters = GeoUtils.haversineMeters(previous[0], previous[1], point[0], point[1]);
+            if (segmentMeters > MAX_SEGMENT_METERS) {
+                throw new IllegalArgumentException("경로 좌표 사이 거리는 최대 " + (int) (MAX_SEGMENT_METERS / 1000) + "km 까지 허용됩니다.");
+            }
+            cumulativeMeters[i] = cumulativeMeters[i - 1] + segmentMeters;
+        }
+        if (cumulativeMeters[route.size() - 1] > MAX_ROUTE_METERS) {
+            throw new IllegalArgumentException("경로 길이는 최대 " + (int) (MAX_ROUTE_METERS / 1000) + "km 까지 조회할 수 있습니다.");
+        }
+    }
+
+    public int getSegmentCount() {
+        return route.size() - 1;
+    }
+
+    /**
+     * 선분을 경로 폭만큼 넓힌 사각형 [minLat, maxLat, minLng, maxLng]
+     */
+    public double[] segmentBounds(int segment) {
+        double[] a = route.get(segment);
+        double[] b = route.get(segment + 1);
+        double latMargin = widthMeters / METERS_PER_DEGREE;
+        double lngMargin = latMargin / Math.max(Math.cos(Math.toRadians(Math.max(Math.abs(a[0]), Math.abs(b[0])))), 0.01);
+        return new double[]{
+                Math.min(a[0], b[0]) - latMargin,
+                Math.max(a[0], b[0]) + latMargin,
+                Math.min(a[1], b[1]) - lngMargin,
+                Math.max(a[1], b[1]) + lngMargin
+        };
+    }
+
+    /**
+     * 전체 경로의 사각형 범위 [minLat, maxLat, minLng, maxLng]
+     */
+    public double[] routeBounds() {
+        double[] bounds = segmentBounds(0);
+        for (int i = 1; i < getSegmentCount(); i++) {
+            double[] segment = segmentBounds(i);
+            bounds[0] = Math.min(bounds[0], segment[0]);
+            bounds[1] = Math.max(bounds[1], segment[1]);
+            bounds[2] = Math.min(bounds[2], segment[2]);
+            bounds[3] = Math.max(bounds[3], segment[3]);
+        }
+        return bounds;
+    }
+
+    /**
+     * 장애물을 특정 선분과 비교한다. 여러 선분에 걸리면 가장 가까운 선분 기준으로 남긴다.
+     */
+    public void offer(ObstacleReportSummaryDto obstacle, double latitude, double longitude, int segment) {
+        double[] a = route.get(segment);
+        double[] b = route.get(segment + 1);
+
+        double cosLat = Math.cos(Math.toRadians(a[0]));
+        double bx = (b[1] - a[1]) * METERS_PER_DEGREE * cosLat;
+        double by = (b[0] - a[0]) * METERS_PER_DEGREE;
+        double px = (longitude - a[1]) * METERS_PER_DEGREE * cosLat;
+        double py = (latitude - a[0]) * METERS_PER_DEGREE;
+
+        double lengthSquared = bx * bx + by * by;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (px * bx + py * by) / lengthSquared));
+        double dx = px - t * bx;
+        double dy = py - t * by;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        if (distance > widthMeters) {
+            return;
+        }
+
+        RouteObstacleResponseDto previous = matches.get(obstacle.getId());
+        if (previous == null || distance < previous.getDistanceFromRoute()) {
+            double along = cumulativeMeters[segment] + t * (cumulativeMeters[segment + 1] - cumulativeMeters[segment]);
+            matches.put(obstacle.getId(), RouteObstacleResponseDto.builder()
+                    .obstacle(obstacle)
+                    .distanceAlongRoute(along)
+                    .distanceFromRoute(distance)
+                    .build());
+        }
+    }
+
+    /**
+     * 장애물을 모든 선분과 비교한다. (인덱스 없이 후보 목록을 거를 때)
+     */
+    public void offerAll(ObstacleReportSummaryDto obstacle) {
+        for (int i = 0; i < getSegmentCount(); i++) {
+            double[] bounds = segmentBounds(i);
+            double lat = obstacle.getLatitude();
+            double lng = obstacle.getLongitude();
+            if (lat >= bounds[0] && lat <= bounds[1] && lng >= bounds[2] && lng <= bounds[3]) {
+                offer(obstacle, lat, lng, i);
+            }
+        }
+    }
+
+    /**
+     * 경로 진행 방향 순으로 정렬한 결과
+     */
+    public List<RouteObstacleResponseDto> getResults() {
+        return matches.values().stream()
+                .sorted(Comparator.comparingDouble(RouteObstacleResponseDto::getDistanceAlongRoute))
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ll.rideon.domain.riding.stats;
+
+import com.ll.rideon.domain.riding.util.GeoUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 위치 포인트를 하나씩 받아 주행 통계(거리, 평균/최고 속도, 소모 칼로리)를 누적한다.
+ * 직전 포인트와 누적값만 들고 있으므로 세션당 메모리는 포인트 수와 무관하게 일정하다.
+ */
+public class RideStatsAccumulator {
+
+    public static final double DEFAULT_WEIGHT_KG = 70.0;
+
+    /**
+     * 포인트 사이 간격이 이보다 길면 이동 시간/칼로리에 넣지 않는다. (일시정지, 신호 끊김 구간)
+     */
+    private static final long MAX_SEGMENT_SECONDS = 300;
+
+    private final double weightKg;
+
+    private Double prevLat;
+    private Double prevLng;
+    private LocalDateTime prevTime;
+
+    private double distanceMeters;
+    private double speedSum;
+    private long speedCount;
+    private double maxSpeedKmh;
+    private double calories;
+
+    public RideStatsAccumulator(Double weightKg) {
+        this.weightKg = weightKg != null && weightKg > 0 ? weightKg : DEFAULT_WEIGHT_KG;
+    }
+
+    /**
+     * 위치 포인트를 누적한다. 포인트는 기록 시각 순서로 들어와야 하며, 직전 포인트보다 이른 포인트는 무시한다.
+     *
+     * @param speedKmh 단말이 보고한 속도, 없으면 직전 포인트와의 거리/시간으로 계산한다
+     */
+    public synchronized void add(double lat, double lng, Float speedKmh, LocalDateTime recordedAt) {
+        if (prevTime != null && recordedAt.isBefore(prevTime)) {
+            return;
+        }
+
+        Double speed = speedKmh != null ? speedKmh.doubleValue() : null;
+
+        if (prevTime != null) {
+            double segmentMeters = GeoUtils.haversineMeters(prevLat, prevLng, lat, lng);
+            long segmentSeconds = Duration.between(prevTime, recordedAt).getSeconds();
+            distanceMeters += segmentMeters;
+
+            if (segmentSeconds > 0 && segmentSeconds <= MAX_SEGMENT_SECONDS) {
+                if (speed == null) {
+                    speed = segmentMeters / segmentSeconds * 3.6;
+                }
+                calories += metFor(speed) * weightKg * (segmentSeconds / 3600.0);
+            }
+        }
+
+        if (speed != null) {
+            speedSum += speed;
+            speedCount++;
+            maxSpeedKmh = Math.max(maxSpeedKmh, speed);
+        }
+
+        prevLat = lat;
+        prevLng = lng;
+        prevTime = recordedAt;
+    }
+
+    public synchronized BigDecimal getTotalDistanceKm() {
+        return scale(distanceMeters / 1000.0);
+    }
+
+    public synchronized BigDecimal getAvgSpeedKmh() {
+        return scale(speedCount > 0 ? speedSum / speedCount : 0.0);
+    }
+
+    public synchronized BigDecimal getMaxSpeedKmh() {
+        return scale(maxSpeedKmh);
+    }
+
+    public synchronized BigDecimal getCaloriesBurned() {
+        return scale(calories);
+    }
+
+    /**
+     * 자전거 주행 속도별 MET 값 (Compendium of Physical Activities 기준)
+     */
+    private static double metFor(double speedKmh) {
+        if (speedKmh < 1.0) {
+            return 1.0;
+        } else if (speedKmh < 16.0) {
+            return 4.0;
+        } else if (speedKmh < 19.0) {
+            return 6.8;
+        } else if (speedKmh < 22.0) {
+            return 8.0;
+        } else if (speedKmh < 25.0) {
+            return 10.0;
+        } else if (speedKmh < 30.0) {
+            return 12.0;
+        }
+        return 15.8;
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ll.rideon.domain.riding.track;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google Encoded Polyline 방식의 정수 인코딩.
+ * 부호 있는 정수를 zigzag 후 5비트 단위 가변 길이 문자로 쓰므로, 작은 델타 값은 1~2글자로 표현된다.
+ */
+public final class PolylineCodec {
+
+    public static final double COORDINATE_SCALE = 1e5;
+
+    private PolylineCodec() {
+    }
+
+    public static void encode(long value, StringBuilder out) {
+        long v = value < 0 ? ~(value << 1) : value << 1;
+        while (v >= 0x20) {
+            out.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>>= 5;
+        }
+        out.append((char) (v + 63));
+    }
+
+    /**
+     * Google Encoded Polyline 문자열을 [위도, 경도] 좌표 목록으로 복원한다.
+     */
+    public static List<double[]> decodeCoordinates(String encoded) {
+        List<Long> values = decodeInterleaved(encoded);
+        if (values.size() % 2 != 0) {
+            throw new IllegalArgumentException("올바르지 않은 polyline 입니다.");
+        }
+
+        List<double[]> coordinates = new ArrayList<>(values.size() / 2);
+        for (int i = 0; i < values.size(); i += 2) {
+            coordinates.add(new double[]{values.get(i) / COORDINATE_SCALE, values.get(i + 1) / COORDINATE_SCALE});
+        }
+        return coordinates;
+    }
+
+    /**
+     * 위도/경도가 번갈아 델타 인코딩된 문자열을 각각 누적해 복원한다.
+     */
+    private static List<Long> decodeInterleaved(String encoded) {
+        List<Long> values = new ArrayList<>();
+        long[] current = new long[2];
+        int index = 0;
+        int position = 0;
+        while (index < encoded.length()) {
+            long result = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (index >= encoded.length()) {
+                    throw new IllegalArgumentException("올바르지 않은 polyline 입니다.");
+                }
+                b = encoded.charAt(index++) - 63;
+                // 한 글자는 '?'(63)~'~'(126) 범위이고, 한 값은 7글자(35비트)를 넘지 않는다
+                if (b < 0 || b > 63 || shift > 30) {
+                    throw new IllegalArgumentException("올바르지 않은 polyline 입니다.");
+                }
+                result |= (long) (b & 0x1f) << shift;
+                shift += 5;
+            } while (b >= 0x20);
+            current[position] += (result & 1) != 0 ? ~(result >>> 1) : result >>> 1;
+            values.add(current[position]);
+            position ^= 1;
+        }
+        return values;
+    }
+
+    public static long scaleCoordinate(double degrees) {
+        return Math.round(degrees * COORDINATE_SCALE);
+    }
+}
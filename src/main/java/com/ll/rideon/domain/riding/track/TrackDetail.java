@@ -0,0 +1,30 @@
+package com.ll.rideon.domain.riding.track;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * 단순화 경로 상세도와 Douglas–Peucker 허용 오차(미터)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TrackDetail {
+    LOW(50.0),
+    MEDIUM(10.0),
+    HIGH(1.0);
+
+    private final double toleranceMeters;
+
+    /**
+     * 쿼리 파라미터 값(low, medium, high)을 대소문자 구분 없이 변환한다.
+     */
+    public static TrackDetail from(String value) {
+        try {
+            return TrackDetail.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 경로 상세도입니다: " + value + " (low, medium, high)");
+        }
+    }
+}
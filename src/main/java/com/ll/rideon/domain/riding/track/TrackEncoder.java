@@ -0,0 +1,80 @@
+package com.ll.rideon.domain.riding.track;
+
+import com.ll.rideon.domain.riding.dto.EncodedTrackResponseDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 위치 포인트를 받아 polyline 문자열과 시간/속도/고도 델타 배열로 인코딩한다.
+ * 포인트를 하나씩 받아 바로 문자열에 붙이므로 엔티티 목록을 만들지 않는다.
+ * <ul>
+ *     <li>polyline: 위경도 1e-5도 단위 (Google Encoded Polyline 과 동일)</li>
+ *     <li>times: 첫 포인트 기준 초 단위</li>
+ *     <li>speeds: 0.1km/h 단위, 값이 없으면 직전 값 유지</li>
+ *     <li>altitudes: 1m 단위, 값이 없으면 직전 값 유지</li>
+ * </ul>
+ */
+public class TrackEncoder {
+
+    private final StringBuilder polyline = new StringBuilder();
+    private final StringBuilder times = new StringBuilder();
+    private final StringBuilder speeds = new StringBuilder();
+    private final StringBuilder altitudes = new StringBuilder();
+
+    private LocalDateTime startTime;
+    private int count;
+
+    private long prevLat;
+    private long prevLng;
+    private long prevSecond;
+    private long prevSpeed;
+    private long prevAltitude;
+
+    public void add(TrackPoint point) {
+        long lat = PolylineCodec.scaleCoordinate(point.getLatitude());
+        long lng = PolylineCodec.scaleCoordinate(point.getLongitude());
+        long second = point.getRecordedAt().toEpochSecond(ZoneOffset.UTC);
+        long speed = point.getSpeedKmh() != null ? Math.round(point.getSpeedKmh() * 10) : prevSpeed;
+        long altitude = point.getAltitude() != null ? Math.round(point.getAltitude()) : prevAltitude;
+
+        if (count == 0) {
+            startTime = point.getRecordedAt();
+            prevSecond = second;
+        }
+
+        PolylineCodec.encode(lat - prevLat, polyline);
+        PolylineCodec.encode(lng - prevLng, polyline);
+        PolylineCodec.encode(second - prevSecond, times);
+        PolylineCodec.encode(speed - prevSpeed, speeds);
+        PolylineCodec.encode(altitude - prevAltitude, altitudes);
+
+        prevLat = lat;
+        prevLng = lng;
+        prevSecond = second;
+        prevSpeed = speed;
+        prevAltitude = altitude;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public EncodedTrackResponseDto toResponse(Long sessionId) {
+        return toResponse(sessionId, null);
+    }
+
+    public EncodedTrackResponseDto toResponse(Long sessionId, TrackDetail detail) {
+        return EncodedTrackResponseDto.builder()
+                .sessionId(sessionId)
+                .detail(detail)
+                .pointCount(count)
+                .startTime(startTime)
+                .polyline(polyline.toString())
+                .times(times.toString())
+                .speeds(speeds.toString())
+                .altitudes(altitudes.toString())
+                .build();
+    }
+}
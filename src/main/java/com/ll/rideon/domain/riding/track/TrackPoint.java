@@ -0,0 +1,20 @@
+package com.ll.rideon.domain.riding.track;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 경로 인코딩/단순화에 필요한 컬럼만 담은 위치 포인트
+ */
+@Getter
+@AllArgsConstructor
+public class TrackPoint {
+
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime recordedAt;
+    private final Float speedKmh;
+    private final Float altitude;
+}
@@ -0,0 +1,108 @@
+package com.ll.rideon.domain.riding.track;
+
+import com.ll.rideon.domain.riding.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Douglas–Peucker 경로 단순화.
+ * 재귀 대신 구간 스택(int 배열)을 사용하고, 좌표는 첫 포인트 기준 평면(미터)으로 한 번만 투영해 두므로
+ * 긴 라이딩에서도 스택 오버플로 없이 포인트 수에 비례한 메모리만 사용한다.
+ */
+public class TrackSimplifier {
+
+    private final List<TrackPoint> points;
+    private final double[] x;
+    private final double[] y;
+
+    public TrackSimplifier(List<TrackPoint> points) {
+        this.points = points;
+        this.x = new double[points.size()];
+        this.y = new double[points.size()];
+
+        if (points.isEmpty()) {
+            return;
+        }
+
+        // 짧은 구간에서는 등장방형 투영으로 충분하다
+        double lat0 = points.get(0).getLatitude();
+        double lng0 = points.get(0).getLongitude();
+        double metersPerDegree = Math.toRadians(GeoUtils.EARTH_RADIUS_METERS);
+        double cosLat0 = Math.cos(Math.toRadians(lat0));
+        for (int i = 0; i < points.size(); i++) {
+            x[i] = (points.get(i).getLongitude() - lng0) * metersPerDegree * cosLat0;
+            y[i] = (points.get(i).getLatitude() - lat0) * metersPerDegree;
+        }
+    }
+
+    /**
+     * 허용 오차(미터) 안에서 경로 모양을 유지하는 포인트만 남긴다. 시작점과 끝점은 항상 포함된다.
+     */
+    public List<TrackPoint> simplify(double toleranceMeters) {
+        int n = points.size();
+        if (n <= 2) {
+            return points;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        double toleranceSquared = toleranceMeters * toleranceMeters;
+        // 구간 하나를 꺼내면 최대 두 개를 넣으므로 스택 깊이는 포인트 수를 넘지 않는다
+        int[] stack = new int[2 * n];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+
+        int kept = 2;
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+
+            double maxDistance = -1;
+            int farthest = -1;
+            for (int i = start + 1; i < end; i++) {
+                double distance = segmentDistanceSquared(i, start, end);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+
+            if (farthest >= 0 && maxDistance > toleranceSquared) {
+                keep[farthest] = true;
+                kept++;
+                stack[top++] = start;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = end;
+            }
+        }
+
+        List<TrackPoint> simplified = new ArrayList<>(kept);
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                simplified.add(points.get(i));
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * 포인트 p 에서 선분 (a, b) 까지 거리의 제곱
+     */
+    private double segmentDistanceSquared(int p, int a, int b) {
+        double dx = x[b] - x[a];
+        double dy = y[b] - y[a];
+        double lengthSquared = dx * dx + dy * dy;
+
+        double t = lengthSquared == 0 ? 0 : ((x[p] - x[a]) * dx + (y[p] - y[a]) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+
+        double px = x[a] + t * dx - x[p];
+        double py = y[a] + t * dy - y[p];
+        return px * px + py * py;
+    }
+}
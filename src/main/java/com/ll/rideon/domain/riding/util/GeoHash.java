@@ -0,0 +1,126 @@
+package com.ll.rideon.domain.riding.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash 인코딩과 반경 검색용 셀 prefix 계산.
+ * 같은 prefix 를 가진 geohash 는 같은 셀 안에 있으므로, 반경을 덮는 몇 개의 셀 prefix 를
+ * 문자열 범위 조건으로 바꾸면 btree 인덱스 범위 스캔으로 후보를 찾을 수 있다.
+ */
+public final class GeoHash {
+
+    public static final int STORED_PRECISION = 9;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int MAX_COVERING_CELLS = 16;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (even) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            even = !even;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * 중심점에서 radiusKm 반경을 덮는 geohash 셀 prefix 목록.
+     * 셀 수가 MAX_COVERING_CELLS 를 넘지 않는 가장 작은 셀 크기를 고른다.
+     */
+    public static List<String> coveringPrefixes(double latitude, double longitude, double radiusKm) {
+        double latDelta = Math.toDegrees(radiusKm * 1000 / GeoUtils.EARTH_RADIUS_METERS);
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lngDelta = Math.min(latDelta / cosLat, 180);
+
+        double minLat = Math.max(latitude - latDelta, -90);
+        double maxLat = Math.min(latitude + latDelta, 90);
+        double minLng = Math.max(longitude - lngDelta, -180);
+        double maxLng = Math.min(longitude + lngDelta, 180);
+
+        for (int precision = STORED_PRECISION; precision >= 1; precision--) {
+            double cellLat = cellHeight(precision);
+            double cellLng = cellWidth(precision);
+            long rows = (long) Math.ceil((maxLat - minLat) / cellLat) + 1;
+            long cols = (long) Math.ceil((maxLng - minLng) / cellLng) + 1;
+            if (rows * cols <= MAX_COVERING_CELLS || precision == 1) {
+                return cells(minLat, maxLat, minLng, maxLng, precision, cellLat, cellLng);
+            }
+        }
+        return List.of("");
+    }
+
+    /**
+     * prefix 로 시작하는 문자열의 상한 (범위 조건의 배타적 끝값)
+     */
+    public static String upperBound(String prefix) {
+        if (prefix.isEmpty()) {
+            return "~";
+        }
+        char last = prefix.charAt(prefix.length() - 1);
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+    }
+
+    private static List<String> cells(double minLat, double maxLat, double minLng, double maxLng,
+                                      int precision, double cellLat, double cellLng) {
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = minLat; ; lat += cellLat) {
+            double rowLat = Math.min(lat, maxLat);
+            for (double lng = minLng; ; lng += cellLng) {
+                cells.add(encode(rowLat, Math.min(lng, maxLng), precision));
+                if (lng >= maxLng) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    private static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    private static double cellWidth(int precision) {
+        int lngBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+}
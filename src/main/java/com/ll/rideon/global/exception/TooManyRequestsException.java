@@ -0,0 +1,11 @@
+package com.ll.rideon.global.exception;
+
+/**
+ * 서버가 요청을 잠시 받을 수 없는 상태일 때 429 로 응답하기 위한 예외
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
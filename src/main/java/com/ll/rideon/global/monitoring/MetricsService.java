@@ -227,6 +227,11 @@ public class MetricsService {
         log.debug("위치 업데이트 메트릭 증가");
     }
 
+    public void incrementLocationUpdates(int count) {
+        locationUpdateCounter.increment(count);
+        log.debug("위치 업데이트 메트릭 증가 - {}건", count);
+    }
+
     public Timer.Sample startRidingSessionTimer() {
         return Timer.start(meterRegistry);
     }
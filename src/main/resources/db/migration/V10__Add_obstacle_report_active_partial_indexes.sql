@@ -0,0 +1,18 @@
+-- 지도/주변/경로 조회와 만료 스케줄러는 활성 상태(UNCONFIRMED, CONFIRMED) 신고만 읽는다.
+-- 해결/만료된 이력이 쌓여도 조회가 읽는 인덱스 크기가 활성 신고 수에 비례하도록 부분 인덱스로 바꾼다.
+-- 조회 쿼리는 같은 조건을 리터럴로 포함해야 이 인덱스를 사용할 수 있다.
+
+DROP INDEX IF EXISTS idx_obstacle_report_geohash;
+
+CREATE INDEX IF NOT EXISTS idx_obstacle_report_active_geohash
+  ON obstacle_report (geohash)
+  WHERE status IN ('UNCONFIRMED', 'CONFIRMED');
+
+CREATE INDEX IF NOT EXISTS idx_obstacle_report_active_lat_lng
+  ON obstacle_report (latitude, longitude)
+  WHERE status IN ('UNCONFIRMED', 'CONFIRMED');
+
+-- 만료 스케줄러: 타입별로 마지막 신고 시각이 오래된 활성 신고를 찾는다
+CREATE INDEX IF NOT EXISTS idx_obstacle_report_active_type_last_reported
+  ON obstacle_report (report_type, last_reported_at)
+  WHERE status IN ('UNCONFIRMED', 'CONFIRMED');
@@ -0,0 +1,15 @@
+-- 격자 셀 x 신고 타입별 활성 장애물 개수. 메모리 집계(ObstacleCountIndex)를 주기적으로 저장한다.
+-- 셀 번호는 floor(위도 / cell_size_degrees), floor(경도 / cell_size_degrees) 이다.
+
+-- 엔티티에는 있지만 DB 타입에 빠져 있던 신고 타입
+ALTER TYPE report_type ADD VALUE IF NOT EXISTS 'ACCIDENT';
+
+CREATE TABLE obstacle_cell_count (
+  cell_row BIGINT NOT NULL,
+  cell_col BIGINT NOT NULL,
+  report_type report_type NOT NULL,
+  report_count INT NOT NULL,
+  cell_size_degrees DOUBLE PRECISION NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (cell_row, cell_col, report_type)
+);
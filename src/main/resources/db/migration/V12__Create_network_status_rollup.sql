@@ -0,0 +1,29 @@
+-- 세션별 네트워크 상태를 1분/10분 구간으로 요약해 저장한다. (NetworkStatusRollupService)
+-- 시간 범위 조회는 이 테이블을 읽고, network_status 원본은 라이딩 종료 후 보관 기간이 지나면 삭제한다.
+
+CREATE SEQUENCE network_status_rollup_seq INCREMENT BY 50;
+
+CREATE TABLE network_status_rollup (
+  id BIGINT PRIMARY KEY DEFAULT nextval('network_status_rollup_seq'),
+  ride_session_id BIGINT NOT NULL REFERENCES ride_session(id) ON DELETE CASCADE,
+  resolution VARCHAR(16) NOT NULL,
+  bucket_start TIMESTAMP NOT NULL,
+  sample_count INT NOT NULL,
+  signal_samples INT NOT NULL,
+  signal_min INT,
+  signal_avg DOUBLE PRECISION,
+  signal_max INT,
+  latency_avg DOUBLE PRECISION,
+  latency_p95 DOUBLE PRECISION,
+  packet_loss_avg DOUBLE PRECISION,
+  packet_loss_max DOUBLE PRECISION,
+  disconnect_count INT NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  CONSTRAINT uk_network_status_rollup_bucket UNIQUE (ride_session_id, resolution, bucket_start)
+);
+
+ALTER SEQUENCE network_status_rollup_seq OWNED BY network_status_rollup.id;
+
+-- 최근 구간 요약과 세션별 요약/삭제용
+CREATE INDEX idx_network_status_recorded_at ON network_status(recorded_at);
+CREATE INDEX idx_ride_session_status_ended_at ON ride_session(status, ended_at);
@@ -0,0 +1,27 @@
+-- IDENTITY(BIGSERIAL) 대신 pooled 시퀀스로 ID 를 발급해 Hibernate JDBC 배치 INSERT 를 사용할 수 있도록 한다.
+-- 증가폭은 엔티티의 allocationSize(50)와 같아야 한다.
+-- 시퀀스 값은 Hibernate 가 할당 블록의 상한으로 사용하므로 현재 최대 ID + 50 부터 시작한다.
+
+CREATE SEQUENCE ride_session_seq INCREMENT BY 50;
+SELECT setval('ride_session_seq', COALESCE((SELECT MAX(id) FROM ride_session), 0) + 50, false);
+ALTER TABLE ride_session ALTER COLUMN id SET DEFAULT nextval('ride_session_seq');
+ALTER SEQUENCE ride_session_seq OWNED BY ride_session.id;
+DROP SEQUENCE IF EXISTS ride_session_id_seq;
+
+CREATE SEQUENCE ride_point_seq INCREMENT BY 50;
+SELECT setval('ride_point_seq', COALESCE((SELECT MAX(id) FROM ride_point), 0) + 50, false);
+ALTER TABLE ride_point ALTER COLUMN id SET DEFAULT nextval('ride_point_seq');
+ALTER SEQUENCE ride_point_seq OWNED BY ride_point.id;
+DROP SEQUENCE IF EXISTS ride_point_id_seq;
+
+CREATE SEQUENCE network_status_seq INCREMENT BY 50;
+SELECT setval('network_status_seq', COALESCE((SELECT MAX(id) FROM network_status), 0) + 50, false);
+ALTER TABLE network_status ALTER COLUMN id SET DEFAULT nextval('network_status_seq');
+ALTER SEQUENCE network_status_seq OWNED BY network_status.id;
+DROP SEQUENCE IF EXISTS network_status_id_seq;
+
+CREATE SEQUENCE obstacle_report_seq INCREMENT BY 50;
+SELECT setval('obstacle_report_seq', COALESCE((SELECT MAX(id) FROM obstacle_report), 0) + 50, false);
+ALTER TABLE obstacle_report ALTER COLUMN id SET DEFAULT nextval('obstacle_report_seq');
+ALTER SEQUENCE obstacle_report_seq OWNED BY obstacle_report.id;
+DROP SEQUENCE IF EXISTS obstacle_report_id_seq;
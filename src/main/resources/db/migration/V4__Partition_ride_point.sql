@@ -0,0 +1,57 @@
+-- ride_point 를 recorded_at 기준 월별 RANGE 파티션 테이블로 전환한다.
+-- 월별 파티션 이름은 ride_point_YYYYMM 이며, 이후 파티션은 RidePointPartitionService 가 미리 만든다.
+
+ALTER TABLE ride_point RENAME TO ride_point_legacy;
+ALTER INDEX idx_ride_point_session RENAME TO idx_ride_point_legacy_session;
+-- 사용되지 않는 (latitude, longitude) 인덱스는 새 테이블에 만들지 않는다
+DROP INDEX IF EXISTS idx_ride_point_location;
+ALTER SEQUENCE ride_point_seq OWNED BY NONE;
+
+CREATE TABLE ride_point (
+  id BIGINT NOT NULL DEFAULT nextval('ride_point_seq'),
+  ride_session_id BIGINT NOT NULL REFERENCES ride_session(id) ON DELETE CASCADE,
+  latitude DOUBLE PRECISION,
+  longitude DOUBLE PRECISION,
+  speed_kmh NUMERIC(7,2),
+  altitude NUMERIC(9,2),
+  accuracy NUMERIC(9,3),
+  heading NUMERIC(7,3),
+  recorded_at TIMESTAMP NOT NULL,
+  network_quality network_quality,
+  battery_level INT,
+  is_offline_sync BOOLEAN,
+  created_at TIMESTAMP DEFAULT NOW(),
+  PRIMARY KEY (id, recorded_at)
+) PARTITION BY RANGE (recorded_at);
+
+CREATE INDEX idx_ride_point_session_recorded ON ride_point (ride_session_id, recorded_at);
+
+-- 범위를 벗어난 기록 시간(단말 시계 오류 등)을 받아주는 기본 파티션
+CREATE TABLE ride_point_default PARTITION OF ride_point DEFAULT;
+
+-- 기존 데이터가 있는 달부터 3개월 뒤까지 월별 파티션 생성
+DO $$
+DECLARE
+  month_start DATE;
+  last_month DATE;
+BEGIN
+  SELECT date_trunc('month', COALESCE(MIN(recorded_at), NOW()))::date INTO month_start FROM ride_point_legacy;
+  last_month := (date_trunc('month', NOW()) + INTERVAL '3 months')::date;
+  WHILE month_start <= last_month LOOP
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF ride_point FOR VALUES FROM (%L) TO (%L)',
+                   'ride_point_' || to_char(month_start, 'YYYYMM'),
+                   month_start,
+                   (month_start + INTERVAL '1 month')::date);
+    month_start := (month_start + INTERVAL '1 month')::date;
+  END LOOP;
+END$$;
+
+INSERT INTO ride_point (id, ride_session_id, latitude, longitude, speed_kmh, altitude, accuracy, heading,
+                        recorded_at, network_quality, battery_level, is_offline_sync)
+SELECT p.id, p.ride_session_id, p.latitude, p.longitude, p.speed_kmh, p.altitude, p.accuracy, p.heading,
+       COALESCE(p.recorded_at, s.started_at, NOW()), p.network_quality, p.battery_level, p.is_offline_sync
+FROM ride_point_legacy p
+JOIN ride_session s ON s.id = p.ride_session_id;
+
+ALTER SEQUENCE ride_point_seq OWNED BY ride_point.id;
+DROP TABLE ride_point_legacy;
@@ -0,0 +1,21 @@
+-- 라이딩 종료 시 계산한 단순화 경로(상세도별)를 저장한다.
+-- 좌표/시간/속도/고도는 polyline 델타 인코딩 문자열로 저장해 행 하나로 경로 전체를 읽는다.
+
+CREATE SEQUENCE ride_track_simplified_seq INCREMENT BY 50;
+
+CREATE TABLE ride_track_simplified (
+  id BIGINT PRIMARY KEY DEFAULT nextval('ride_track_simplified_seq'),
+  ride_session_id BIGINT NOT NULL REFERENCES ride_session(id) ON DELETE CASCADE,
+  detail VARCHAR(10) NOT NULL,
+  tolerance_m REAL NOT NULL,
+  point_count INT NOT NULL,
+  start_time TIMESTAMP,
+  polyline TEXT NOT NULL,
+  times TEXT NOT NULL,
+  speeds TEXT NOT NULL,
+  altitudes TEXT NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  CONSTRAINT uk_ride_track_simplified_session_detail UNIQUE (ride_session_id, detail)
+);
+
+ALTER SEQUENCE ride_track_simplified_seq OWNED BY ride_track_simplified.id;
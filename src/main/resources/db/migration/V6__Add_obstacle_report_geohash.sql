@@ -0,0 +1,57 @@
+-- 주변 장애물 조회를 위해 geohash 컬럼을 추가한다.
+-- 반경 검색은 반경을 덮는 셀 prefix 들의 문자열 범위 조건으로 바뀌므로, 바이트 순서로 비교되도록 COLLATE "C" 를 사용한다.
+
+CREATE OR REPLACE FUNCTION geohash_encode(lat DOUBLE PRECISION, lng DOUBLE PRECISION, hash_length INT)
+RETURNS VARCHAR AS $$
+DECLARE
+  base32 CONSTANT TEXT := '0123456789bcdefghjkmnpqrstuvwxyz';
+  min_lat DOUBLE PRECISION := -90;
+  max_lat DOUBLE PRECISION := 90;
+  min_lng DOUBLE PRECISION := -180;
+  max_lng DOUBLE PRECISION := 180;
+  mid DOUBLE PRECISION;
+  even BOOLEAN := TRUE;
+  bit INT := 0;
+  ch INT := 0;
+  hash TEXT := '';
+BEGIN
+  WHILE length(hash) < hash_length LOOP
+    IF even THEN
+      mid := (min_lng + max_lng) / 2;
+      IF lng >= mid THEN
+        ch := ch * 2 + 1;
+        min_lng := mid;
+      ELSE
+        ch := ch * 2;
+        max_lng := mid;
+      END IF;
+    ELSE
+      mid := (min_lat + max_lat) / 2;
+      IF lat >= mid THEN
+        ch := ch * 2 + 1;
+        min_lat := mid;
+      ELSE
+        ch := ch * 2;
+        max_lat := mid;
+      END IF;
+    END IF;
+    even := NOT even;
+    bit := bit + 1;
+
+    IF bit = 5 THEN
+      hash := hash || substr(base32, ch + 1, 1);
+      bit := 0;
+      ch := 0;
+    END IF;
+  END LOOP;
+  RETURN hash;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+ALTER TABLE obstacle_report ADD COLUMN geohash VARCHAR(12) COLLATE "C";
+
+UPDATE obstacle_report
+SET geohash = geohash_encode(latitude, longitude, 9)
+WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+CREATE INDEX idx_obstacle_report_geohash ON obstacle_report(geohash);
@@ -0,0 +1,20 @@
+-- 같은 장애물에 대한 중복 신고를 새 행으로 만들지 않고 기존 신고의 확인 횟수로 합친다.
+
+ALTER TABLE obstacle_report ADD COLUMN confirmation_count INT NOT NULL DEFAULT 1;
+ALTER TABLE obstacle_report ADD COLUMN last_reported_at TIMESTAMP;
+
+UPDATE obstacle_report SET last_reported_at = COALESCE(created_at, NOW()) WHERE last_reported_at IS NULL;
+
+-- 신고자 집합. 같은 사용자가 다시 신고해도 확인 횟수는 한 번만 센다.
+CREATE TABLE obstacle_report_reporter (
+  obstacle_report_id BIGINT NOT NULL REFERENCES obstacle_report(id) ON DELETE CASCADE,
+  member_id BIGINT NOT NULL REFERENCES members(id) ON DELETE CASCADE,
+  reported_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (obstacle_report_id, member_id)
+);
+
+INSERT INTO obstacle_report_reporter (obstacle_report_id, member_id, reported_at)
+SELECT id, member_id, COALESCE(created_at, NOW())
+FROM obstacle_report
+WHERE member_id IS NOT NULL
+ON CONFLICT DO NOTHING;
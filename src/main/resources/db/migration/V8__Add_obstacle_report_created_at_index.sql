@@ -0,0 +1,2 @@
+-- 최근 장애물 목록의 keyset 페이지 조회 (created_at, id) 내림차순용 인덱스
+CREATE INDEX IF NOT EXISTS idx_obstacle_report_created_at_id ON obstacle_report (created_at DESC, id DESC);
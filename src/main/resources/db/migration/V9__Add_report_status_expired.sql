@@ -0,0 +1,2 @@
+-- 자동 만료된 장애물 신고 상태. 새 enum 값은 추가한 트랜잭션 안에서 쓸 수 없으므로 인덱스는 다음 마이그레이션에서 만든다.
+ALTER TYPE report_status ADD VALUE IF NOT EXISTS 'EXPIRED';
@@ -0,0 +1,123 @@
+package com.ll.rideon.domain.riding.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointRingBufferTest {
+
+    @Test
+    void rejectsNonPowerOfTwoCapacity() {
+        assertThatThrownBy(() -> new PointRingBuffer<Integer>(6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        PointRingBuffer<Integer> buffer = new PointRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.isClosed()).isFalse();
+    }
+
+    @Test
+    void drainsInOrderAcrossWrapAround() {
+        PointRingBuffer<Integer> buffer = new PointRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // 용량의 여러 배를 넣고 빼서 인덱스가 여러 번 한 바퀴 돌게 한다
+        int next = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            assertThat(buffer.drainTo(drained)).isEqualTo(3);
+        }
+
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(drained).hasSize(15);
+        for (int i = 0; i < drained.size(); i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void drainFreesSlotsForNewOffers() {
+        PointRingBuffer<Integer> buffer = new PointRingBuffer<>(2);
+        buffer.offer(1);
+        buffer.offer(2);
+        assertThat(buffer.offer(3)).isFalse();
+
+        buffer.drainTo(new ArrayList<>());
+
+        assertThat(buffer.offer(3)).isTrue();
+        assertThat(buffer.offer(4)).isTrue();
+    }
+
+    @Test
+    void closeAndDrainReturnsRemainingItemsAndRejectsLaterOffers() {
+        PointRingBuffer<Integer> buffer = new PointRingBuffer<>(8);
+        buffer.offer(1);
+        buffer.offer(2);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.closeAndDrain(drained)).isEqualTo(2);
+
+        assertThat(drained).containsExactly(1, 2);
+        assertThat(buffer.isClosed()).isTrue();
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+        assertThat(buffer.drainTo(drained)).isEqualTo(0);
+    }
+
+    @Test
+    void closedBufferRejectsEveryOffer() {
+        PointRingBuffer<Integer> buffer = PointRingBuffer.closed();
+
+        assertThat(buffer.isClosed()).isTrue();
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.offer(1)).isFalse();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhenClosed() throws InterruptedException {
+        PointRingBuffer<Integer> buffer = new PointRingBuffer<>(1 << 16);
+        int producers = 4;
+        int perProducer = 5_000;
+        int[] accepted = new int[producers];
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(id * perProducer + i)) {
+                        accepted[id]++;
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        // 생산 도중에 닫아도, 받아들인 항목은 모두 꺼내져야 한다
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained);
+        buffer.closeAndDrain(drained);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = 0;
+        for (int count : accepted) {
+            total += count;
+        }
+        assertThat(drained).hasSize(total);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
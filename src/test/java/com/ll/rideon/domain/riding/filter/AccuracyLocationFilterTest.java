@@ -0,0 +1,43 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccuracyLocationFilterTest {
+
+    private final AccuracyLocationFilter filter = new AccuracyLocationFilter(50f);
+    private final LocationFilterContext context = new LocationFilterContext();
+
+    @Test
+    void pointWithinAccuracyCutoffPasses() {
+        RidingLocation location = location(50f);
+
+        assertThat(filter.apply(location, context)).isSameAs(location);
+    }
+
+    @Test
+    void pointWorseThanCutoffIsDropped() {
+        assertThat(filter.apply(location(50.5f), context)).isNull();
+    }
+
+    @Test
+    void pointWithoutAccuracyPasses() {
+        RidingLocation location = location(null);
+
+        assertThat(filter.apply(location, context)).isSameAs(location);
+    }
+
+    private static RidingLocation location(Float accuracy) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(37.5)
+                .longitude(127.0)
+                .accuracy(accuracy)
+                .recordedAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+    }
+}
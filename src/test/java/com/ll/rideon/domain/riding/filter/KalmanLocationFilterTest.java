@@ -0,0 +1,86 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class KalmanLocationFilterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 9, 0);
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+
+    private final KalmanLocationFilter filter = new KalmanLocationFilter(3);
+    private final LocationFilterContext context = new LocationFilterContext();
+
+    @Test
+    void firstPointInitializesState() {
+        RidingLocation first = location(LAT, 10f, START);
+
+        assertThat(filter.apply(first, context)).isSameAs(first);
+        assertThat(context.getKalmanVariance()).isCloseTo(100.0, within(1e-9));
+        assertThat(context.getKalmanLat()).isCloseTo(LAT, within(1e-12));
+    }
+
+    @Test
+    void nextPointIsBlendedByGain() {
+        filter.apply(location(LAT, 10f, START), context);
+
+        RidingLocation corrected = filter.apply(location(LAT + 0.001, 10f, START.plusSeconds(1)), context);
+
+        // 예측 분산 100 + 1초 * 3^2 = 109, 측정 분산 100 → 이득 109/209
+        double gain = 109.0 / 209.0;
+        assertThat(corrected.getLatitude()).isCloseTo(LAT + gain * 0.001, within(1e-12));
+        assertThat(corrected.getLongitude()).isCloseTo(LNG, within(1e-12));
+        assertThat(context.getKalmanVariance()).isCloseTo((1 - gain) * 109.0, within(1e-9));
+    }
+
+    @Test
+    void accurateMeasurementMovesFurther() {
+        filter.apply(location(LAT, 10f, START), context);
+        LocationFilterContext other = new LocationFilterContext();
+        filter.apply(location(LAT, 10f, START), other);
+
+        double precise = filter.apply(location(LAT + 0.001, 2f, START.plusSeconds(1)), context).getLatitude();
+        double noisy = filter.apply(location(LAT + 0.001, 40f, START.plusSeconds(1)), other).getLatitude();
+
+        assertThat(precise - LAT).isGreaterThan(noisy - LAT);
+    }
+
+    @Test
+    void longGapResetsTowardsMeasurement() {
+        filter.apply(location(LAT, 10f, START), context);
+
+        RidingLocation corrected = filter.apply(location(LAT + 0.01, 10f, START.plusHours(1)), context);
+
+        // 한 시간 동안 불확실성이 커져 새 측정값을 거의 그대로 따른다
+        assertThat(corrected.getLatitude()).isCloseTo(LAT + 0.01, within(0.01 * 0.005));
+    }
+
+    @Test
+    void outOfOrderPointIsLeftUntouched() {
+        filter.apply(location(LAT, 10f, START), context);
+        RidingLocation latest = location(LAT + 0.001, 10f, START.plusSeconds(10));
+        context.setLastAccepted(filter.apply(latest, context));
+        double variance = context.getKalmanVariance();
+
+        RidingLocation late = location(LAT + 0.005, 10f, START.plusSeconds(5));
+
+        assertThat(filter.apply(late, context)).isSameAs(late);
+        assertThat(context.getKalmanVariance()).isCloseTo(variance, within(1e-12));
+    }
+
+    private static RidingLocation location(double lat, Float accuracy, LocalDateTime recordedAt) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(lat)
+                .longitude(LNG)
+                .accuracy(accuracy)
+                .recordedAt(recordedAt)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationFilterChainTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 9, 0);
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void filtersRunInOrderAndStopAtFirstDrop() {
+        LocationFilterChain chain = new LocationFilterChain(List.of(
+                new RecordingFilter("first", calls),
+                new AccuracyLocationFilter(50f),
+                new RecordingFilter("last", calls)), meterRegistry);
+
+        chain.filter(new LocationFilterContext(), List.of(location(LAT, 10f, START)));
+        chain.filter(new LocationFilterContext(), List.of(location(LAT, 100f, START)));
+
+        // 정확도 필터에서 버려진 두 번째 포인트는 마지막 필터를 거치지 않는다
+        assertThat(calls).containsExactly("first", "last", "first");
+    }
+
+    @Test
+    void pointsAreFilteredInRecordedOrderAgainstLastAccepted() {
+        LocationFilterChain chain = new LocationFilterChain(List.of(new SpeedLocationFilter(80)), meterRegistry);
+        LocationFilterContext context = new LocationFilterContext();
+
+        RidingLocation first = location(LAT, null, START);
+        RidingLocation jump = location(LAT + 0.01, null, START.plusSeconds(2));
+        RidingLocation next = location(LAT + 0.0001, null, START.plusSeconds(4));
+
+        // 도착 순서와 무관하게 기록 시각 순으로 검사한다
+        List<RidingLocation> accepted = chain.filter(context, List.of(next, jump, first));
+
+        assertThat(accepted).containsExactly(first, next);
+        assertThat(context.getLastAccepted()).isSameAs(next);
+    }
+
+    @Test
+    void acceptedAndDroppedCountersAreRecordedPerReason() {
+        LocationFilterChain chain = new LocationFilterChain(List.of(
+                new AccuracyLocationFilter(50f),
+                new SpeedLocationFilter(80)), meterRegistry);
+
+        chain.filter(new LocationFilterContext(), List.of(
+                location(LAT, 10f, START),
+                location(LAT, 80f, START.plusSeconds(1)),
+                location(LAT + 0.01, 10f, START.plusSeconds(2)),
+                location(LAT + 0.00005, 10f, START.plusSeconds(3))));
+
+        assertThat(count("accepted", "none")).isEqualTo(2.0);
+        assertThat(count("dropped", "accuracy")).isEqualTo(1.0);
+        assertThat(count("dropped", "speed")).isEqualTo(1.0);
+    }
+
+    private double count(String result, String reason) {
+        return meterRegistry.get("rideon.riding.location.filter")
+                .tags("result", result, "reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static RidingLocation location(double lat, Float accuracy, LocalDateTime recordedAt) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(lat)
+                .longitude(LNG)
+                .accuracy(accuracy)
+                .recordedAt(recordedAt)
+                .build();
+    }
+
+    private static class RecordingFilter implements LocationFilter {
+
+        private final String name;
+        private final List<String> calls;
+
+        RecordingFilter(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public RidingLocation apply(RidingLocation location, LocationFilterContext context) {
+            calls.add(name);
+            return location;
+        }
+    }
+}
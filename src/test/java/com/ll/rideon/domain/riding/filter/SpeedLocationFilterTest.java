@@ -0,0 +1,68 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpeedLocationFilterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 9, 0);
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+
+    private final SpeedLocationFilter filter = new SpeedLocationFilter(80);
+    private final LocationFilterContext context = new LocationFilterContext();
+
+    @BeforeEach
+    void setUp() {
+        context.setLastAccepted(location(LAT, START));
+    }
+
+    @Test
+    void firstPointPasses() {
+        RidingLocation location = location(LAT + 1, START);
+
+        assertThat(filter.apply(location, new LocationFilterContext())).isSameAs(location);
+    }
+
+    @Test
+    void jumpFasterThanEightyKmhIsDropped() {
+        // 위도 0.001도(약 111.2m)를 5초에 이동하면 약 80.06km/h
+        assertThat(filter.apply(location(LAT + 0.001, START.plusSeconds(5)), context)).isNull();
+    }
+
+    @Test
+    void movementBelowEightyKmhPasses() {
+        // 같은 거리를 6초에 이동하면 약 66.7km/h
+        RidingLocation location = location(LAT + 0.001, START.plusSeconds(6));
+
+        assertThat(filter.apply(location, context)).isSameAs(location);
+    }
+
+    @Test
+    void sameTimestampIsTreatedAsOneSecond() {
+        // 약 16.7m 는 1초 기준 60km/h, 약 22.2m 는 80km/h 초과
+        assertThat(filter.apply(location(LAT + 0.00015, START), context)).isNotNull();
+        assertThat(filter.apply(location(LAT + 0.0002, START), context)).isNull();
+    }
+
+    @Test
+    void outOfOrderPointIsNotCheckedAgainstNewerPoint() {
+        RidingLocation late = location(LAT + 0.01, START.minusSeconds(1));
+
+        assertThat(filter.apply(late, context)).isSameAs(late);
+    }
+
+    private static RidingLocation location(double lat, LocalDateTime recordedAt) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(lat)
+                .longitude(LNG)
+                .recordedAt(recordedAt)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.ll.rideon.domain.riding.filter;
+
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationaryLocationFilterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 9, 0);
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+    /** 위도 방향 1m 에 해당하는 각도 */
+    private static final double ONE_METER = 1 / 111_195.0;
+
+    private final StationaryLocationFilter filter = new StationaryLocationFilter(3, 30);
+    private final LocationFilterContext context = new LocationFilterContext();
+
+    @BeforeEach
+    void setUp() {
+        context.setLastAccepted(location(0, 0f, null, START));
+    }
+
+    @Test
+    void jitterInsideRadiusIsDropped() {
+        assertThat(filter.apply(location(1, 0f, null, START.plusSeconds(5)), context)).isNull();
+    }
+
+    @Test
+    void movementOutsideRadiusPasses() {
+        RidingLocation location = location(5, 0f, null, START.plusSeconds(5));
+
+        assertThat(filter.apply(location, context)).isSameAs(location);
+    }
+
+    @Test
+    void keepalivePointPassesAfterInterval() {
+        assertThat(filter.apply(location(1, 0f, null, START.plusSeconds(29)), context)).isNull();
+        assertThat(filter.apply(location(1, 0f, null, START.plusSeconds(30)), context)).isNotNull();
+    }
+
+    @Test
+    void reportedMovingSpeedPassesEvenWithoutDistance() {
+        RidingLocation location = location(0.5, 12f, null, START.plusSeconds(1));
+
+        assertThat(filter.apply(location, context)).isSameAs(location);
+    }
+
+    @Test
+    void poorAccuracyWidensRadius() {
+        // 10m 이동이지만 정확도가 20m 이면 흔들림으로 본다
+        assertThat(filter.apply(location(10, null, 20f, START.plusSeconds(5)), context)).isNull();
+        assertThat(filter.apply(location(10, null, 5f, START.plusSeconds(5)), context)).isNotNull();
+    }
+
+    private static RidingLocation location(double metersNorth, Float speedKmh, Float accuracy, LocalDateTime recordedAt) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(LAT + metersNorth * ONE_METER)
+                .longitude(LNG)
+                .speedKmh(speedKmh)
+                .accuracy(accuracy)
+                .recordedAt(recordedAt)
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.ll.rideon.domain.riding.geofence;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import com.ll.rideon.domain.riding.spatial.ObstacleGridIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObstacleGeofenceEngineTest {
+
+    // 셀 0.005도(약 550m), 알림 반경 300m, 라이더별 전송 대기 3개
+    private static final double CELL_SIZE = 0.005;
+    private static final double ALERT_RADIUS = 300;
+    private static final int MAX_PENDING = 3;
+
+    private final ObstacleGridIndex obstacleGridIndex = new ObstacleGridIndex(null, null, 0.01);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ManualExecutorService dispatcher = new ManualExecutorService();
+    private final ManualExecutorService sender = new ManualExecutorService();
+
+    private ObstacleGeofenceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ObstacleGeofenceEngine(obstacleGridIndex, meterRegistry, CELL_SIZE, ALERT_RADIUS,
+                60_000, 2000, MAX_PENDING, dispatcher, sender) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return new RecordingEmitter();
+            }
+        };
+        engine.registerMetrics();
+    }
+
+    @Test
+    void enteringCellPushesObstaclesInCellAndAlertMargin() {
+        obstacleGridIndex.upsert(summary(1L, 37.5010, 127.0010));
+        // 셀 경계(37.505) 바깥이지만 알림 반경 여유 안
+        obstacleGridIndex.upsert(summary(2L, 37.5052, 127.0020));
+        obstacleGridIndex.upsert(summary(3L, 37.5200, 127.0000));
+
+        RecordingEmitter emitter = subscribe(1L, 37.5020, 127.0020);
+
+        assertThat(new HashSet<>(emitter.events)).isEqualTo(Set.of("obstacle:1", "obstacle:2"));
+
+        // 같은 셀 안에서 움직이거나 다시 들어와도 이미 보낸 장애물은 보내지 않는다
+        engine.onLocation(1L, 37.5030, 127.0030);
+        engine.onLocation(1L, 37.5030, 127.0080);
+        engine.onLocation(1L, 37.5030, 127.0030);
+
+        assertThat(emitter.events).hasSize(2);
+    }
+
+    @Test
+    void newReportIsPushedOnlyToRidersWithinAlertRadius() {
+        RecordingEmitter sameCell = subscribe(1L, 37.5020, 127.0020);
+        // 옆 셀이지만 약 220m
+        RecordingEmitter nearbyCell = subscribe(2L, 37.5020, 127.0055);
+        // 옆 셀이고 약 400m
+        RecordingEmitter outside = subscribe(3L, 37.5020, 127.0075);
+
+        engine.onObstacleReportChanged(new ObstacleReportChangedEvent(
+                report(10L, 37.5020, 127.0030, ObstacleReport.ReportStatus.UNCONFIRMED)));
+
+        assertThat(sameCell.events).containsExactly("obstacle:10");
+        assertThat(nearbyCell.events).containsExactly("obstacle:10");
+        assertThat(outside.events).isEmpty();
+    }
+
+    @Test
+    void resolvedReportIsRemovedOnlyFromRidersThatReceivedIt() {
+        obstacleGridIndex.upsert(summary(1L, 37.5010, 127.0010));
+        RecordingEmitter received = subscribe(1L, 37.5020, 127.0020);
+        RecordingEmitter notReceived = subscribe(2L, 37.5020, 127.0075);
+
+        engine.onObstacleReportChanged(new ObstacleReportChangedEvent(
+                report(1L, 37.5010, 127.0010, ObstacleReport.ReportStatus.RESOLVED)));
+
+        assertThat(received.events).containsExactly("obstacle:1", "obstacle-removed:1");
+        assertThat(notReceived.events).isEmpty();
+    }
+
+    @Test
+    void riderThatFallsBehindIsDisconnectedWithoutAffectingOthers() {
+        RecordingEmitter slow = subscribe(1L, 37.5020, 127.0020);
+        RecordingEmitter other = subscribe(2L, 35.1790, 129.0750);
+        sender.paused = true;
+
+        // 전송이 밀린 채로 대기열 한도를 넘긴다
+        for (long id = 1; id <= MAX_PENDING + 1; id++) {
+            engine.onObstacleReportChanged(new ObstacleReportChangedEvent(
+                    report(id, 37.5020, 127.0020 + id * 0.0001, ObstacleReport.ReportStatus.UNCONFIRMED)));
+        }
+        engine.onObstacleReportChanged(new ObstacleReportChangedEvent(
+                report(100L, 35.1791, 129.0751, ObstacleReport.ReportStatus.UNCONFIRMED)));
+        sender.resume();
+
+        assertThat(slow.completed).isTrue();
+        assertThat(slow.events).isEmpty();
+        assertThat(other.events).containsExactly("obstacle:100");
+        assertThat(meterRegistry.get("rideon.obstacle.geofence.slow-riders").counter().count()).isEqualTo(1.0);
+
+        // 구독이 해제되어 이후 알림은 받지 않는다
+        engine.onObstacleReportChanged(new ObstacleReportChangedEvent(
+                report(200L, 37.5021, 127.0021, ObstacleReport.ReportStatus.UNCONFIRMED)));
+        assertThat(slow.events).isEmpty();
+    }
+
+    private RecordingEmitter subscribe(Long sessionId, double latitude, double longitude) {
+        return (RecordingEmitter) engine.subscribe(sessionId, sessionId, latitude, longitude);
+    }
+
+    private static ObstacleReportSummaryDto summary(Long id, double latitude, double longitude) {
+        return ObstacleReportSummaryDto.from(report(id, latitude, longitude, ObstacleReport.ReportStatus.UNCONFIRMED));
+    }
+
+    private static ObstacleReportResponseDto report(Long id, double latitude, double longitude,
+                                                    ObstacleReport.ReportStatus status) {
+        return ObstacleReportResponseDto.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .reportType(ObstacleReport.ReportType.OBSTACLE)
+                .status(status)
+                .build();
+    }
+
+    /**
+     * 보낸 이벤트를 "이벤트명:장애물ID" 로 기록하는 emitter
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String name = null;
+            Long id = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                } else if (part.getData() instanceof ObstacleReportSummaryDto obstacle) {
+                    id = obstacle.getId();
+                }
+            }
+            events.add(name + ":" + id);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * 호출한 스레드에서 바로 실행하고, paused 동안에는 쌓아 두었다가 resume 때 실행한다.
+     */
+    private static class ManualExecutorService extends AbstractExecutorService {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private boolean paused;
+
+        void resume() {
+            paused = false;
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (paused) {
+                tasks.add(command);
+            } else {
+                command.run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
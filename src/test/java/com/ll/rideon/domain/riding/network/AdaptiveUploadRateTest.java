@@ -0,0 +1,94 @@
+package com.ll.rideon.domain.riding.network;
+
+import com.ll.rideon.domain.riding.network.AdaptiveUploadRate.Decision;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveUploadRateTest {
+
+    /** 조정 주기(5초)보다 긴 간격 */
+    private static final long PERIOD = 6_000_000_000L;
+
+    private final AdaptiveUploadRate rate = new AdaptiveUploadRate();
+
+    @Test
+    void healthyLinkProbesDownToMinimumInterval() {
+        long now = 0;
+        for (long expected = AdaptiveUploadRate.INITIAL_INTERVAL_MS - 1_000; expected >= AdaptiveUploadRate.MIN_INTERVAL_MS; expected -= 1_000) {
+            assertThat(rate.update(healthy(), 0.0, now)).isEqualTo(Decision.PROBE);
+            assertThat(rate.getIntervalMs()).isEqualTo(expected);
+            now += PERIOD;
+        }
+
+        rate.update(healthy(), 0.0, now);
+        assertThat(rate.getIntervalMs()).isEqualTo(AdaptiveUploadRate.MIN_INTERVAL_MS);
+        assertThat(rate.getBatchSize()).isEqualTo(1);
+    }
+
+    @Test
+    void congestionDoublesIntervalUpToMaximum() {
+        long[] expected = {10_000, 20_000, 40_000, 60_000, 60_000};
+        long now = 0;
+        for (long interval : expected) {
+            assertThat(rate.update(lossy(), 0.0, now)).isEqualTo(Decision.NETWORK_CONGESTED);
+            assertThat(rate.getIntervalMs()).isEqualTo(interval);
+            now += PERIOD;
+        }
+        assertThat(rate.getBatchSize()).isEqualTo(60);
+    }
+
+    @Test
+    void halvingThenAdditiveProbingSequence() {
+        long now = 0;
+        rate.update(healthy(), 0.0, now);                 // 5000 -> 4000
+        rate.update(lossy(), 0.0, now += PERIOD);         // 4000 -> 8000
+        rate.update(disconnected(), 0.0, now += PERIOD);  // 8000 -> 16000
+        assertThat(rate.getIntervalMs()).isEqualTo(16_000);
+
+        rate.update(healthy(), 0.0, now += PERIOD);
+        rate.update(healthy(), 0.0, now += PERIOD);
+        assertThat(rate.getIntervalMs()).isEqualTo(14_000);
+        assertThat(rate.getBatchSize()).isEqualTo(14);
+    }
+
+    @Test
+    void serverLoadHoldsOrBacksOff() {
+        assertThat(rate.update(healthy(), 0.6, 0)).isEqualTo(Decision.HOLD);
+        assertThat(rate.getIntervalMs()).isEqualTo(AdaptiveUploadRate.INITIAL_INTERVAL_MS);
+
+        // 서버가 바쁘면 회선이 건강해도 간격을 늘린다
+        assertThat(rate.update(healthy(), 0.9, PERIOD)).isEqualTo(Decision.SERVER_BUSY);
+        assertThat(rate.getIntervalMs()).isEqualTo(10_000);
+    }
+
+    @Test
+    void emptyStatsHold() {
+        assertThat(rate.update(NetworkStats.builder().build(), 0.0, 0)).isEqualTo(Decision.HOLD);
+        assertThat(rate.getIntervalMs()).isEqualTo(AdaptiveUploadRate.INITIAL_INTERVAL_MS);
+    }
+
+    @Test
+    void updatesWithinAdjustPeriodAreIgnored() {
+        assertThat(rate.update(lossy(), 0.0, 0)).isEqualTo(Decision.NETWORK_CONGESTED);
+        // 같은 혼잡을 보고하는 샘플이 이어져도 한 번만 늘린다
+        assertThat(rate.update(lossy(), 0.0, 1_000_000_000L)).isEqualTo(Decision.NETWORK_CONGESTED);
+        assertThat(rate.update(healthy(), 0.0, 2_000_000_000L)).isEqualTo(Decision.NETWORK_CONGESTED);
+        assertThat(rate.getIntervalMs()).isEqualTo(10_000);
+        assertThat(rate.getLastDecision()).isEqualTo(Decision.NETWORK_CONGESTED);
+    }
+
+    private static NetworkStats healthy() {
+        return NetworkStats.builder().sampleCount(10).connected(true)
+                .latencyP95(200).packetLossP95(1).build();
+    }
+
+    private static NetworkStats lossy() {
+        return NetworkStats.builder().sampleCount(10).connected(true)
+                .latencyP95(200).packetLossP95(20).build();
+    }
+
+    private static NetworkStats disconnected() {
+        return NetworkStats.builder().sampleCount(10).connected(false).disconnectedRatio(0.5).build();
+    }
+}
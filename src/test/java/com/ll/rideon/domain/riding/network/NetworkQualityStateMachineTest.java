@@ -0,0 +1,92 @@
+package com.ll.rideon.domain.riding.network;
+
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NetworkQualityStateMachineTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void unknownStateTakesFirstAssessmentImmediately() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(null);
+
+        assertThat(machine.current()).isEqualTo(NetworkQuality.UNKNOWN);
+        assertThat(machine.evaluate(signal(60), 0)).hasValue(NetworkQuality.GOOD);
+        assertThat(machine.current()).isEqualTo(NetworkQuality.GOOD);
+    }
+
+    @Test
+    void emptyStatsDoNotChangeState() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(NetworkQuality.GOOD);
+
+        assertThat(machine.evaluate(NetworkStats.builder().build(), 0)).isEmpty();
+        assertThat(machine.current()).isEqualTo(NetworkQuality.GOOD);
+    }
+
+    @Test
+    void changeWaitsForMinimumDwell() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(NetworkQuality.UNKNOWN);
+        machine.evaluate(signal(60), 0);
+
+        // 유지 시간 안에서는 확실히 좋아져도 바뀌지 않는다
+        assertThat(machine.evaluate(signal(95), SECOND)).isEmpty();
+        assertThat(machine.evaluate(signal(95), NetworkQualityStateMachine.MIN_DWELL_NANOS - 1)).isEmpty();
+        assertThat(machine.current()).isEqualTo(NetworkQuality.GOOD);
+
+        assertThat(machine.evaluate(signal(95), NetworkQualityStateMachine.MIN_DWELL_NANOS))
+                .hasValue(NetworkQuality.EXCELLENT);
+        // 바뀐 시각부터 다시 유지 시간을 센다
+        assertThat(machine.evaluate(signal(10), NetworkQualityStateMachine.MIN_DWELL_NANOS + SECOND)).isEmpty();
+        assertThat(machine.current()).isEqualTo(NetworkQuality.EXCELLENT);
+    }
+
+    @Test
+    void disconnectionBypassesDwell() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(NetworkQuality.UNKNOWN);
+        machine.evaluate(signal(90), 0);
+
+        NetworkStats disconnected = NetworkStats.builder().sampleCount(1).connected(false).build();
+
+        assertThat(machine.evaluate(disconnected, SECOND)).hasValue(NetworkQuality.POOR);
+        assertThat(machine.evaluate(disconnected, 2 * SECOND)).isEmpty();
+    }
+
+    @Test
+    void signalMarginKeepsStateNearBoundary() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(NetworkQuality.GOOD);
+        long later = NetworkQualityStateMachine.MIN_DWELL_NANOS;
+
+        // 경계(80)는 넘었지만 여유값(5) 안쪽
+        assertThat(machine.evaluate(signal(82), later)).isEmpty();
+        // 경계(50) 아래지만 여유값 안쪽
+        assertThat(machine.evaluate(signal(47), later)).isEmpty();
+        assertThat(machine.current()).isEqualTo(NetworkQuality.GOOD);
+
+        assertThat(machine.evaluate(signal(44), later)).hasValue(NetworkQuality.FAIR);
+        // 다시 올라갈 때도 경계보다 여유값만큼 더 좋아야 한다
+        assertThat(machine.evaluate(signal(52), 2 * later)).isEmpty();
+        assertThat(machine.evaluate(signal(56), 2 * later)).hasValue(NetworkQuality.GOOD);
+    }
+
+    @Test
+    void packetLossMarginAppliesWithoutSignal() {
+        NetworkQualityStateMachine machine = new NetworkQualityStateMachine(NetworkQuality.GOOD);
+        long later = NetworkQualityStateMachine.MIN_DWELL_NANOS;
+
+        assertThat(machine.evaluate(loss(5.5), later)).isEmpty();
+        assertThat(machine.evaluate(loss(6.5), later)).hasValue(NetworkQuality.FAIR);
+        assertThat(machine.evaluate(loss(4.5), 2 * later)).isEmpty();
+        assertThat(machine.evaluate(loss(3.5), 2 * later)).hasValue(NetworkQuality.GOOD);
+    }
+
+    private static NetworkStats signal(double signalEwma) {
+        return NetworkStats.builder().sampleCount(1).connected(true).signalEwma(signalEwma).build();
+    }
+
+    private static NetworkStats loss(double packetLossEwma) {
+        return NetworkStats.builder().sampleCount(1).connected(true).packetLossEwma(packetLossEwma).build();
+    }
+}
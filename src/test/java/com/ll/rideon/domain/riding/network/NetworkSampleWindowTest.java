@@ -0,0 +1,110 @@
+package com.ll.rideon.domain.riding.network;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class NetworkSampleWindowTest {
+
+    @Test
+    void emptyWindowReportsNoValues() {
+        NetworkStats stats = new NetworkSampleWindow().snapshot();
+
+        assertThat(stats.isEmpty()).isTrue();
+        assertThat(stats.isConnected()).isTrue();
+        assertThat(stats.getSignalEwma()).isNull();
+        assertThat(stats.getLatencyP95()).isNull();
+        assertThat(stats.getPacketLossEwma()).isNull();
+    }
+
+    @Test
+    void missingFieldsAreSkippedButConnectionIsCounted() {
+        NetworkSampleWindow window = new NetworkSampleWindow();
+        window.add(80, null, null, true);
+        window.add(null, null, null, false);
+
+        NetworkStats stats = window.snapshot();
+
+        assertThat(stats.getSampleCount()).isEqualTo(2);
+        assertThat(stats.isConnected()).isFalse();
+        assertThat(stats.getDisconnectedRatio()).isCloseTo(0.5, within(1e-9));
+        assertThat(stats.getSignalEwma()).isCloseTo(80.0, within(1e-9));
+        assertThat(stats.getLatencyEwma()).isNull();
+    }
+
+    @Test
+    void ewmaWeightsRecentSamples() {
+        NetworkSampleWindow window = new NetworkSampleWindow();
+        window.add(100, 100, 0f, true);
+        window.add(0, 200, 10f, true);
+
+        NetworkStats stats = window.snapshot();
+
+        // 0.3 가중치
+        assertThat(stats.getSignalEwma()).isCloseTo(70.0, within(1e-9));
+        assertThat(stats.getLatencyEwma()).isCloseTo(130.0, within(1e-9));
+        assertThat(stats.getPacketLossEwma()).isCloseTo(3.0, within(1e-9));
+    }
+
+    @Test
+    void packetLossIsClampedForHistogramAndEwma() {
+        NetworkSampleWindow window = new NetworkSampleWindow();
+        window.add(null, null, 250f, true);
+        window.add(null, null, 400f, true);
+
+        NetworkStats stats = window.snapshot();
+
+        assertThat(stats.getPacketLossP95()).isEqualTo(100);
+        assertThat(stats.getPacketLossEwma()).isCloseTo(100.0, within(1e-9));
+
+        NetworkSampleWindow negative = new NetworkSampleWindow();
+        negative.add(null, null, -5f, true);
+        assertThat(negative.snapshot().getPacketLossEwma()).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    void latencyPercentilesUseBucketUpperBounds() {
+        NetworkSampleWindow window = new NetworkSampleWindow(100);
+        for (int latency = 1; latency <= 100; latency++) {
+            window.add(null, latency, null, true);
+        }
+
+        NetworkStats stats = window.snapshot();
+
+        assertThat(stats.getLatencyP50()).isEqualTo(50);
+        assertThat(stats.getLatencyP95()).isEqualTo(100);
+    }
+
+    @Test
+    void latencyPercentilesAreCappedAtLastFiniteBound() {
+        NetworkSampleWindow window = new NetworkSampleWindow();
+        window.add(null, 60_000, null, true);
+        window.add(null, 45_000, null, true);
+
+        NetworkStats stats = window.snapshot();
+
+        assertThat(stats.getLatencyP50()).isEqualTo(10_000);
+        assertThat(stats.getLatencyP95()).isEqualTo(10_000);
+    }
+
+    @Test
+    void oldSamplesAreEvictedFromHistogramsAndRatios() {
+        NetworkSampleWindow window = new NetworkSampleWindow(4);
+        for (int i = 0; i < 4; i++) {
+            window.add(5, 3000, 50f, false);
+        }
+        for (int i = 0; i < 4; i++) {
+            window.add(90, 20, 0f, true);
+        }
+
+        NetworkStats stats = window.snapshot();
+
+        assertThat(stats.getSampleCount()).isEqualTo(4);
+        assertThat(stats.getTotalSamples()).isEqualTo(8);
+        assertThat(stats.getDisconnectedRatio()).isCloseTo(0.0, within(1e-9));
+        assertThat(stats.getSignalP10()).isEqualTo(90);
+        assertThat(stats.getLatencyP95()).isEqualTo(20);
+        assertThat(stats.getPacketLossP95()).isEqualTo(0);
+    }
+}
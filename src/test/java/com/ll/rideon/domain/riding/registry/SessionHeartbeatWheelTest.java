@@ -0,0 +1,128 @@
+package com.ll.rideon.domain.riding.registry;
+
+import com.ll.rideon.domain.riding.service.NetworkMonitoringService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가짜 시계로 틱을 직접 돌려서 바퀴 수 계산과 기한 재확인을 확인한다. (틱 스레드는 띄우지 않는다)
+ */
+class SessionHeartbeatWheelTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    /** 휠 한 바퀴(4초)보다 훨씬 긴 기한 */
+    private static final long TIMEOUT_MS = 90_500;
+
+    private final List<Long> timedOut = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now;
+    private final SessionHeartbeatWheel wheel = new SessionHeartbeatWheel(
+            new RecordingMonitoringService(timedOut), meterRegistry, TIMEOUT_MS, 1_000, 4, () -> now);
+
+    @Test
+    void sessionTimesOutAfterAllRoundsPass() {
+        wheel.touch(1L);
+
+        // 기한까지 슬롯은 스물두 바퀴 넘게 돌아오지만 남은 바퀴가 있어 건너뛴다
+        advanceTo(90 * SECOND);
+        assertThat(timedOut).isEmpty();
+
+        advanceTo(91 * SECOND);
+        assertThat(timedOut).containsExactly(1L);
+
+        // 휠에서 빠졌으므로 다시 처리되지 않는다
+        advanceTo(400 * SECOND);
+        assertThat(timedOut).containsExactly(1L);
+    }
+
+    @Test
+    void heartbeatMovesDeadline() {
+        wheel.touch(1L);
+        advanceTo(50 * SECOND);
+        wheel.touch(1L);
+
+        // 처음 기한의 슬롯에서 새 기한(140.5초)의 슬롯으로 옮겨진다
+        advanceTo(120 * SECOND);
+        assertThat(timedOut).isEmpty();
+        advanceTo(140 * SECOND);
+        assertThat(timedOut).isEmpty();
+
+        advanceTo(141 * SECOND);
+        assertThat(timedOut).containsExactly(1L);
+    }
+
+    @Test
+    void heartbeatAfterTimeoutRearms() {
+        wheel.touch(1L);
+        advanceTo(91 * SECOND);
+        assertThat(timedOut).containsExactly(1L);
+
+        wheel.touch(1L);
+        advanceTo(181 * SECOND);
+        assertThat(timedOut).containsExactly(1L);
+        advanceTo(182 * SECOND);
+        assertThat(timedOut).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void cancelledSessionNeverTimesOut() {
+        wheel.touch(1L);
+        wheel.touch(2L);
+        wheel.cancel(1L);
+
+        advanceTo(200 * SECOND);
+
+        assertThat(timedOut).containsExactly(2L);
+    }
+
+    @Test
+    void timedOutSessionIsNotCountedUntilNextHeartbeat() {
+        wheel.touch(1L);
+        wheel.touch(2L);
+        assertThat(watchedSessions()).isEqualTo(2.0);
+
+        advanceTo(50 * SECOND);
+        wheel.touch(2L);
+        advanceTo(91 * SECOND);
+
+        assertThat(timedOut).containsExactly(1L);
+        assertThat(watchedSessions()).isEqualTo(1.0);
+
+        // 다음 하트비트가 다시 감시를 시작한다
+        wheel.touch(1L);
+        assertThat(watchedSessions()).isEqualTo(2.0);
+    }
+
+    private double watchedSessions() {
+        return meterRegistry.get("rideon.riding.heartbeat.sessions").gauge().value();
+    }
+
+    private void advanceTo(long nanos) {
+        // 실제 틱 스레드처럼 1초마다 처리한다
+        while (now < nanos) {
+            now = Math.min(nanos, now + SECOND);
+            wheel.advance();
+        }
+    }
+
+    private static class RecordingMonitoringService extends NetworkMonitoringService {
+
+        private final List<Long> timedOut;
+
+        RecordingMonitoringService(List<Long> timedOut) {
+            super(null, null, null, null, null, null);
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public boolean recordConnectionTimeout(Long sessionId) {
+            timedOut.add(sessionId);
+            return true;
+        }
+    }
+}
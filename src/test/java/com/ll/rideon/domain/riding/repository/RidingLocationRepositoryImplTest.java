@@ -0,0 +1,93 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+import com.ll.rideon.domain.riding.entity.RidingLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * batchInsert 가 보내는 SQL 과 바인딩 값/타입을 확인한다.
+ * 다중 행 INSERT 재작성(reWriteBatchedInserts)과 enum 캐스트 자체는 PostgreSQL 에서만 동작하므로 여기서는 다루지 않는다.
+ */
+class RidingLocationRepositoryImplTest {
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final RidingLocationRepositoryImpl repository = new RidingLocationRepositoryImpl(jdbcTemplate);
+
+    @Test
+    void batchInsertSendsAllPointsAsOneJdbcBatch() {
+        LocalDateTime recordedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<RidingLocation> locations = List.of(
+                location(recordedAt, NetworkQuality.GOOD),
+                location(recordedAt.plusSeconds(1), null),
+                location(recordedAt.plusSeconds(2), NetworkQuality.POOR));
+
+        int inserted = repository.batchInsert(locations);
+
+        assertThat(inserted).isEqualTo(3);
+        assertThat(jdbcTemplate.calls).isEqualTo(1);
+        assertThat(jdbcTemplate.sql).contains("INSERT INTO ride_point", "CAST(? AS network_quality)");
+        assertThat(jdbcTemplate.batchArgs).hasSize(3);
+    }
+
+    @Test
+    void batchInsertBindsEnumAsNameAndTypesMatchColumns() {
+        LocalDateTime recordedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        repository.batchInsert(List.of(location(recordedAt, NetworkQuality.GOOD), location(recordedAt, null)));
+
+        Object[] first = jdbcTemplate.batchArgs.get(0);
+        assertThat(first.length).isEqualTo(jdbcTemplate.argTypes.length);
+        assertThat(first[0]).isEqualTo(1L);
+        assertThat(first[7]).isEqualTo(Timestamp.valueOf(recordedAt));
+        assertThat(jdbcTemplate.argTypes[7]).isEqualTo(Types.TIMESTAMP);
+        // enum 컬럼은 문자열로 바인딩하고 SQL 에서 캐스트한다
+        assertThat(first[8]).isEqualTo("GOOD");
+        assertThat(jdbcTemplate.argTypes[8]).isEqualTo(Types.VARCHAR);
+        assertThat(jdbcTemplate.batchArgs.get(1)[8]).isNull();
+        // isOfflineSync 기본값
+        assertThat(first[10]).isEqualTo(false);
+    }
+
+    @Test
+    void batchInsertSkipsDatabaseForEmptyList() {
+        assertThat(repository.batchInsert(List.of())).isEqualTo(0);
+        assertThat(jdbcTemplate.calls).isEqualTo(0);
+    }
+
+    private static RidingLocation location(LocalDateTime recordedAt, NetworkQuality networkQuality) {
+        return RidingLocation.builder()
+                .rideSessionId(1L)
+                .latitude(37.5665)
+                .longitude(126.9780)
+                .speedKmh(20.0f)
+                .recordedAt(recordedAt)
+                .networkQuality(networkQuality)
+                .build();
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private int calls;
+        private String sql;
+        private List<Object[]> batchArgs = new ArrayList<>();
+        private int[] argTypes;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs, int[] argTypes) {
+            this.calls++;
+            this.sql = sql;
+            this.batchArgs = batchArgs;
+            this.argTypes = argTypes;
+            return new int[batchArgs.size()];
+        }
+    }
+}
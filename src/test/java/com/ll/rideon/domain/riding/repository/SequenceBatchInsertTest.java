@@ -0,0 +1,94 @@
+package com.ll.rideon.domain.riding.repository;
+
+import com.ll.rideon.domain.riding.entity.NetworkStatus;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시퀀스(allocationSize 50) 기반 ID 와 hibernate.jdbc.batch_size / order_inserts 설정으로
+ * JPA INSERT 가 실제로 JDBC 배치로 나가는지 Hibernate 통계로 확인한다.
+ * 배치 설정은 application.yml 의 값을 그대로 쓴다. (IDENTITY 였다면 INSERT 마다 PreparedStatement 를 새로 만든다)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SequenceBatchInsertTest {
+
+    private static final int COUNT = 100;
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void networkStatusInsertsAreSentAsJdbcBatches() {
+        List<NetworkStatus> statuses = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < COUNT; i++) {
+            NetworkStatus status = NetworkStatus.builder()
+                    .rideSessionId(1L)
+                    .isConnected(true)
+                    .signalStrength(70)
+                    .recordedAt(start.plusSeconds(i))
+                    .build();
+            entityManager.persist(status);
+            statuses.add(status);
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(COUNT);
+        // INSERT 2번(50개씩) + 시퀀스 조회 몇 번
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+
+        // 시퀀스 한 번에 50개씩 ID 를 받아 오므로 ID 가 한 블록 안에서 이어진다
+        long minId = statuses.stream().mapToLong(NetworkStatus::getId).min().orElseThrow();
+        long maxId = statuses.stream().mapToLong(NetworkStatus::getId).max().orElseThrow();
+        assertThat(maxId - minId).isLessThan(COUNT + ALLOCATION_SIZE);
+    }
+
+    @Test
+    void interleavedEntitiesAreGroupedIntoBatches() {
+        for (int i = 0; i < COUNT; i++) {
+            entityManager.persist(RidingSession.builder().memberId((long) i).build());
+            entityManager.persist(ObstacleReport.builder()
+                    .memberId((long) i)
+                    .latitude(37.5665 + i * 0.0001)
+                    .longitude(126.9780)
+                    .build());
+        }
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2 * COUNT);
+        // order_inserts 가 없으면 테이블이 번갈아 나와 배치가 매번 끊긴다 (200번 이상)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);
+    }
+}
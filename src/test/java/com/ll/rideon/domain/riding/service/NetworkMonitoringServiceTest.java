@@ -0,0 +1,99 @@
+package com.ll.rideon.domain.riding.service;
+
+import com.ll.rideon.domain.riding.buffer.RidingLocationWriteBuffer;
+import com.ll.rideon.domain.riding.entity.NetworkQuality;
+import com.ll.rideon.domain.riding.entity.RidingSession;
+import com.ll.rideon.domain.riding.event.NetworkQualityChangedEvent;
+import com.ll.rideon.domain.riding.registry.ActiveSessionRegistry;
+import com.ll.rideon.global.monitoring.MetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NetworkMonitoringServiceTest {
+
+    private static final Long SESSION_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingMetricsService metricsService = new RecordingMetricsService(meterRegistry);
+    private final NetworkQualityChangeListener listener = new NetworkQualityChangeListener(metricsService);
+    private final ActiveSessionRegistry activeSessionRegistry = new ActiveSessionRegistry(null, null, meterRegistry, 1_800_000);
+    private final List<NetworkQualityChangedEvent> events = new ArrayList<>();
+
+    private NetworkMonitoringService networkMonitoringService;
+
+    @BeforeEach
+    void setUp() {
+        RidingSession session = RidingSession.builder().memberId(10L).build();
+        ReflectionTestUtils.setField(session, "id", SESSION_ID);
+        ReflectionTestUtils.setField(session, "networkQuality", NetworkQuality.GOOD);
+        activeSessionRegistry.register(session, null);
+
+        // 위치 버퍼는 서버 부하(대기 건수) 계산에만 쓴다
+        RidingLocationWriteBuffer ridingLocationWriteBuffer = new RidingLocationWriteBuffer(null, null, meterRegistry,
+                500, 250, 4096, 200_000, 8, 1000, 600_000, 5000);
+        // 발행된 품질 변경 이벤트를 기록하고 리스너에 넘긴다 (커밋 후 리스너 호출과 같은 순서)
+        networkMonitoringService = new NetworkMonitoringService(null, null, activeSessionRegistry, metricsService,
+                event -> {
+                    if (event instanceof NetworkQualityChangedEvent changed) {
+                        events.add(changed);
+                        listener.onNetworkQualityChanged(changed);
+                    }
+                },
+                ridingLocationWriteBuffer);
+    }
+
+    @Test
+    void repeatedDisconnectsPublishSingleTransition() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(networkMonitoringService.recordConnectionTimeout(SESSION_ID)).isTrue();
+        }
+
+        assertThat(events).hasSize(1);
+        NetworkQualityChangedEvent event = events.get(0);
+        assertThat(event.getSessionId()).isEqualTo(SESSION_ID);
+        assertThat(event.getPreviousQuality()).isEqualTo(NetworkQuality.GOOD);
+        assertThat(event.getQuality()).isEqualTo(NetworkQuality.POOR);
+        assertThat(networkMonitoringService.assessNetworkQuality(SESSION_ID)).isEqualTo(NetworkQuality.POOR);
+
+        // 끊김은 매번 세지만 품질 변경 메트릭은 실제 전이 한 번만 남는다
+        assertThat(metricsService.disconnections).isEqualTo(3);
+        assertThat(metricsService.qualityChanges).isEqualTo(1);
+    }
+
+    @Test
+    void unknownSessionPublishesNothing() {
+        assertThat(networkMonitoringService.recordConnectionTimeout(99L)).isFalse();
+
+        assertThat(events).isEmpty();
+        assertThat(metricsService.qualityChanges).isEqualTo(0);
+        assertThat(networkMonitoringService.assessNetworkQuality(99L)).isEqualTo(NetworkQuality.UNKNOWN);
+    }
+
+    private static class RecordingMetricsService extends MetricsService {
+
+        private int disconnections;
+        private int qualityChanges;
+
+        RecordingMetricsService(MeterRegistry meterRegistry) {
+            super(meterRegistry);
+        }
+
+        @Override
+        public void incrementNetworkDisconnection() {
+            disconnections++;
+        }
+
+        @Override
+        public void incrementNetworkQualityChange() {
+            qualityChanges++;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleClusterResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportResponseDto;
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.event.ObstacleReportChangedEvent;
+import com.ll.rideon.domain.riding.repository.ObstacleReportRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ObstacleClusterIndexTest {
+
+    // 줌 18 에서도 조회 칸 수 상한(MAX_CELLS) 안에 들어오는 범위
+    private static final double MIN_LAT = 37.550;
+    private static final double MAX_LAT = 37.565;
+    private static final double MIN_LNG = 126.970;
+    private static final double MAX_LNG = 126.985;
+    private static final ObstacleReport.ReportType[] TYPES = ObstacleReport.ReportType.values();
+
+    // 저장소는 load 에서만 쓴다
+    private final ObstacleClusterIndex index = new ObstacleClusterIndex(null);
+    private final Random random = new Random(14);
+
+    @Test
+    void clustersMatchBruteForceGroupingAtEveryZoom() {
+        Map<Long, ObstacleReportResponseDto> reports = new HashMap<>();
+        for (long id = 1; id <= 1500; id++) {
+            ObstacleReportResponseDto report = randomReport(id, ObstacleReport.ReportStatus.UNCONFIRMED);
+            reports.put(id, report);
+            index.onObstacleReportChanged(new ObstacleReportChangedEvent(report));
+        }
+
+        assertMatchesBruteForce(reports.values());
+    }
+
+    @Test
+    void upsertAndRemoveApplyDeltasAtEveryZoom() {
+        Map<Long, ObstacleReportResponseDto> reports = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            ObstacleReportResponseDto report = randomReport(id, ObstacleReport.ReportStatus.UNCONFIRMED);
+            reports.put(id, report);
+            index.onObstacleReportChanged(new ObstacleReportChangedEvent(report));
+        }
+
+        // 위치/타입 변경
+        for (long id = 1; id <= 100; id++) {
+            ObstacleReportResponseDto moved = randomReport(id, ObstacleReport.ReportStatus.CONFIRMED);
+            reports.put(id, moved);
+            index.onObstacleReportChanged(new ObstacleReportChangedEvent(moved));
+        }
+        // 해결 처리된 신고는 빠진다
+        for (long id = 101; id <= 150; id++) {
+            reports.remove(id);
+            index.onObstacleReportChanged(new ObstacleReportChangedEvent(randomReport(id, ObstacleReport.ReportStatus.RESOLVED)));
+        }
+        // 직접 삭제, 없는 ID 삭제는 무시
+        for (long id = 151; id <= 170; id++) {
+            reports.remove(id);
+            index.remove(id);
+        }
+        index.remove(9999L);
+
+        assertMatchesBruteForce(reports.values());
+
+        reports.keySet().forEach(index::remove);
+        for (int zoom = 0; zoom <= ObstacleClusterIndex.MAX_ZOOM; zoom++) {
+            assertThat(index.findClusters(MIN_LAT, MAX_LAT, MIN_LNG, MAX_LNG, zoom)).isEmpty();
+        }
+    }
+
+    @Test
+    void loadBuildsClustersFromActiveSummaries() {
+        List<ObstacleReportResponseDto> reports = new ArrayList<>();
+        List<ObstacleReportSummaryDto> summaries = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            ObstacleReportResponseDto report = randomReport(id, ObstacleReport.ReportStatus.UNCONFIRMED);
+            reports.add(report);
+            summaries.add(ObstacleReportSummaryDto.from(report));
+        }
+        ObstacleReportRepository repository = (ObstacleReportRepository) Proxy.newProxyInstance(
+                ObstacleReportRepository.class.getClassLoader(), new Class<?>[]{ObstacleReportRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findActiveSummaries")) {
+                        return summaries;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ObstacleClusterIndex loaded = new ObstacleClusterIndex(repository);
+
+        loaded.afterSingletonsInstantiated();
+
+        assertThat(loaded.isLoaded()).isTrue();
+        assertMatchesBruteForce(loaded, reports);
+    }
+
+    private void assertMatchesBruteForce(Collection<ObstacleReportResponseDto> reports) {
+        assertMatchesBruteForce(index, reports);
+    }
+
+    private static void assertMatchesBruteForce(ObstacleClusterIndex index, Collection<ObstacleReportResponseDto> reports) {
+        for (int zoom = 0; zoom <= ObstacleClusterIndex.MAX_ZOOM; zoom++) {
+            Map<Long, List<ObstacleReportResponseDto>> groups = new HashMap<>();
+            for (ObstacleReportResponseDto report : reports) {
+                groups.computeIfAbsent(cellKey(report.getLatitude(), report.getLongitude(), zoom), key -> new ArrayList<>())
+                        .add(report);
+            }
+
+            List<ObstacleClusterResponseDto> clusters = index.findClusters(MIN_LAT, MAX_LAT, MIN_LNG, MAX_LNG, zoom);
+            assertThat(clusters).hasSize(groups.size());
+
+            // 중심은 칸 안에 있으므로 중심 좌표로 칸을 찾는다
+            Map<Long, ObstacleClusterResponseDto> byCell = new HashMap<>();
+            for (ObstacleClusterResponseDto cluster : clusters) {
+                byCell.put(cellKey(cluster.getLatitude(), cluster.getLongitude(), zoom), cluster);
+            }
+            for (Map.Entry<Long, List<ObstacleReportResponseDto>> group : groups.entrySet()) {
+                List<ObstacleReportResponseDto> members = group.getValue();
+                ObstacleClusterResponseDto cluster = byCell.get(group.getKey());
+
+                assertThat(cluster).isNotNull();
+                assertThat(cluster.getCount()).isEqualTo(members.size());
+                assertThat(cluster.getLatitude()).isCloseTo(
+                        members.stream().mapToDouble(ObstacleReportResponseDto::getLatitude).average().orElseThrow(), within(1e-9));
+                assertThat(cluster.getLongitude()).isCloseTo(
+                        members.stream().mapToDouble(ObstacleReportResponseDto::getLongitude).average().orElseThrow(), within(1e-9));
+                assertThat(cluster.getTypeCounts()).isEqualTo(typeCounts(members));
+                assertThat(cluster.getReportId()).isEqualTo(members.size() == 1 ? members.get(0).getId() : null);
+            }
+        }
+    }
+
+    private static Map<ObstacleReport.ReportType, Integer> typeCounts(List<ObstacleReportResponseDto> members) {
+        Map<ObstacleReport.ReportType, Integer> counts = new EnumMap<>(ObstacleReport.ReportType.class);
+        members.forEach(member -> counts.merge(member.getReportType(), 1, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * 타일 하나를 8x8 칸으로 나눈 Web Mercator 칸 번호
+     */
+    private static long cellKey(double latitude, double longitude, int zoom) {
+        double cells = Math.pow(2, zoom + 3);
+        long x = (long) Math.floor((longitude + 180) / 360 * cells);
+        double lat = Math.toRadians(latitude);
+        long y = (long) Math.floor((1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2 * cells);
+        return x * 10_000_000L + y;
+    }
+
+    private ObstacleReportResponseDto randomReport(long id, ObstacleReport.ReportStatus status) {
+        return ObstacleReportResponseDto.builder()
+                .id(id)
+                .latitude(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT))
+                .longitude(MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG))
+                .reportType(TYPES[random.nextInt(TYPES.length)])
+                .status(status)
+                .build();
+    }
+}
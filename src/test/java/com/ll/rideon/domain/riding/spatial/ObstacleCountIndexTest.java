@@ -0,0 +1,133 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObstacleCountIndexTest {
+
+    private static final double CELL = 0.005;
+    private static final ObstacleReport.ReportType[] TYPES = ObstacleReport.ReportType.values();
+
+    private final Random random = new Random(20);
+    private final List<ObstacleReportSummaryDto> reports = new ArrayList<>();
+    private ObstacleGridIndex gridIndex;
+    private ObstacleCountIndex countIndex;
+
+    @BeforeEach
+    void setUp() {
+        // 저장소/DB 는 인덱스 로드와 flush 에서만 쓴다
+        gridIndex = new ObstacleGridIndex(null, null, 0.01);
+        // 구역을 작게 잡아 질의가 여러 구역에 걸치게 한다
+        countIndex = new ObstacleCountIndex(gridIndex, null, null, CELL, 8);
+        countIndex.register();
+
+        for (long id = 1; id <= 3000; id++) {
+            double latitude = 37.45 + random.nextDouble() * 0.25;
+            double longitude = 126.85 + random.nextDouble() * 0.3;
+            if (id % 10 == 0) {
+                // 셀 경계 위의 좌표도 한 번만 세는지 본다
+                latitude = Math.round(latitude / CELL) * CELL;
+                longitude = Math.round(longitude / CELL) * CELL;
+            }
+            add(id, latitude, longitude, TYPES[(int) (id % TYPES.length)]);
+        }
+    }
+
+    @Test
+    void countNearbyMatchesBruteForce() {
+        for (int i = 0; i < 200; i++) {
+            double latitude = 37.5 + random.nextDouble() * 0.15;
+            double longitude = 126.9 + random.nextDouble() * 0.2;
+            double radiusKm = 0.3 + random.nextDouble() * 8;
+            ObstacleReport.ReportType type = i % 3 == 0 ? TYPES[i % TYPES.length] : null;
+
+            long expected = reports.stream()
+                    .filter(report -> type == null || report.getReportType() == type)
+                    .filter(report -> GeoUtils.haversineMeters(latitude, longitude,
+                            report.getLatitude(), report.getLongitude()) <= radiusKm * 1000)
+                    .count();
+            assertThat(countIndex.countNearby(latitude, longitude, radiusKm, type)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void countInBoundsMatchesBruteForceForAlignedAndUnalignedBoxes() {
+        for (int i = 0; i < 200; i++) {
+            double minLat = 37.45 + random.nextDouble() * 0.2;
+            double minLng = 126.85 + random.nextDouble() * 0.25;
+            double maxLat = minLat + random.nextDouble() * 0.1;
+            double maxLng = minLng + random.nextDouble() * 0.1;
+            if (i % 2 == 0) {
+                // 셀 경계에 맞춘 범위는 좌표를 읽지 않고 누적 합으로만 센다
+                minLat = Math.floor(minLat / CELL) * CELL;
+                minLng = Math.floor(minLng / CELL) * CELL;
+                maxLat = Math.ceil(maxLat / CELL) * CELL;
+                maxLng = Math.ceil(maxLng / CELL) * CELL;
+            }
+            ObstacleReport.ReportType type = i % 3 == 0 ? TYPES[i % TYPES.length] : null;
+
+            assertThat(countIndex.countInBounds(minLat, maxLat, minLng, maxLng, type))
+                    .isEqualTo(bruteForce(minLat, maxLat, minLng, maxLng, type));
+        }
+    }
+
+    @Test
+    void countsFollowRemovalsAndMoves() {
+        for (int i = 0; i < 1000; i++) {
+            ObstacleReportSummaryDto report = reports.get(i);
+            gridIndex.remove(report.getId());
+        }
+        List<ObstacleReportSummaryDto> remaining = new ArrayList<>(reports.subList(1000, reports.size()));
+        reports.clear();
+        reports.addAll(remaining);
+        // 남은 신고 일부를 다른 셀로 옮긴다
+        for (int i = 0; i < 200; i++) {
+            ObstacleReportSummaryDto report = reports.get(i);
+            ObstacleReportSummaryDto moved = summary(report.getId(), report.getLatitude() + 0.03,
+                    report.getLongitude() - 0.02, report.getReportType());
+            gridIndex.upsert(moved);
+            reports.set(i, moved);
+        }
+
+        assertThat(countIndex.countInBounds(37.0, 38.0, 126.5, 127.5, null)).isEqualTo(reports.size());
+        assertThat(countIndex.countInBounds(37.5, 37.6, 126.9, 127.0, ObstacleReport.ReportType.OBSTACLE))
+                .isEqualTo(bruteForce(37.5, 37.6, 126.9, 127.0, ObstacleReport.ReportType.OBSTACLE));
+        assertThat(countIndex.countNearby(37.55, 126.95, 5.0, null)).isEqualTo(reports.stream()
+                .filter(report -> GeoUtils.haversineMeters(37.55, 126.95, report.getLatitude(), report.getLongitude()) <= 5000)
+                .count());
+    }
+
+    private long bruteForce(double minLat, double maxLat, double minLng, double maxLng, ObstacleReport.ReportType type) {
+        return reports.stream()
+                .filter(report -> type == null || report.getReportType() == type)
+                .filter(report -> report.getLatitude() >= minLat && report.getLatitude() <= maxLat
+                        && report.getLongitude() >= minLng && report.getLongitude() <= maxLng)
+                .count();
+    }
+
+    private void add(long id, double latitude, double longitude, ObstacleReport.ReportType type) {
+        ObstacleReportSummaryDto report = summary(id, latitude, longitude, type);
+        reports.add(report);
+        gridIndex.upsert(report);
+    }
+
+    private static ObstacleReportSummaryDto summary(long id, double latitude, double longitude, ObstacleReport.ReportType type) {
+        return ObstacleReportSummaryDto.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .reportType(type)
+                .status(ObstacleReport.ReportStatus.UNCONFIRMED)
+                .confirmationCount(1)
+                .build();
+    }
+}
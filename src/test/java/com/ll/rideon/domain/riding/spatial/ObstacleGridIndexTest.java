@@ -0,0 +1,156 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.entity.ObstacleReport;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObstacleGridIndexTest {
+
+    // 저장소와 메트릭은 load/registerMetrics 에서만 쓴다
+    private final ObstacleGridIndex index = new ObstacleGridIndex(null, null, 0.01);
+
+    @Test
+    void findNearbyMatchesBruteForceAndSortsByDistance() {
+        Random random = new Random(12);
+        List<ObstacleReportSummaryDto> reports = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            ObstacleReportSummaryDto report = report(id, 37.4 + random.nextDouble() * 0.3, 126.8 + random.nextDouble() * 0.4);
+            reports.add(report);
+            index.upsert(report);
+        }
+
+        double latitude = 37.5665;
+        double longitude = 126.9780;
+        double radiusKm = 3.0;
+        List<ObstacleReportSummaryDto> nearby = index.findNearby(latitude, longitude, radiusKm);
+
+        Set<Long> expected = new HashSet<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            if (GeoUtils.haversineMeters(latitude, longitude, report.getLatitude(), report.getLongitude()) <= radiusKm * 1000) {
+                expected.add(report.getId());
+            }
+        }
+        assertThat(nearby).hasSize(expected.size());
+        assertThat(new HashSet<>(ids(nearby))).isEqualTo(expected);
+
+        double previous = -1;
+        for (ObstacleReportSummaryDto report : nearby) {
+            double distance = GeoUtils.haversineMeters(latitude, longitude, report.getLatitude(), report.getLongitude());
+            assertThat(distance >= previous).isTrue();
+            previous = distance;
+        }
+    }
+
+    @Test
+    void upsertMovesReportBetweenCellsAndRemoveDropsIt() {
+        index.upsert(report(1L, 37.5665, 126.9780));
+        index.upsert(report(1L, 35.1796, 129.0756));
+
+        assertThat(index.findNearby(37.5665, 126.9780, 1.0)).isEmpty();
+        assertThat(ids(index.findNearby(35.1796, 129.0756, 1.0))).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.findNearby(35.1796, 129.0756, 1.0)).isEmpty();
+    }
+
+    @Test
+    void forEachInBoundsGivesSameResultForSmallAndHugeBoxes() {
+        // 음수 좌표(남반구/서반구)도 셀 키에서 제대로 복원되는지 함께 본다
+        Random random = new Random(3);
+        List<ObstacleReportSummaryDto> reports = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            double latitude = random.nextBoolean() ? 37.5 + random.nextDouble() * 0.2 : -33.9 + random.nextDouble() * 0.2;
+            double longitude = random.nextBoolean() ? 126.9 + random.nextDouble() * 0.2 : -70.7 + random.nextDouble() * 0.2;
+            ObstacleReportSummaryDto report = report(id, latitude, longitude);
+            reports.add(report);
+            index.upsert(report);
+        }
+
+        // 셀 목록보다 좁은 범위: 격자를 직접 훑는다
+        assertThat(inBounds(37.55, 37.62, 126.95, 127.03)).isEqualTo(bruteForce(reports, 37.55, 37.62, 126.95, 127.03));
+        assertThat(inBounds(-33.85, -33.75, -70.65, -70.55)).isEqualTo(bruteForce(reports, -33.85, -33.75, -70.65, -70.55));
+        // 전 세계 범위: 셀 목록을 훑는다
+        assertThat(inBounds(-90, 90, -180, 180)).hasSize(reports.size());
+        assertThat(inBounds(-40, 0, -80, 0)).isEqualTo(bruteForce(reports, -40, 0, -80, 0));
+    }
+
+    @Test
+    void returnedSummaryKeepsEveryStoredField() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_456_000);
+        LocalDateTime lastReportedAt = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        index.upsert(ObstacleReportSummaryDto.builder()
+                .id(7L)
+                .latitude(37.5665)
+                .longitude(126.9780)
+                .reportType(ObstacleReport.ReportType.ROAD_DAMAGE)
+                .status(ObstacleReport.ReportStatus.CONFIRMED)
+                .createdAt(createdAt)
+                .confirmationCount(4)
+                .lastReportedAt(lastReportedAt)
+                .build());
+        // 시각이 비어 있는 신고
+        index.upsert(report(8L, 37.5666, 126.9781));
+
+        List<ObstacleReportSummaryDto> nearby = index.findNearby(37.5665, 126.9780, 1.0);
+
+        assertThat(ids(nearby)).containsExactly(7L, 8L);
+        ObstacleReportSummaryDto full = nearby.get(0);
+        assertThat(full.getReportType()).isEqualTo(ObstacleReport.ReportType.ROAD_DAMAGE);
+        assertThat(full.getStatus()).isEqualTo(ObstacleReport.ReportStatus.CONFIRMED);
+        assertThat(full.getConfirmationCount()).isEqualTo(4);
+        assertThat(full.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(full.getLastReportedAt()).isEqualTo(lastReportedAt);
+
+        ObstacleReportSummaryDto sparse = ObstacleReportSummaryDto.builder().id(9L).latitude(37.5).longitude(127.0).build();
+        index.upsert(sparse);
+        ObstacleReportSummaryDto restored = index.findNearby(37.5, 127.0, 0.1).get(0);
+        assertThat(restored.getReportType()).isNull();
+        assertThat(restored.getStatus()).isNull();
+        assertThat(restored.getConfirmationCount()).isNull();
+        assertThat(restored.getCreatedAt()).isNull();
+    }
+
+    private Set<Long> inBounds(double minLat, double maxLat, double minLng, double maxLng) {
+        Set<Long> ids = new HashSet<>();
+        index.forEachInBounds(minLat, maxLat, minLng, maxLng, (cell, i, ignored) -> ids.add(cell.getReport(i).getId()));
+        return ids;
+    }
+
+    private static Set<Long> bruteForce(List<ObstacleReportSummaryDto> reports,
+                                        double minLat, double maxLat, double minLng, double maxLng) {
+        Set<Long> ids = new HashSet<>();
+        for (ObstacleReportSummaryDto report : reports) {
+            if (report.getLatitude() >= minLat && report.getLatitude() <= maxLat
+                    && report.getLongitude() >= minLng && report.getLongitude() <= maxLng) {
+                ids.add(report.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(List<ObstacleReportSummaryDto> reports) {
+        return reports.stream().map(ObstacleReportSummaryDto::getId).toList();
+    }
+
+    private static ObstacleReportSummaryDto report(Long id, double latitude, double longitude) {
+        return ObstacleReportSummaryDto.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .reportType(ObstacleReport.ReportType.OBSTACLE)
+                .status(ObstacleReport.ReportStatus.UNCONFIRMED)
+                .confirmationCount(1)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.ll.rideon.domain.riding.spatial;
+
+import com.ll.rideon.domain.riding.dto.ObstacleReportSummaryDto;
+import com.ll.rideon.domain.riding.dto.RouteObstacleResponseDto;
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteCorridorMatcherTest {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(GeoUtils.EARTH_RADIUS_METERS);
+
+    // 동쪽으로 약 880m 간 뒤 북쪽으로 약 1.1km 올라가는 ㄱ자 경로
+    private static final List<double[]> ROUTE = List.of(
+            new double[]{37.50, 127.00},
+            new double[]{37.50, 127.01},
+            new double[]{37.51, 127.01});
+
+    @Test
+    void distanceIsMeasuredToNearestPointOfSegment() {
+        RouteCorridorMatcher matcher = new RouteCorridorMatcher(ROUTE, 50);
+
+        // 첫 선분 중간에서 북쪽으로 0.0001도
+        matcher.offer(obstacle(1L, 37.5001, 127.005), 37.5001, 127.005, 0);
+        // 경로 시작점보다 서쪽: 선분 끝점(시작점)까지의 거리
+        double westMeters = 0.0002 * METERS_PER_DEGREE * Math.cos(Math.toRadians(37.5));
+        matcher.offer(obstacle(2L, 37.50, 126.9998), 37.50, 126.9998, 0);
+        // 폭(50m) 밖
+        matcher.offer(obstacle(3L, 37.5006, 127.005), 37.5006, 127.005, 0);
+
+        List<RouteObstacleResponseDto> results = matcher.getResults();
+
+        assertThat(ids(results)).containsExactly(2L, 1L);
+        assertThat(results.get(0).getDistanceFromRoute()).isCloseTo(westMeters, within(0.01));
+        assertThat(results.get(0).getDistanceAlongRoute()).isCloseTo(0.0, within(1e-9));
+        assertThat(results.get(1).getDistanceFromRoute()).isCloseTo(0.0001 * METERS_PER_DEGREE, within(0.01));
+        assertThat(results.get(1).getDistanceAlongRoute())
+                .isCloseTo(GeoUtils.haversineMeters(37.50, 127.00, 37.50, 127.01) / 2, within(0.5));
+    }
+
+    @Test
+    void resultsAreOrderedAlongRoute() {
+        RouteCorridorMatcher matcher = new RouteCorridorMatcher(ROUTE, 30);
+        double firstSegment = GeoUtils.haversineMeters(37.50, 127.00, 37.50, 127.01);
+
+        // 진행 순서와 반대로 넣는다
+        matcher.offerAll(obstacle(3L, 37.508, 127.0101));
+        matcher.offerAll(obstacle(2L, 37.502, 127.0099));
+        matcher.offerAll(obstacle(1L, 37.5001, 127.002));
+
+        List<RouteObstacleResponseDto> results = matcher.getResults();
+
+        assertThat(ids(results)).containsExactly(1L, 2L, 3L);
+        assertThat(results.get(1).getDistanceAlongRoute()).isCloseTo(firstSegment + 0.002 * METERS_PER_DEGREE, within(1.0));
+        assertThat(results.get(2).getDistanceAlongRoute()).isCloseTo(firstSegment + 0.008 * METERS_PER_DEGREE, within(1.0));
+    }
+
+    @Test
+    void obstacleNearCornerKeepsNearestSegment() {
+        ObstacleReportSummaryDto corner = obstacle(1L, 37.5005, 127.0098);
+        // 첫 선분까지는 약 55.6m, 두 번째 선분까지는 약 17.6m
+        double expected = 0.0002 * METERS_PER_DEGREE * Math.cos(Math.toRadians(37.5));
+
+        RouteCorridorMatcher forward = new RouteCorridorMatcher(ROUTE, 100);
+        forward.offer(corner, corner.getLatitude(), corner.getLongitude(), 0);
+        forward.offer(corner, corner.getLatitude(), corner.getLongitude(), 1);
+
+        RouteCorridorMatcher backward = new RouteCorridorMatcher(ROUTE, 100);
+        backward.offer(corner, corner.getLatitude(), corner.getLongitude(), 1);
+        backward.offer(corner, corner.getLatitude(), corner.getLongitude(), 0);
+
+        for (RouteCorridorMatcher matcher : List.of(forward, backward)) {
+            List<RouteObstacleResponseDto> results = matcher.getResults();
+            assertThat(results).hasSize(1);
+            assertThat(results.get(0).getDistanceFromRoute()).isCloseTo(expected, within(0.01));
+        }
+    }
+
+    @Test
+    void rejectsTooShortRoute() {
+        assertThatThrownBy(() -> new RouteCorridorMatcher(List.<double[]>of(new double[]{37.5, 127.0}), 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsSegmentLongerThanLimit() {
+        // 위도 0.18도는 약 20km
+        assertThat(new RouteCorridorMatcher(List.of(new double[]{37.0, 127.0}, new double[]{37.17, 127.0}), 50)
+                .getSegmentCount()).isEqualTo(1);
+        assertThatThrownBy(() -> new RouteCorridorMatcher(
+                List.of(new double[]{37.0, 127.0}, new double[]{37.19, 127.0}), 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsRouteLongerThanLimit() {
+        // 약 18.9km 선분을 이어 붙여 500km 를 넘긴다
+        List<double[]> route = new ArrayList<>();
+        for (int i = 0; i <= 27; i++) {
+            route.add(new double[]{30.0 + i * 0.17, 127.0});
+        }
+        assertThat(new RouteCorridorMatcher(route.subList(0, 26), 50).getSegmentCount()).isEqualTo(25);
+        assertThatThrownBy(() -> new RouteCorridorMatcher(route, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Long> ids(List<RouteObstacleResponseDto> results) {
+        return results.stream().map(result -> result.getObstacle().getId()).toList();
+    }
+
+    private static ObstacleReportSummaryDto obstacle(Long id, double latitude, double longitude) {
+        return ObstacleReportSummaryDto.builder()
+                .id(id)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
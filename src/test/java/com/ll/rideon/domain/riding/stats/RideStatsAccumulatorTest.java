@@ -0,0 +1,102 @@
+package com.ll.rideon.domain.riding.stats;
+
+import com.ll.rideon.domain.riding.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RideStatsAccumulatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 9, 0);
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+    /** 경선을 따라 0.01도 = R * 0.01 * π / 180 미터 */
+    private static final double METERS_PER_STEP = GeoUtils.EARTH_RADIUS_METERS * Math.toRadians(0.01);
+
+    @Test
+    void distanceFollowsMeridianArc() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(70.0);
+        for (int i = 0; i <= 10; i++) {
+            stats.add(LAT + i * 0.01, LNG, 20.0f, START.plusMinutes(i));
+        }
+
+        assertThat(stats.getTotalDistanceKm()).isEqualTo(km(10 * METERS_PER_STEP));
+        assertThat(stats.getTotalDistanceKm()).isEqualTo(new BigDecimal("11.12"));
+    }
+
+    @Test
+    void averageAndMaxUseReportedSpeeds() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(70.0);
+        float[] speeds = {10f, 20f, 30f, 24f};
+        for (int i = 0; i < speeds.length; i++) {
+            stats.add(LAT + i * 0.001, LNG, speeds[i], START.plusSeconds(i * 10L));
+        }
+
+        assertThat(stats.getAvgSpeedKmh()).isEqualTo(new BigDecimal("21.00"));
+        assertThat(stats.getMaxSpeedKmh()).isEqualTo(new BigDecimal("30.00"));
+    }
+
+    @Test
+    void missingSpeedIsDerivedFromSegment() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(70.0);
+        stats.add(LAT, LNG, null, START);
+        stats.add(LAT + 0.01, LNG, null, START.plusSeconds(180));
+
+        // 첫 포인트는 구간이 없어 속도가 없고, 두 번째 포인트는 1111.95m / 180s
+        double expected = METERS_PER_STEP / 180 * 3.6;
+        assertThat(stats.getAvgSpeedKmh()).isEqualTo(scale(expected));
+        assertThat(stats.getMaxSpeedKmh()).isEqualTo(scale(expected));
+    }
+
+    @Test
+    void caloriesUseMetForSpeedAndWeight() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(60.0);
+        for (int i = 0; i <= 10; i++) {
+            stats.add(LAT + i * 0.003, LNG, 20.0f, START.plusMinutes(i));
+        }
+
+        // 20km/h 는 MET 8.0, 10분 주행
+        assertThat(stats.getCaloriesBurned()).isEqualTo(scale(8.0 * 60.0 * (600 / 3600.0)));
+    }
+
+    @Test
+    void pauseGapCountsDistanceButNotCalories() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(70.0);
+        stats.add(LAT, LNG, 20.0f, START);
+        stats.add(LAT + 0.01, LNG, 20.0f, START.plusMinutes(3));
+        // 10분 멈췄다가 다시 출발 (최대 구간 5분 초과)
+        stats.add(LAT + 0.02, LNG, null, START.plusMinutes(13));
+        stats.add(LAT + 0.03, LNG, 20.0f, START.plusMinutes(16));
+
+        assertThat(stats.getTotalDistanceKm()).isEqualTo(km(3 * METERS_PER_STEP));
+        // 3분 구간 두 개만 칼로리에 들어간다
+        assertThat(stats.getCaloriesBurned()).isEqualTo(scale(8.0 * 70.0 * (360 / 3600.0)));
+        // 멈춘 구간의 포인트는 속도를 계산하지 않는다
+        assertThat(stats.getAvgSpeedKmh()).isEqualTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    void outOfOrderPointIsIgnoredAndDefaultWeightApplies() {
+        RideStatsAccumulator stats = new RideStatsAccumulator(null);
+        stats.add(LAT, LNG, 20.0f, START);
+        stats.add(LAT + 0.01, LNG, 20.0f, START.plusMinutes(3));
+        stats.add(LAT + 0.5, LNG, 90.0f, START.plusMinutes(1));
+
+        assertThat(stats.getTotalDistanceKm()).isEqualTo(km(METERS_PER_STEP));
+        assertThat(stats.getMaxSpeedKmh()).isEqualTo(new BigDecimal("20.00"));
+        assertThat(stats.getCaloriesBurned())
+                .isEqualTo(scale(8.0 * RideStatsAccumulator.DEFAULT_WEIGHT_KG * (180 / 3600.0)));
+    }
+
+    private static BigDecimal km(double meters) {
+        return scale(meters / 1000.0);
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ll.rideon.domain.riding.track;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PolylineCodecTest {
+
+    @Test
+    void encodeMatchesGoogleReferenceExample() {
+        // https://developers.google.com/maps/documentation/utilities/polylinealgorithm 의 예시
+        String encoded = encode(new double[][]{{38.5, -120.2}, {40.7, -120.95}, {43.252, -126.453}});
+
+        assertThat(encoded).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    @Test
+    void encodeHandlesSingleNegativeValue() {
+        StringBuilder out = new StringBuilder();
+        PolylineCodec.encode(PolylineCodec.scaleCoordinate(-179.9832104), out);
+
+        assertThat(out.toString()).isEqualTo("`~oia@");
+    }
+
+    @Test
+    void decodeCoordinatesRoundTripsEncodedTrack() {
+        double[][] points = {
+                {37.56650, 126.97800},
+                {37.56651, 126.97799},
+                {37.56651, 126.97799},
+                {-33.86882, 151.20929},
+                {0.0, 0.0},
+                {89.99999, -179.99999}
+        };
+
+        List<double[]> decoded = PolylineCodec.decodeCoordinates(encode(points));
+
+        assertThat(decoded).hasSize(points.length);
+        for (int i = 0; i < points.length; i++) {
+            assertThat(decoded.get(i)[0]).isCloseTo(points[i][0], within(1e-9));
+            assertThat(decoded.get(i)[1]).isCloseTo(points[i][1], within(1e-9));
+        }
+    }
+
+    @Test
+    void decodeCoordinatesOfEmptyStringIsEmpty() {
+        assertThat(PolylineCodec.decodeCoordinates("")).isEmpty();
+    }
+
+    @Test
+    void decodeCoordinatesRejectsTruncatedValue() {
+        // 마지막 문자가 다음 글자가 이어진다는 비트를 가진 채 끝난다
+        assertThatThrownBy(() -> PolylineCodec.decodeCoordinates("_p~iF~ps|"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeCoordinatesRejectsUnpairedLatitude() {
+        assertThatThrownBy(() -> PolylineCodec.decodeCoordinates("_p~iF"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeCoordinatesRejectsCharactersOutsideAlphabet() {
+        assertThatThrownBy(() -> PolylineCodec.decodeCoordinates("_p~iF ps|U"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PolylineCodec.decodeCoordinates("_p~iF\u007fps|U"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decodeCoordinatesRejectsOverlongValue() {
+        // 이어짐 비트가 켜진 글자가 7개를 넘는 값은 거절한다
+        assertThatThrownBy(() -> PolylineCodec.decodeCoordinates("~~~~~~~~~~~~~~??"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(double[][] points) {
+        StringBuilder out = new StringBuilder();
+        long prevLat = 0;
+        long prevLng = 0;
+        for (double[] point : points) {
+            long lat = PolylineCodec.scaleCoordinate(point[0]);
+            long lng = PolylineCodec.scaleCoordinate(point[1]);
+            PolylineCodec.encode(lat - prevLat, out);
+            PolylineCodec.encode(lng - prevLng, out);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return out.toString();
+    }
+}
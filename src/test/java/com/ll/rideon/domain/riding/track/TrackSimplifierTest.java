@@ -0,0 +1,119 @@
+package com.ll.rideon.domain.riding.track;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrackSimplifierTest {
+
+    private static final double LAT0 = 37.5665;
+    private static final double LNG0 = 126.9780;
+    /** 위도 1도의 길이 (GeoUtils.EARTH_RADIUS_METERS 기준) */
+    private static final double METERS_PER_DEGREE = Math.toRadians(6_371_000.0);
+    private static final double COS_LAT0 = Math.cos(Math.toRadians(LAT0));
+
+    @Test
+    void simplifyKeepsOnlyEndpointsOfStraightLine() {
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            points.add(point(i * 10.0, i * 5.0));
+        }
+
+        List<TrackPoint> simplified = new TrackSimplifier(points).simplify(1.0);
+
+        assertThat(simplified).containsExactly(points.get(0), points.get(100));
+    }
+
+    @Test
+    void simplifyKeepsSpikeOnlyWhenOutsideTolerance() {
+        List<TrackPoint> points = List.of(point(0, 0), point(50, 20), point(100, 0));
+
+        assertThat(new TrackSimplifier(points).simplify(10.0)).hasSize(3);
+        assertThat(new TrackSimplifier(points).simplify(50.0)).containsExactly(points.get(0), points.get(2));
+    }
+
+    @Test
+    void simplifyReturnsShortTrackAsIs() {
+        List<TrackPoint> points = List.of(point(0, 0), point(10, 10));
+
+        assertThat(new TrackSimplifier(points).simplify(1.0)).isEqualTo(points);
+        assertThat(new TrackSimplifier(List.of()).simplify(1.0)).isEmpty();
+    }
+
+    @Test
+    void simplifyHandlesDeepSplitsWithoutRecursion() {
+        // 지그재그는 매번 구간 맨 앞에서 갈라지므로 재귀 구현이라면 깊이가 포인트 수만큼 된다
+        List<TrackPoint> points = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            points.add(point(i * 10.0, i % 2 == 0 ? 0 : 20.0));
+        }
+
+        assertThat(new TrackSimplifier(points).simplify(1.0)).hasSize(points.size());
+    }
+
+    @Test
+    void droppedPointsStayWithinToleranceOfSimplifiedTrack() {
+        Random random = new Random(42);
+        List<TrackPoint> points = new ArrayList<>();
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < 2000; i++) {
+            x += 5 + random.nextDouble() * 5;
+            y += random.nextGaussian() * 4;
+            points.add(point(x, y));
+        }
+        double tolerance = 10.0;
+
+        List<TrackPoint> simplified = new TrackSimplifier(points).simplify(tolerance);
+
+        assertThat(simplified.size()).isLessThan(points.size());
+        assertThat(simplified.get(0)).isEqualTo(points.get(0));
+        assertThat(simplified.get(simplified.size() - 1)).isEqualTo(points.get(points.size() - 1));
+
+        // 남은 포인트는 원래 순서를 유지하고, 빠진 포인트는 자신을 덮는 단순화 선분에서 허용 오차 안에 있다
+        int segment = 0;
+        for (int i = 0; i < points.size(); i++) {
+            TrackPoint point = points.get(i);
+            if (point == simplified.get(segment)) {
+                segment = Math.min(segment + 1, simplified.size() - 1);
+                continue;
+            }
+            double distance = distanceToSegment(point, simplified.get(segment - 1), simplified.get(segment));
+            assertThat(distance).isLessThan(tolerance + 1e-6);
+        }
+    }
+
+    /**
+     * 기준점에서 동쪽으로 eastMeters, 북쪽으로 northMeters 떨어진 포인트
+     */
+    private static TrackPoint point(double eastMeters, double northMeters) {
+        return new TrackPoint(LAT0 + northMeters / METERS_PER_DEGREE,
+                LNG0 + eastMeters / (METERS_PER_DEGREE * COS_LAT0),
+                LocalDateTime.of(2024, 1, 1, 12, 0), null, null);
+    }
+
+    private static double distanceToSegment(TrackPoint p, TrackPoint a, TrackPoint b) {
+        double px = x(p);
+        double py = y(p);
+        double ax = x(a);
+        double ay = y(a);
+        double dx = x(b) - ax;
+        double dy = y(b) - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        return Math.hypot(ax + t * dx - px, ay + t * dy - py);
+    }
+
+    private static double x(TrackPoint p) {
+        return (p.getLongitude() - LNG0) * METERS_PER_DEGREE * COS_LAT0;
+    }
+
+    private static double y(TrackPoint p) {
+        return (p.getLatitude() - LAT0) * METERS_PER_DEGREE;
+    }
+}
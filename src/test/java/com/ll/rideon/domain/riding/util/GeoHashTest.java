@@ -0,0 +1,78 @@
+package com.ll.rideon.domain.riding.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    void encodeMatchesKnownHash() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(37.5665, 126.9780, 5)).isEqualTo("wydm9");
+    }
+
+    @Test
+    void coveringPrefixesIncludeNeighborsAcrossCellCorner() {
+        // 정밀도 6 셀 네 개가 만나는 꼭짓점 바로 위에 중심을 둔다
+        double cellLat = 180.0 / (1L << 15);
+        double cellLng = 360.0 / (1L << 15);
+        double latitude = -90 + 23_000 * cellLat;
+        double longitude = -180 + 30_000 * cellLng;
+        double epsilon = 1e-7;
+
+        List<String> prefixes = GeoHash.coveringPrefixes(latitude, longitude, 0.2);
+
+        for (double dLat : new double[]{-epsilon, epsilon}) {
+            for (double dLng : new double[]{-epsilon, epsilon}) {
+                assertCovered(prefixes, latitude + dLat, longitude + dLng);
+            }
+        }
+        // 서로 다른 네 셀에 걸쳐 있다
+        assertThat(GeoHash.encode(latitude - epsilon, longitude - epsilon, 6))
+                .isNotEqualTo(GeoHash.encode(latitude + epsilon, longitude + epsilon, 6));
+    }
+
+    @Test
+    void coveringPrefixesContainEveryPointWithinRadius() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 300; trial++) {
+            double latitude = -80 + random.nextDouble() * 160;
+            double longitude = -170 + random.nextDouble() * 340;
+            double radiusKm = 0.05 + random.nextDouble() * 5;
+
+            List<String> prefixes = GeoHash.coveringPrefixes(latitude, longitude, radiusKm);
+            assertThat(prefixes.size()).isLessThan(17);
+
+            for (int i = 0; i < 50; i++) {
+                // 반경 경계 근처가 자주 나오도록 거리를 고른다
+                double distanceMeters = radiusKm * 1000 * Math.sqrt(random.nextDouble());
+                double bearing = random.nextDouble() * 2 * Math.PI;
+                double dLat = Math.toDegrees(distanceMeters * Math.cos(bearing) / GeoUtils.EARTH_RADIUS_METERS);
+                double dLng = Math.toDegrees(distanceMeters * Math.sin(bearing) / GeoUtils.EARTH_RADIUS_METERS)
+                        / Math.cos(Math.toRadians(latitude));
+                assertCovered(prefixes, latitude + dLat, longitude + dLng);
+            }
+        }
+    }
+
+    @Test
+    void upperBoundIsExclusiveEndOfPrefixRange() {
+        String prefix = "wydm9";
+        String upper = GeoHash.upperBound(prefix);
+
+        assertThat(GeoHash.encode(37.5665, 126.9780, GeoHash.STORED_PRECISION).compareTo(upper)).isLessThan(0);
+        assertThat(upper.compareTo(prefix + "zzzz")).isGreaterThan(0);
+        assertThat(GeoHash.upperBound("")).isEqualTo("~");
+    }
+
+    private static void assertCovered(List<String> prefixes, double latitude, double longitude) {
+        String hash = GeoHash.encode(latitude, longitude, GeoHash.STORED_PRECISION);
+        assertThat(prefixes.stream().anyMatch(hash::startsWith))
+                .as("(%s, %s) -> %s not in %s", latitude, longitude, hash, prefixes)
+                .isTrue();
+    }
+}